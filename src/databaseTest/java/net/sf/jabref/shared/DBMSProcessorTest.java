@@ -5,6 +5,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -93,6 +94,18 @@ public class DBMSProcessorTest {
         Assert.assertEquals(expectedFieldMap, actualFieldMap);
     }
 
+    @Test
+    public void testInsertEntries() {
+        BibEntry firstEntry = getBibEntryExample();
+        BibEntry secondEntry = getBibEntryExampleWithEmptyFields();
+        BibEntry thirdEntry = new BibEntry();
+
+        dbmsProcessor.insertEntries(Arrays.asList(firstEntry, secondEntry, thirdEntry));
+
+        Assert.assertEquals(Arrays.asList(firstEntry, secondEntry, thirdEntry), dbmsProcessor.getSharedEntries());
+        Assert.assertEquals(3, dbmsProcessor.getSharedIDVersionMapping().size());
+    }
+
     @Test
     public void testUpdateEntry() throws OfflineLockException, SharedEntryNotPresentException, SQLException {
         BibEntry expectedEntry = getBibEntryExample();
@@ -134,6 +147,26 @@ public class DBMSProcessorTest {
         dbmsProcessor.updateEntry(bibEntry);
     }
 
+    @Test
+    public void testRefusedUpdateKeepsSharedFields() throws SharedEntryNotPresentException, SQLException {
+        BibEntry bibEntry = getBibEntryExample();
+        dbmsProcessor.insertEntry(bibEntry);
+        BibEntry expectedEntry = (BibEntry) bibEntry.clone();
+
+        bibEntry.getSharedBibEntryData().setVersion(0); // simulate older version
+        bibEntry.clearField("booktitle");
+
+        try {
+            dbmsProcessor.updateEntry(bibEntry);
+            Assert.fail();
+        } catch (OfflineLockException e) {
+            // expected
+        }
+
+        Assert.assertEquals(Optional.of(expectedEntry),
+                dbmsProcessor.getSharedEntry(bibEntry.getSharedBibEntryData().getSharedID()));
+    }
+
     @Test
     public void testUpdateEqualEntry() throws OfflineLockException, SharedEntryNotPresentException, SQLException {
         BibEntry expectedBibEntry = getBibEntryExample();
@@ -193,6 +226,35 @@ public class DBMSProcessorTest {
         }
     }
 
+    @Test
+    public void testGetSharedEntriesByID() {
+        BibEntry firstEntry = getBibEntryExample();
+        BibEntry secondEntry = getBibEntryExample();
+        BibEntry thirdEntry = getBibEntryExampleWithEmptyFields();
+
+        dbmsProcessor.insertEntry(firstEntry);
+        dbmsProcessor.insertEntry(secondEntry);
+        dbmsProcessor.insertEntry(thirdEntry);
+
+        List<BibEntry> actualEntries = dbmsProcessor.getSharedEntries(Arrays.asList(
+                thirdEntry.getSharedBibEntryData().getSharedID(), firstEntry.getSharedBibEntryData().getSharedID(),
+                42));
+
+        Assert.assertEquals(Arrays.asList(firstEntry, thirdEntry), actualEntries);
+    }
+
+    @Test
+    public void testGetSharedEntriesWithSmallFetchSize() {
+        BibEntry firstEntry = getBibEntryExample();
+        BibEntry secondEntry = getBibEntryExampleWithEmptyFields();
+
+        dbmsProcessor.insertEntry(firstEntry);
+        dbmsProcessor.insertEntry(secondEntry);
+        dbmsProcessor.setFetchSize(1);
+
+        Assert.assertEquals(Arrays.asList(firstEntry, secondEntry), dbmsProcessor.getSharedEntries());
+    }
+
     @Test
     public void testGetNotExistingSharedEntry() {
         Optional<BibEntry> actualBibEntryOptional = dbmsProcessor.getSharedEntry(1);
@@ -218,6 +280,40 @@ public class DBMSProcessorTest {
 
     }
 
+    @Test
+    public void testGetChangedSharedIDVersionMapping() throws OfflineLockException, SharedEntryNotPresentException, SQLException {
+        BibEntry firstEntry = getBibEntryExample();
+        BibEntry secondEntry = getBibEntryExample();
+        BibEntry thirdEntry = getBibEntryExample();
+
+        dbmsProcessor.insertEntries(Arrays.asList(firstEntry, secondEntry, thirdEntry));
+        int lastChange = dbmsProcessor.getChangeCounter().get().getLastChange();
+
+        dbmsProcessor.updateEntry(secondEntry);
+        dbmsProcessor.removeEntry(thirdEntry);
+
+        Map<Integer, Integer> expectedIDVersionMap = new HashMap<>();
+        expectedIDVersionMap.put(secondEntry.getSharedBibEntryData().getSharedID(), 2);
+
+        Assert.assertEquals(expectedIDVersionMap, dbmsProcessor.getSharedIDVersionMapping(lastChange));
+        Assert.assertEquals(Collections.singleton(thirdEntry.getSharedBibEntryData().getSharedID()),
+                dbmsProcessor.getRemovedSharedIDs(lastChange));
+        Assert.assertEquals(3, dbmsProcessor.getSharedIDVersionMapping(0).size());
+    }
+
+    @Test
+    public void testGetChangeCounter() throws SQLException {
+        Assert.assertEquals(0, dbmsProcessor.getChangeCounter().get().getLastChange());
+
+        dbmsProcessor.insertEntry(getBibEntryExample());
+        Assert.assertEquals(1, dbmsProcessor.getChangeCounter().get().getLastChange());
+        Assert.assertEquals(0, dbmsProcessor.getChangeCounter().get().getLastMetaDataChange());
+
+        dbmsProcessor.setSharedMetaData(getMetaDataExample());
+        Assert.assertEquals(2, dbmsProcessor.getChangeCounter().get().getLastChange());
+        Assert.assertEquals(2, dbmsProcessor.getChangeCounter().get().getLastMetaDataChange());
+    }
+
     @Test
     public void testGetSharedMetaData() {
         insertMetaData("databaseType", "bibtex;");
@@ -308,12 +404,16 @@ public class DBMSProcessorTest {
             connection.createStatement().executeUpdate("DROP TABLE IF EXISTS " + escape("FIELD"));
             connection.createStatement().executeUpdate("DROP TABLE IF EXISTS " + escape("ENTRY"));
             connection.createStatement().executeUpdate("DROP TABLE IF EXISTS " + escape("METADATA"));
+            connection.createStatement().executeUpdate("DROP TABLE IF EXISTS " + escape("CHANGE_COUNTER"));
+            connection.createStatement().executeUpdate("DROP TABLE IF EXISTS " + escape("ENTRY_CHANGE"));
         } else if (dbmsType == DBMSType.ORACLE) {
             connection.createStatement().executeUpdate(
                     "BEGIN\n" +
                     "EXECUTE IMMEDIATE 'DROP TABLE " + escape("FIELD") + "';\n" +
                     "EXECUTE IMMEDIATE 'DROP TABLE " + escape("ENTRY") + "';\n" +
                     "EXECUTE IMMEDIATE 'DROP TABLE " + escape("METADATA") + "';\n" +
+                    "EXECUTE IMMEDIATE 'DROP TABLE " + escape("CHANGE_COUNTER") + "';\n" +
+                    "EXECUTE IMMEDIATE 'DROP TABLE " + escape("ENTRY_CHANGE") + "';\n" +
                     "EXECUTE IMMEDIATE 'DROP SEQUENCE " + escape("ENTRY_SEQ") + "';\n" +
                     "EXCEPTION\n" +
                     "WHEN OTHERS THEN\n" +
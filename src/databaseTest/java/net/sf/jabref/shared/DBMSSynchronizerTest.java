@@ -7,17 +7,20 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import net.sf.jabref.logic.exporter.MetaDataSerializer;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseContext;
 import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.event.EntryEvent;
 import net.sf.jabref.model.entry.event.EntryEventSource;
 import net.sf.jabref.model.metadata.MetaData;
 import net.sf.jabref.shared.exception.DatabaseNotSupportedException;
 import net.sf.jabref.shared.exception.OfflineLockException;
 import net.sf.jabref.shared.exception.SharedEntryNotPresentException;
 
+import com.google.common.eventbus.Subscribe;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -48,7 +51,7 @@ public class DBMSSynchronizerTest {
         BibDatabaseContext context = new BibDatabaseContext(bibDatabase);
 
 
-        dbmsSynchronizer = new DBMSSynchronizer(context, ", ");
+        dbmsSynchronizer = new DBMSSynchronizer(context, ", ", Runnable::run);
         dbmsProcessor = DBMSProcessor.getProcessorInstance(connection, dbmsType);
 
         bibDatabase.registerListener(dbmsSynchronizer);
@@ -114,6 +117,64 @@ public class DBMSSynchronizerTest {
         Assert.assertEquals(bibEntry, actualEntries.get(0));
     }
 
+    @Test
+    public void testQueuedChangesAreWrittenTogether() throws SQLException, DatabaseNotSupportedException {
+        BibDatabase queuingDatabase = new BibDatabase();
+        List<Runnable> scheduledWrites = new ArrayList<>();
+        DBMSSynchronizer queuingSynchronizer = new DBMSSynchronizer(new BibDatabaseContext(queuingDatabase), ", ",
+                scheduledWrites::add);
+        queuingDatabase.registerListener(queuingSynchronizer);
+        queuingSynchronizer.openSharedDatabase(connection, dbmsType, "TEST");
+
+        BibEntry expectedEntry = getBibEntryExample(1);
+        expectedEntry.registerListener(queuingSynchronizer);
+        BibEntry removedEntry = getBibEntryExample(2);
+
+        queuingDatabase.insertEntry(expectedEntry);
+        expectedEntry.setField("year", "1994");
+        queuingDatabase.insertEntry(removedEntry);
+        queuingDatabase.removeEntry(removedEntry);
+
+        Assert.assertTrue(dbmsProcessor.getSharedEntries().isEmpty());
+        Assert.assertEquals(1, scheduledWrites.size());
+
+        scheduledWrites.get(0).run();
+
+        List<BibEntry> actualEntries = dbmsProcessor.getSharedEntries();
+        Assert.assertEquals(1, actualEntries.size());
+        Assert.assertEquals(expectedEntry, actualEntries.get(0));
+        Assert.assertEquals(1, queuingDatabase.getEntryCount());
+    }
+
+    @Test
+    public void testRepeatedChangesAreNotRefusedBeforePulling() throws SQLException, DatabaseNotSupportedException {
+        BibDatabase queuingDatabase = new BibDatabase();
+        List<Runnable> scheduledWrites = new ArrayList<>();
+        List<Runnable> localTasks = new ArrayList<>();
+        DBMSSynchronizer queuingSynchronizer = new DBMSSynchronizer(new BibDatabaseContext(queuingDatabase), ", ",
+                scheduledWrites::add);
+        // the pulled changes are applied later, like by the event dispatch thread
+        queuingSynchronizer.setLocalExecutor(localTasks::add);
+        SynchronizationTestEventListener eventListener = new SynchronizationTestEventListener();
+        queuingSynchronizer.registerListener(eventListener);
+        queuingDatabase.registerListener(queuingSynchronizer);
+        queuingSynchronizer.openSharedDatabase(connection, dbmsType, "TEST");
+
+        BibEntry bibEntry = getBibEntryExample(1);
+        bibEntry.registerListener(queuingSynchronizer);
+        queuingDatabase.insertEntry(bibEntry);
+        queuingSynchronizer.flushPendingChanges();
+
+        bibEntry.setField("year", "2001");
+        queuingSynchronizer.flushPendingChanges();
+        bibEntry.setField("year", "2002");
+        queuingSynchronizer.flushPendingChanges();
+        localTasks.forEach(Runnable::run);
+
+        Assert.assertNull(eventListener.getUpdateRefusedEvent());
+        Assert.assertEquals(Optional.of("2002"), dbmsProcessor.getSharedEntries().get(0).getField("year"));
+    }
+
     @Test
     public void testMetaDataChangedEventListener() {
         MetaData testMetaData = new MetaData();
@@ -177,6 +238,93 @@ public class DBMSSynchronizerTest {
         Assert.assertEquals(bibDatabase.getEntries(), dbmsProcessor.getSharedEntries());
     }
 
+    @Test
+    public void testSynchronizeLocalDatabaseWithRemoteInsert() {
+        BibEntry localEntry = getBibEntryExample(1);
+        bibDatabase.insertEntry(localEntry);
+        dbmsSynchronizer.synchronizeLocalDatabase();
+
+        BibEntry remoteEntry = getBibEntryExample(2);
+        dbmsProcessor.insertEntry(remoteEntry);
+        dbmsSynchronizer.synchronizeLocalDatabase();
+
+        Assert.assertEquals(Arrays.asList(localEntry, remoteEntry), bibDatabase.getEntries());
+        Assert.assertSame(localEntry, bibDatabase.getEntries().get(0));
+    }
+
+    @Test
+    public void testSynchronizeLocalDatabaseWithRemoteUpdate() throws OfflineLockException, SharedEntryNotPresentException, SQLException {
+        BibEntry updatedEntry = getBibEntryExample(1);
+        bibDatabase.insertEntry(updatedEntry);
+        BibEntry unchangedEntry = getBibEntryExample(2);
+        bibDatabase.insertEntry(unchangedEntry);
+        dbmsSynchronizer.synchronizeLocalDatabase();
+
+        BibEntry remoteEntry = dbmsProcessor.getSharedEntry(updatedEntry.getSharedBibEntryData().getSharedID()).get();
+        remoteEntry.setField("year", "2016");
+        dbmsProcessor.updateEntry(remoteEntry);
+        dbmsSynchronizer.synchronizeLocalDatabase();
+
+        Assert.assertEquals(Optional.of("2016"), updatedEntry.getField("year"));
+        Assert.assertEquals(2, updatedEntry.getSharedBibEntryData().getVersion());
+        Assert.assertEquals(Optional.empty(), unchangedEntry.getField("year"));
+        Assert.assertEquals(1, unchangedEntry.getSharedBibEntryData().getVersion());
+    }
+
+    @Test
+    public void testSynchronizeLocalDatabaseWithRemoteDelete() {
+        BibEntry removedEntry = getBibEntryExample(1);
+        bibDatabase.insertEntry(removedEntry);
+        BibEntry remainingEntry = getBibEntryExample(2);
+        bibDatabase.insertEntry(remainingEntry);
+        dbmsSynchronizer.synchronizeLocalDatabase();
+
+        dbmsProcessor.removeEntry(removedEntry);
+        dbmsSynchronizer.synchronizeLocalDatabase();
+
+        Assert.assertEquals(1, bibDatabase.getEntryCount());
+        Assert.assertSame(remainingEntry, bibDatabase.getEntries().get(0));
+    }
+
+    @Test
+    public void testSynchronizeLocalDatabaseWithoutRemoteChanges() {
+        BibEntry bibEntry = getBibEntryExample(1);
+        bibDatabase.insertEntry(bibEntry);
+        dbmsSynchronizer.synchronizeLocalDatabase();
+        List<EntryEvent> events = new ArrayList<>();
+        bibDatabase.registerListener(new Object() {
+
+            @Subscribe
+            public void listen(EntryEvent event) {
+                events.add(event);
+            }
+        });
+
+        dbmsSynchronizer.synchronizeLocalDatabase();
+
+        Assert.assertTrue(events.isEmpty());
+        Assert.assertEquals(Arrays.asList(bibEntry), bibDatabase.getEntries());
+        Assert.assertEquals(bibDatabase.getEntries(), dbmsProcessor.getSharedEntries());
+    }
+
+    @Test
+    public void testSynchronizeLocalDatabaseUpdatesAllEntriesWithSameSharedID() throws OfflineLockException, SharedEntryNotPresentException, SQLException {
+        BibEntry bibEntry = getBibEntryExample(1);
+        bibDatabase.insertEntry(bibEntry);
+        BibEntry duplicateEntry = getBibEntryExample(1);
+        duplicateEntry.getSharedBibEntryData().setSharedID(bibEntry.getSharedBibEntryData().getSharedID());
+        bibDatabase.insertEntry(duplicateEntry, EntryEventSource.SHARED);
+        dbmsSynchronizer.synchronizeLocalDatabase();
+
+        BibEntry remoteEntry = dbmsProcessor.getSharedEntry(bibEntry.getSharedBibEntryData().getSharedID()).get();
+        remoteEntry.setField("year", "2016");
+        dbmsProcessor.updateEntry(remoteEntry);
+        dbmsSynchronizer.synchronizeLocalDatabase();
+
+        Assert.assertEquals(Optional.of("2016"), bibEntry.getField("year"));
+        Assert.assertEquals(Optional.of("2016"), duplicateEntry.getField("year"));
+    }
+
     @Test
     public void testApplyMetaData() {
         BibEntry bibEntry = getBibEntryExample(1);
@@ -211,12 +359,16 @@ public class DBMSSynchronizerTest {
             connection.createStatement().executeUpdate("DROP TABLE IF EXISTS " + escape("FIELD"));
             connection.createStatement().executeUpdate("DROP TABLE IF EXISTS " + escape("ENTRY"));
             connection.createStatement().executeUpdate("DROP TABLE IF EXISTS " + escape("METADATA"));
+            connection.createStatement().executeUpdate("DROP TABLE IF EXISTS " + escape("CHANGE_COUNTER"));
+            connection.createStatement().executeUpdate("DROP TABLE IF EXISTS " + escape("ENTRY_CHANGE"));
         } else if (dbmsType == DBMSType.ORACLE) {
             connection.createStatement().executeUpdate(
                     "BEGIN\n" +
                     "EXECUTE IMMEDIATE 'DROP TABLE " + escape("FIELD") + "';\n" +
                     "EXECUTE IMMEDIATE 'DROP TABLE " + escape("ENTRY") + "';\n" +
                     "EXECUTE IMMEDIATE 'DROP TABLE " + escape("METADATA") + "';\n" +
+                    "EXECUTE IMMEDIATE 'DROP TABLE " + escape("CHANGE_COUNTER") + "';\n" +
+                    "EXECUTE IMMEDIATE 'DROP TABLE " + escape("ENTRY_CHANGE") + "';\n" +
                     "EXECUTE IMMEDIATE 'DROP SEQUENCE " + escape("ENTRY_SEQ") + "';\n" +
                     "EXCEPTION\n" +
                     "WHEN OTHERS THEN\n" +
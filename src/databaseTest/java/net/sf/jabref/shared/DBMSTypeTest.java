@@ -29,9 +29,9 @@ public class DBMSTypeTest {
 
     @Test
     public void testGetUrl() {
-        Assert.assertEquals("jdbc:mysql://localhost:3306/xe", DBMSType.MYSQL.getUrl("localhost", 3306, "xe"));
+        Assert.assertEquals("jdbc:mysql://localhost:3306/xe?rewriteBatchedStatements=true", DBMSType.MYSQL.getUrl("localhost", 3306, "xe"));
         Assert.assertEquals("jdbc:oracle:thin:@localhost:1521:xe", DBMSType.ORACLE.getUrl("localhost", 1521, "xe"));
-        Assert.assertEquals("jdbc:postgresql://localhost:5432/xe", DBMSType.POSTGRESQL.getUrl("localhost", 5432, "xe"));
+        Assert.assertEquals("jdbc:postgresql://localhost:5432/xe?reWriteBatchedInserts=true", DBMSType.POSTGRESQL.getUrl("localhost", 5432, "xe"));
     }
 
     @Test
@@ -59,6 +59,7 @@ public class SynchronizationTestSimulator {
     public void simulateEntryInsertionAndManualPull() {
         clientContextA.getDatabase().insertEntry(getBibEntryExample(1)); // client A inserts an entry
         clientContextA.getDatabase().insertEntry(getBibEntryExample(2)); // client A inserts another entry
+        clientContextA.getDBSynchronizer().flushPendingChanges(); // client A writes its queued changes
         clientContextB.getDBSynchronizer().pullChanges(); // client B pulls the changes
 
         Assert.assertEquals(clientContextA.getDatabase().getEntries(), clientContextB.getDatabase().getEntries());
@@ -70,6 +71,7 @@ public class SynchronizationTestSimulator {
         clientContextA.getDatabase().insertEntry(bibEntry); // client A inserts an entry
         bibEntry.setField("custom", "custom value"); // client A changes the entry
         bibEntry.clearField("author");
+        clientContextA.getDBSynchronizer().flushPendingChanges(); // client A writes its queued changes
 
         clientContextB.getDBSynchronizer().pullChanges(); // client B pulls the changes
 
@@ -80,6 +82,7 @@ public class SynchronizationTestSimulator {
     public void simulateEntryDelitionAndManualPull() {
         BibEntry bibEntry = getBibEntryExample(1);
         clientContextA.getDatabase().insertEntry(bibEntry); // client A inserts an entry
+        clientContextA.getDBSynchronizer().flushPendingChanges(); // client A writes its queued changes
         clientContextB.getDBSynchronizer().pullChanges(); // client B pulls the entry
 
         Assert.assertFalse(clientContextA.getDatabase().getEntries().isEmpty());
@@ -87,6 +90,7 @@ public class SynchronizationTestSimulator {
         Assert.assertEquals(clientContextA.getDatabase().getEntries(), clientContextB.getDatabase().getEntries());
 
         clientContextA.getDatabase().removeEntry(bibEntry); // client A removes the entry
+        clientContextA.getDBSynchronizer().flushPendingChanges(); // client A writes its queued changes
         clientContextB.getDBSynchronizer().pullChanges(); // client B pulls the change
 
         Assert.assertTrue(clientContextA.getDatabase().getEntries().isEmpty());
@@ -97,6 +101,7 @@ public class SynchronizationTestSimulator {
     public void simulateUpdateOnNoLongerExistingEntry() {
         BibEntry bibEntryOfClientA = getBibEntryExample(1);
         clientContextA.getDatabase().insertEntry(bibEntryOfClientA); // client A inserts an entry
+        clientContextA.getDBSynchronizer().flushPendingChanges(); // client A writes its queued changes
         clientContextB.getDBSynchronizer().pullChanges(); // client B pulls the entry
 
         Assert.assertFalse(clientContextA.getDatabase().getEntries().isEmpty());
@@ -104,12 +109,14 @@ public class SynchronizationTestSimulator {
         Assert.assertEquals(clientContextA.getDatabase().getEntries(), clientContextB.getDatabase().getEntries());
 
         clientContextA.getDatabase().removeEntry(bibEntryOfClientA); // client A removes the entry
+        clientContextA.getDBSynchronizer().flushPendingChanges(); // client A writes its queued changes
 
         Assert.assertFalse(clientContextB.getDatabase().getEntries().isEmpty());
         Assert.assertNull(eventListenerB.getSharedEntryNotPresentEvent());
 
         BibEntry bibEntryOfClientB = clientContextB.getDatabase().getEntries().get(0); // client B tries to update the entry
         bibEntryOfClientB.setField("year", "2009");
+        clientContextB.getDBSynchronizer().flushPendingChanges(); // client B writes its queued changes
 
         // here a new SharedEntryNotPresentEvent has been thrown. In this case the user B would get an pop-up window.
         Assert.assertNotNull(eventListenerB.getSharedEntryNotPresentEvent());
@@ -120,9 +127,11 @@ public class SynchronizationTestSimulator {
     public void simulateEntryChangeConflicts() {
         BibEntry bibEntryOfClientA = getBibEntryExample(1);
         clientContextA.getDatabase().insertEntry(bibEntryOfClientA); // client A inserts an entry
+        clientContextA.getDBSynchronizer().flushPendingChanges(); // client A writes its queued changes
         clientContextB.getDBSynchronizer().pullChanges(); // client B pulls the entry
 
         bibEntryOfClientA.setField("year", "2001"); // A now increases the version number
+        clientContextA.getDBSynchronizer().flushPendingChanges(); // client A writes its queued changes
 
         // B does nothing here, so there is no event occurrence
 
@@ -133,6 +142,7 @@ public class SynchronizationTestSimulator {
 
         BibEntry bibEntryOfClientB = clientContextB.getDatabase().getEntries().get(0);
         bibEntryOfClientB.setField("year", "2016"); // B also tries to change something
+        clientContextB.getDBSynchronizer().flushPendingChanges(); // client B writes its queued changes
 
         // B now can not update the shared entry, due to optimistic offline lock.
         // In this case an BibEntry merge dialog pops up.
@@ -160,12 +170,16 @@ public class SynchronizationTestSimulator {
             connection.createStatement().executeUpdate("DROP TABLE IF EXISTS " + escape("FIELD"));
             connection.createStatement().executeUpdate("DROP TABLE IF EXISTS " + escape("ENTRY"));
             connection.createStatement().executeUpdate("DROP TABLE IF EXISTS " + escape("METADATA"));
+            connection.createStatement().executeUpdate("DROP TABLE IF EXISTS " + escape("CHANGE_COUNTER"));
+            connection.createStatement().executeUpdate("DROP TABLE IF EXISTS " + escape("ENTRY_CHANGE"));
         } else if (dbmsType == DBMSType.ORACLE) {
             connection.createStatement().executeUpdate(
                     "BEGIN\n" +
                     "EXECUTE IMMEDIATE 'DROP TABLE " + escape("FIELD") + "';\n" +
                     "EXECUTE IMMEDIATE 'DROP TABLE " + escape("ENTRY") + "';\n" +
                     "EXECUTE IMMEDIATE 'DROP TABLE " + escape("METADATA") + "';\n" +
+                    "EXECUTE IMMEDIATE 'DROP TABLE " + escape("CHANGE_COUNTER") + "';\n" +
+                    "EXECUTE IMMEDIATE 'DROP TABLE " + escape("ENTRY_CHANGE") + "';\n" +
                     "EXECUTE IMMEDIATE 'DROP SEQUENCE " + escape("ENTRY_SEQ") + "';\n" +
                     "EXCEPTION\n" +
                     "WHEN OTHERS THEN\n" +
@@ -0,0 +1,254 @@
+package net.sf.jabref.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.FieldName;
+import net.sf.jabref.model.entry.IdGenerator;
+
+/**
+ * Generates synthetic databases resembling real ones, so the benchmarks show how JabRef scales with the number of
+ * entries.
+ * <p>
+ * The words of titles, abstracts and keywords follow a skewed distribution: a few words are very common, most words
+ * are rare, and the vocabulary grows with the number of entries. Names and titles contain Unicode characters as well
+ * as LaTeX commands, about a quarter of the entries are <tt>inproceedings</tt> entries inheriting their book title and
+ * year from a <tt>proceedings</tt> entry by crossref, and every entry has keywords separated by ", ".
+ * <p>
+ * The databases are generated from a fixed seed, so every run of a benchmark works on the same entries.
+ */
+public class BenchmarkDatabase {
+
+    public static final String KEYWORD_SEPARATOR = ", ";
+
+    private static final long SEED = 42;
+
+    // one proceedings entry per this number of entries
+    private static final int ENTRIES_PER_PROCEEDINGS = 50;
+
+    private static final String[] COMMON_WORDS = {"analysis", "approach", "learning", "network", "networks",
+            "neural", "model", "models", "data", "system", "systems", "theory", "quantum", "protein", "cell", "cells",
+            "dynamics", "evaluation", "design", "control", "method", "methods", "optimization", "graph", "algorithm",
+            "algorithms", "detection", "structure", "energy", "molecular", "estimation", "distributed", "efficient",
+            "large", "scale", "deep", "language", "image", "images", "software", "performance", "study", "review",
+            "survey", "recognition", "information", "knowledge", "semantic", "robust", "adaptive", "stochastic",
+            "linear", "nonlinear", "framework", "application", "applications", "towards", "using", "based", "via",
+            "evolution", "genome", "clinical", "patients", "climate", "ocean", "surface", "thermal", "magnetic",
+            "spectroscopy", "synthesis", "catalysis", "polymer", "neurons", "brain", "cortex", "memory", "parallel",
+            "computing", "cloud", "security", "privacy", "wireless", "sensor", "signal", "processing", "retrieval",
+            "search", "index", "query", "database", "bibliography", "citation", "metadata", "über", "l'analyse",
+            "théorie", "Schrödinger", "naïve", "Ångström", "Fourier", "Bayesian", "Markov", "Gaussian", "Monte",
+            "Carlo", "Euler", "Hilbert", "Riemann"};
+
+    private static final String[] SYLLABLES = {"ka", "lo", "mi", "ne", "ru", "ta", "ve", "zo", "pha", "gri", "sto",
+            "lin", "mor", "que", "bel", "dra", "fu", "xen", "ol", "ith"};
+
+    private static final String[] LATEX_WORDS = {"$\\alpha$-helix", "{DNA}", "{RNA}", "$O(n \\log n)$",
+            "\\textit{in vivo}", "\\emph{ab initio}", "{\\\"U}ber", "Schr{\\\"o}dinger", "{\\'E}tude", "$\\beta$",
+            "{G}alois", "$\\mathbb{R}^n$", "na{\\\"\\i}ve", "{\\AA}ngstr{\\\"o}m"};
+
+    private static final String[] FIRST_NAMES = {"John", "Maria", "Wei", "Anna", "José", "Jürgen", "Łukasz",
+            "Françoise", "Søren", "Hiroshi", "Olga", "Ahmed", "Zoë", "J.-P.", "Jean-Luc", "Seo-yeon", "Ana María",
+            "Björn", "Jiří", "Ngọc"};
+
+    private static final String[] LAST_NAMES = {"Smith", "Müller", "M{\\\"u}ller", "Wang", "García",
+            "Gonz{\\'a}lez", "Kowalski", "Łukasiewicz", "Dvořák", "Dvo{\\v{r}}{\\'a}k", "Nguyễn", "Tanaka", "Ivanova",
+            "O'Neil", "van der Berg", "{de la Cruz}", "Johansson", "Schr{\\\"o}der", "Lee", "Kim", "Rossi", "Dubois",
+            "{\\O}stergaard", "Papadopoulos", "Kaczmarek", "Fern{\\'a}ndez", "Chen", "Novák", "Yilmaz", "Brown"};
+
+    private static final String[] JOURNALS = {"Nature", "Science", "Physical Review Letters",
+            "Journal of Machine Learning Research", "Bioinformatics", "IEEE Transactions on Software Engineering",
+            "Communications of the {ACM}", "Zeitschrift f{\\\"u}r Physik", "Journal de Math{\\'e}matiques",
+            "Neural Computation", "Annals of Statistics", "Cell"};
+
+    private static final String[] PUBLISHERS = {"Springer", "Elsevier", "{ACM}", "{IEEE}", "Wiley",
+            "Cambridge University Press", "{\\'E}ditions du Seuil"};
+
+    private final Random random = new Random(SEED);
+    private final int vocabularySize;
+
+
+    private BenchmarkDatabase(int numberOfEntries) {
+        // the vocabulary grows with the size of the database
+        this.vocabularySize = COMMON_WORDS.length + (200 * (int) Math.sqrt(numberOfEntries));
+    }
+
+    /**
+     * Creates a database with the given number of entries.
+     */
+    public static BibDatabase create(int numberOfEntries) {
+        BibDatabase database = new BibDatabase();
+        new BenchmarkDatabase(numberOfEntries).createEntries(numberOfEntries).forEach(database::insertEntry);
+        return database;
+    }
+
+    private List<BibEntry> createEntries(int numberOfEntries) {
+        List<BibEntry> entries = new ArrayList<>(numberOfEntries);
+        int numberOfProceedings = Math.max(1, numberOfEntries / ENTRIES_PER_PROCEEDINGS);
+        for (int i = 0; i < numberOfProceedings; i++) {
+            entries.add(createProceedings(i));
+        }
+
+        for (int i = numberOfProceedings; i < numberOfEntries; i++) {
+            int kind = random.nextInt(100);
+            if (kind < 50) {
+                entries.add(createArticle(i));
+            } else if (kind < 85) {
+                entries.add(createInProceedings(i, random.nextInt(numberOfProceedings)));
+            } else if (kind < 93) {
+                entries.add(createBook(i));
+            } else {
+                entries.add(createMisc(i));
+            }
+        }
+        return entries;
+    }
+
+    private BibEntry createProceedings(int number) {
+        BibEntry entry = createEntry("proceedings", "proc" + number);
+        entry.setField(FieldName.TITLE, "Proceedings of the " + (number + 1) + "th Conference on " + words(2, 4));
+        entry.setField(FieldName.EDITOR, names(1, 3));
+        entry.setField(FieldName.YEAR, year());
+        entry.setField(FieldName.PUBLISHER, pick(PUBLISHERS));
+        return entry;
+    }
+
+    private BibEntry createArticle(int number) {
+        BibEntry entry = createEntry("article", "article" + number);
+        setCommonFields(entry);
+        entry.setField(FieldName.JOURNAL, pick(JOURNALS));
+        entry.setField(FieldName.YEAR, year());
+        entry.setField(FieldName.VOLUME, String.valueOf(1 + random.nextInt(120)));
+        entry.setField(FieldName.NUMBER, String.valueOf(1 + random.nextInt(12)));
+        entry.setField(FieldName.DOI, "10." + (1000 + random.nextInt(9000)) + "/" + Integer.toHexString(number));
+        return entry;
+    }
+
+    private BibEntry createInProceedings(int number, int proceedings) {
+        BibEntry entry = createEntry("inproceedings", "inproc" + number);
+        setCommonFields(entry);
+        if (random.nextInt(3) == 0) {
+            entry.setField(FieldName.BOOKTITLE, "Workshop on " + words(2, 4));
+            entry.setField(FieldName.YEAR, year());
+        } else {
+            // book title and year are inherited
+            entry.setField(FieldName.CROSSREF, "proc" + proceedings);
+        }
+        return entry;
+    }
+
+    private BibEntry createBook(int number) {
+        BibEntry entry = createEntry("book", "book" + number);
+        setCommonFields(entry);
+        entry.setField(FieldName.PUBLISHER, pick(PUBLISHERS));
+        entry.setField(FieldName.YEAR, year());
+        entry.setField(FieldName.ISBN, "978-3-" + (10000 + random.nextInt(90000)) + "-" + random.nextInt(1000));
+        return entry;
+    }
+
+    private BibEntry createMisc(int number) {
+        BibEntry entry = createEntry("misc", "misc" + number);
+        setCommonFields(entry);
+        entry.setField(FieldName.YEAR, year());
+        entry.setField(FieldName.URL, "https://example.org/" + words(1, 1).toLowerCase() + "/" + number);
+        return entry;
+    }
+
+    private static BibEntry createEntry(String type, String key) {
+        BibEntry entry = new BibEntry(IdGenerator.next(), type);
+        entry.setCiteKey(key);
+        return entry;
+    }
+
+    private void setCommonFields(BibEntry entry) {
+        entry.setField(FieldName.AUTHOR, names(1, 6));
+        entry.setField(FieldName.TITLE, title());
+        entry.setField(FieldName.PAGES, (1 + random.nextInt(500)) + "--" + (501 + random.nextInt(500)));
+        entry.setField(FieldName.KEYWORDS, keywords());
+        if (random.nextInt(5) == 0) {
+            entry.setField(FieldName.ABSTRACT, words(30, 90) + ".");
+        }
+    }
+
+    private String title() {
+        StringBuilder title = new StringBuilder(capitalize(word()));
+        int length = 3 + random.nextInt(10);
+        for (int i = 1; i < length; i++) {
+            title.append(' ');
+            title.append(random.nextInt(15) == 0 ? pick(LATEX_WORDS) : word());
+        }
+        return title.toString();
+    }
+
+    private String keywords() {
+        Set<String> keywords = new LinkedHashSet<>();
+        int numberOfKeywords = 1 + random.nextInt(5);
+        while (keywords.size() < numberOfKeywords) {
+            // keywords are drawn from the more common words
+            String keyword = wordOfRank(randomRank(COMMON_WORDS.length * 3));
+            keywords.add(random.nextInt(4) == 0 ? keyword + " " + word() : keyword);
+        }
+        return String.join(KEYWORD_SEPARATOR, keywords);
+    }
+
+    private String names(int minimum, int maximum) {
+        int numberOfNames = minimum + random.nextInt((maximum - minimum) + 1);
+        List<String> names = new ArrayList<>(numberOfNames);
+        for (int i = 0; i < numberOfNames; i++) {
+            names.add(pick(LAST_NAMES) + ", " + pick(FIRST_NAMES));
+        }
+        return String.join(" and ", names);
+    }
+
+    private String words(int minimum, int maximum) {
+        int numberOfWords = minimum + random.nextInt((maximum - minimum) + 1);
+        StringBuilder words = new StringBuilder(capitalize(word()));
+        for (int i = 1; i < numberOfWords; i++) {
+            words.append(' ').append(word());
+        }
+        return words.toString();
+    }
+
+    private String word() {
+        return wordOfRank(randomRank(vocabularySize));
+    }
+
+    /**
+     * Draws a rank below the given maximum, where small ranks are much more likely than large ones.
+     */
+    private int randomRank(int maximum) {
+        return Math.min(maximum - 1, (int) Math.pow(maximum, random.nextDouble()) - 1);
+    }
+
+    private static String wordOfRank(int rank) {
+        if (rank < COMMON_WORDS.length) {
+            return COMMON_WORDS[rank];
+        }
+
+        // rare words are made of syllables
+        StringBuilder word = new StringBuilder();
+        int remaining = rank - COMMON_WORDS.length;
+        do {
+            word.append(SYLLABLES[remaining % SYLLABLES.length]);
+            remaining /= SYLLABLES.length;
+        } while (remaining > 0);
+        return word.append("en").toString();
+    }
+
+    private String year() {
+        return String.valueOf(1950 + random.nextInt(70));
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
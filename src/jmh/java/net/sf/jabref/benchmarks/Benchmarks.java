@@ -2,10 +2,7 @@ package net.sf.jabref.benchmarks;
 
 import java.io.IOException;
 import java.io.StringReader;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Random;
-import java.util.stream.Collectors;
 
 import net.sf.jabref.Globals;
 import net.sf.jabref.logic.exporter.BibtexDatabaseWriter;
@@ -16,15 +13,12 @@ import net.sf.jabref.logic.importer.ParserResult;
 import net.sf.jabref.logic.importer.fileformat.BibtexParser;
 import net.sf.jabref.logic.layout.format.HTMLChars;
 import net.sf.jabref.logic.layout.format.LatexToUnicodeFormatter;
-import net.sf.jabref.logic.search.SearchQuery;
 import net.sf.jabref.model.Defaults;
-import net.sf.jabref.model.ParseException;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseContext;
 import net.sf.jabref.model.database.BibDatabaseMode;
 import net.sf.jabref.model.database.BibDatabaseModeDetection;
 import net.sf.jabref.model.entry.BibEntry;
-import net.sf.jabref.model.groups.GroupHierarchyType;
 import net.sf.jabref.model.groups.KeywordGroup;
 import net.sf.jabref.model.metadata.MetaData;
 import net.sf.jabref.preferences.JabRefPreferences;
@@ -36,6 +30,13 @@ import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.runner.RunnerException;
 
+/**
+ * Benchmarks of parsing, writing and formatting. Search, groups and the entry table are benchmarked on databases of
+ * different sizes by {@link SearchBenchmarks}, {@link GroupBenchmarks} and
+ * {@link net.sf.jabref.gui.maintable.MainTableDataModelBenchmarks}.
+ * <p>
+ * Run with "-prof gc" (as configured for the jmh task) to report the allocation rate next to the throughput.
+ */
 @State(Scope.Thread)
 public class Benchmarks {
 
@@ -86,13 +87,22 @@ public class Benchmarks {
         return saveSession.getStringValue();
     }
 
+    /**
+     * Run with "-prof gc" to measure the memory allocated per entry: gc.alloc.rate.norm is the number of bytes
+     * allocated per created entry, including temporary objects. The memory an entry retains is measured by
+     * {@link net.sf.jabref.model.entry.FieldMapFootprint}.
+     */
     @Benchmark
-    public List<BibEntry> search() {
-        // FIXME: Reuse SearchWorker here
-        SearchQuery searchQuery = new SearchQuery("Journal Title 500", false, false);
-        List<BibEntry> matchedEntries = new ArrayList<>();
-        matchedEntries.addAll(database.getEntries().stream().filter(searchQuery::isMatch).collect(Collectors.toList()));
-        return matchedEntries;
+    public BibEntry createEntry() {
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("id");
+        entry.setField("title", "This is my title");
+        entry.setField("author", "Firstname Lastname and FirstnameA LastnameA and FirstnameB LastnameB");
+        entry.setField("journal", "Journal Title");
+        entry.setField("keyword", "testkeyword");
+        entry.setField("year", "2016");
+        entry.setField("rnd", "2");
+        return entry;
     }
 
     @Benchmark
@@ -118,13 +128,6 @@ public class Benchmarks {
         return f.format(htmlConversionString);
     }
 
-    @Benchmark
-    public boolean keywordGroupContains() throws ParseException {
-        KeywordGroup group = new KeywordGroup("testGroup", "keyword", "testkeyword", false, false,
-                GroupHierarchyType.INDEPENDENT, ", ");
-        return group.containsAll(database.getEntries());
-    }
-
     @Benchmark
     public boolean keywordGroupContainsWord() {
         return KeywordGroup.containsWord("testWord", "Some longer test string containing testWord the test word");
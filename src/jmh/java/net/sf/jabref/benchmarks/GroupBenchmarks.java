@@ -0,0 +1,111 @@
+package net.sf.jabref.benchmarks;
+
+import java.util.List;
+
+import net.sf.jabref.Globals;
+import net.sf.jabref.model.ParseException;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.FieldName;
+import net.sf.jabref.model.groups.AbstractGroup;
+import net.sf.jabref.model.groups.AllEntriesGroup;
+import net.sf.jabref.model.groups.GroupHierarchyType;
+import net.sf.jabref.model.groups.GroupTreeNode;
+import net.sf.jabref.model.groups.KeywordGroup;
+import net.sf.jabref.model.groups.SearchGroup;
+import net.sf.jabref.preferences.JabRefPreferences;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Counts the entries of synthetic databases (see {@link BenchmarkDatabase}) in groups, as done for the hit counts of
+ * the group tree and the highlighting of the groups of the selected entries.
+ */
+@State(Scope.Benchmark)
+public class GroupBenchmarks {
+
+    private static final String[] KEYWORDS = {"neural", "network", "learning", "quantum", "protein", "data",
+            "analysis", "security"};
+
+    @Param({"10000", "100000", "1000000"})
+    public int numberOfEntries;
+
+    private List<BibEntry> entries;
+    private GroupTreeNode groupTree;
+    private KeywordGroup keywordGroup;
+    private KeywordGroup regularExpressionKeywordGroup;
+    private SearchGroup searchGroup;
+
+
+    @Setup
+    public void init() throws ParseException {
+        Globals.prefs = JabRefPreferences.getInstance();
+
+        entries = BenchmarkDatabase.create(numberOfEntries).getEntries();
+
+        keywordGroup = createKeywordGroup("network", false);
+        regularExpressionKeywordGroup = createKeywordGroup("neur(al|ons)", true);
+        searchGroup = new SearchGroup("search", "author = müller and title = network", false, false,
+                GroupHierarchyType.INDEPENDENT);
+
+        // a tree as users build it: groups for keywords with refining subgroups, and some search groups
+        groupTree = GroupTreeNode.fromGroup(new AllEntriesGroup("All entries"));
+        for (String keyword : KEYWORDS) {
+            GroupTreeNode keywordNode = groupTree.addSubgroup(createKeywordGroup(keyword, false));
+            keywordNode.addSubgroup(new KeywordGroup(keyword + " 1990s", FieldName.YEAR, "199", false, false,
+                    GroupHierarchyType.REFINING, BenchmarkDatabase.KEYWORD_SEPARATOR));
+            keywordNode.addSubgroup(new SearchGroup(keyword + " by Müller", "author = müller", false, false,
+                    GroupHierarchyType.REFINING));
+        }
+        groupTree.addSubgroup(regularExpressionKeywordGroup);
+        groupTree.addSubgroup(searchGroup);
+        groupTree.addSubgroup(new SearchGroup("fuzzy", "title similar netwrok", false, false,
+                GroupHierarchyType.INCLUDING));
+    }
+
+    private static KeywordGroup createKeywordGroup(String keyword, boolean regularExpression) throws ParseException {
+        return new KeywordGroup(keyword, FieldName.KEYWORDS, keyword, false, regularExpression,
+                GroupHierarchyType.INDEPENDENT, BenchmarkDatabase.KEYWORD_SEPARATOR);
+    }
+
+    @Benchmark
+    public int numberOfHitsOfGroupTree() {
+        return numberOfHits(groupTree);
+    }
+
+    private int numberOfHits(GroupTreeNode node) {
+        int hits = node.numberOfHits(entries);
+        for (GroupTreeNode child : node.getChildren()) {
+            hits += numberOfHits(child);
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int keywordGroupContains() {
+        return countContainedEntries(keywordGroup);
+    }
+
+    @Benchmark
+    public int regularExpressionKeywordGroupContains() {
+        return countContainedEntries(regularExpressionKeywordGroup);
+    }
+
+    @Benchmark
+    public int searchGroupContains() {
+        return countContainedEntries(searchGroup);
+    }
+
+    private int countContainedEntries(AbstractGroup group) {
+        int containedEntries = 0;
+        for (BibEntry entry : entries) {
+            if (group.contains(entry)) {
+                containedEntries++;
+            }
+        }
+        return containedEntries;
+    }
+}
@@ -0,0 +1,104 @@
+package net.sf.jabref.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.sf.jabref.Globals;
+import net.sf.jabref.logic.search.SearchExecutor;
+import net.sf.jabref.logic.search.SearchIndex;
+import net.sf.jabref.logic.search.SearchMonitor;
+import net.sf.jabref.logic.search.SearchQuery;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.search.rules.ContainBasedSearchRule;
+import net.sf.jabref.model.search.rules.FuzzySearchRule;
+import net.sf.jabref.model.search.rules.GrammarBasedSearchRule;
+import net.sf.jabref.model.search.rules.RegexBasedSearchRule;
+import net.sf.jabref.model.search.rules.SearchRule;
+import net.sf.jabref.preferences.JabRefPreferences;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Searches synthetic databases (see {@link BenchmarkDatabase}) with a typical query of every search rule: entry by
+ * entry in one thread, in parallel, and narrowed down by the search index.
+ */
+@State(Scope.Benchmark)
+public class SearchBenchmarks {
+
+    public enum Rule {
+        CONTAINS("neural network", false, false, ContainBasedSearchRule.class),
+        REGEX("neur(al|ons?) net", true, false, RegexBasedSearchRule.class),
+        GRAMMAR("author = müller and title = network", false, false, GrammarBasedSearchRule.class),
+        GRAMMAR_REGEX("author = \"m(ü|ue)ller\" and year = \"19[5-8][0-9]\"", true, false,
+                GrammarBasedSearchRule.class),
+        FUZZY("nueral netwrok", false, true, FuzzySearchRule.class);
+
+        private final String query;
+        private final boolean regularExpression;
+        private final boolean fuzzy;
+        private final Class<? extends SearchRule> ruleClass;
+
+        Rule(String query, boolean regularExpression, boolean fuzzy, Class<? extends SearchRule> ruleClass) {
+            this.query = query;
+            this.regularExpression = regularExpression;
+            this.fuzzy = fuzzy;
+            this.ruleClass = ruleClass;
+        }
+
+        SearchQuery createQuery() {
+            SearchQuery searchQuery = new SearchQuery(query, false, regularExpression, fuzzy);
+            if (!ruleClass.isInstance(searchQuery.getRule())) {
+                throw new IllegalStateException("Query " + searchQuery + " does not use " + ruleClass.getSimpleName());
+            }
+            return searchQuery;
+        }
+    }
+
+
+    @Param({"10000", "100000", "1000000"})
+    public int numberOfEntries;
+
+    @Param
+    public Rule rule;
+
+    private BibDatabase database;
+    private SearchQuery query;
+
+
+    @Setup
+    public void init() {
+        Globals.prefs = JabRefPreferences.getInstance();
+
+        database = BenchmarkDatabase.create(numberOfEntries);
+        query = rule.createQuery();
+
+        // trigrams are only used by regular expression searches
+        SearchIndex.buildIndex(database, rule.regularExpression);
+    }
+
+    @Benchmark
+    public List<BibEntry> searchSequentially() {
+        List<BibEntry> matches = new ArrayList<>();
+        for (BibEntry entry : database.getEntries()) {
+            if (query.isMatch(entry)) {
+                matches.add(entry);
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public List<BibEntry> searchInParallel() {
+        return SearchExecutor.getInstance().search(query, database.getEntries(), SearchMonitor.NONE);
+    }
+
+    @Benchmark
+    public List<BibEntry> searchWithIndex() {
+        return SearchIndex.getMatches(query, database);
+    }
+}
@@ -0,0 +1,98 @@
+package net.sf.jabref.gui.maintable;
+
+import java.util.Comparator;
+import java.util.Random;
+
+import net.sf.jabref.Globals;
+import net.sf.jabref.benchmarks.BenchmarkDatabase;
+import net.sf.jabref.logic.bibtex.comparator.FieldComparator;
+import net.sf.jabref.model.Defaults;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.BibDatabaseContext;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.FieldName;
+import net.sf.jabref.model.metadata.MetaData;
+import net.sf.jabref.preferences.JabRefPreferences;
+
+import ca.odell.glazedlists.SortedList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Sorts and filters the entry table of synthetic databases (see {@link BenchmarkDatabase}). Every benchmark starts
+ * from an unsorted and unfiltered table, which is restored outside of the measurement.
+ */
+@State(Scope.Thread)
+public class MainTableDataModelBenchmarks {
+
+    @Param({"10000", "100000", "1000000"})
+    public int numberOfEntries;
+
+    private MainTableDataModel model;
+
+
+    @Setup
+    public void init() {
+        Globals.prefs = JabRefPreferences.getInstance();
+
+        BibDatabase database = BenchmarkDatabase.create(numberOfEntries);
+        // a tenth of the entries are search hits, a quarter are in the selected groups
+        Random random = new Random(numberOfEntries);
+        for (BibEntry entry : database.getEntries()) {
+            entry.setSearchHit(random.nextInt(10) == 0);
+            entry.setGroupHit(random.nextInt(4) == 0);
+        }
+        model = new MainTableDataModel(new BibDatabaseContext(database, new MetaData(), new Defaults()));
+    }
+
+    @Setup(Level.Invocation)
+    public void resetTable() {
+        model.updateSearchState(MainTableDataModel.DisplayOption.DISABLED);
+        model.updateGroupingState(MainTableDataModel.DisplayOption.DISABLED);
+        setColumnComparator(null);
+    }
+
+    private void setColumnComparator(Comparator<BibEntry> comparator) {
+        SortedList<BibEntry> sortedList = model.getSortedForUserDefinedTableColumnSorting();
+        sortedList.getReadWriteLock().writeLock().lock();
+        try {
+            sortedList.setComparator(comparator);
+        } finally {
+            sortedList.getReadWriteLock().writeLock().unlock();
+        }
+    }
+
+    @Benchmark
+    public int sortByAuthor() {
+        setColumnComparator(new FieldComparator(FieldName.AUTHOR));
+        return model.getTableRows().size();
+    }
+
+    @Benchmark
+    public int sortByTitle() {
+        setColumnComparator(new FieldComparator(FieldName.TITLE));
+        return model.getTableRows().size();
+    }
+
+    @Benchmark
+    public int floatSearchHits() {
+        model.updateSearchState(MainTableDataModel.DisplayOption.FLOAT);
+        return model.getTableRows().size();
+    }
+
+    @Benchmark
+    public int filterSearchHits() {
+        model.updateSearchState(MainTableDataModel.DisplayOption.FILTER);
+        return model.getTableRows().size();
+    }
+
+    @Benchmark
+    public int filterGroupHits() {
+        model.updateGroupingState(MainTableDataModel.DisplayOption.FILTER);
+        return model.getTableRows().size();
+    }
+}
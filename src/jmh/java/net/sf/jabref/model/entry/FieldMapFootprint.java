@@ -0,0 +1,73 @@
+package net.sf.jabref.model.entry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Measures the heap retained by the fields of an entry for the {@link ConcurrentHashMap} previously used by
+ * {@link BibEntry} and for {@link CompactFieldMap}. Unlike the allocation rate reported by the createEntry benchmark
+ * (see {@link net.sf.jabref.benchmarks.Benchmarks#createEntry()}), which includes all temporary objects, this is the
+ * memory an entry keeps as long as it is part of a database.
+ * <p>
+ * The maps of many entries with the fields of the createEntry benchmark are created and the growth of the used heap
+ * after a garbage collection is divided by their number. The field names and values are shared by all maps, so only
+ * the maps themselves are measured. Run with a fixed heap size (e.g., "-Xms2g -Xmx2g") for stable results.
+ */
+public class FieldMapFootprint {
+
+    private static final int NUMBER_OF_ENTRIES = 200_000;
+    private static final int RUNS = 3;
+
+    private static final String[][] FIELDS = {
+            {BibEntry.KEY_FIELD, "id"},
+            {"title", "This is my title"},
+            {"author", "Firstname Lastname and FirstnameA LastnameA and FirstnameB LastnameB"},
+            {"journal", "Journal Title"},
+            {"keyword", "testkeyword"},
+            {"year", "2016"},
+            {"rnd", "2"}
+    };
+
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int run = 1; run <= RUNS; run++) {
+            System.out.println(String.format(Locale.ENGLISH, "Run %d: ConcurrentHashMap %d bytes, CompactFieldMap %d bytes per entry",
+                    run, measureRetainedBytes(ConcurrentHashMap::new), measureRetainedBytes(CompactFieldMap::new)));
+        }
+    }
+
+    /**
+     * Returns the average number of bytes retained by a map of the given layout holding the fields.
+     */
+    static long measureRetainedBytes(Supplier<Map<String, String>> layout) throws InterruptedException {
+        List<Map<String, String>> maps = new ArrayList<>(NUMBER_OF_ENTRIES);
+        long before = getUsedHeap();
+        for (int i = 0; i < NUMBER_OF_ENTRIES; i++) {
+            Map<String, String> fields = layout.get();
+            for (String[] field : FIELDS) {
+                fields.put(field[0], field[1]);
+            }
+            maps.add(fields);
+        }
+        long after = getUsedHeap();
+
+        // keep the maps reachable until the heap was measured
+        if (maps.size() != NUMBER_OF_ENTRIES) {
+            throw new IllegalStateException();
+        }
+        return (after - before) / NUMBER_OF_ENTRIES;
+    }
+
+    private static long getUsedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -19,6 +19,7 @@ OR:[oO][rR]; // 'or' case insensitive
 CONTAINS:[cC][oO][nN][tT][aA][iI][nN][sS]; // 'contains' case insensitive
 MATCHES:[mM][aA][tT][cC][hH][eE][sS]; // 'matches' case insensitive
 NOT:[nN][oO][tT]; // 'not' case insensitive
+SIMILAR:[sS][iI][mM][iI][lL][aA][rR]; // 'similar' case insensitive, contains terms similar to the given ones
 
 STRING:QUOTE (~'"')* QUOTE;
 QUOTE:'"';
@@ -41,7 +42,7 @@ expression:
     ;
 
 comparison:
-    left=name operator=(CONTAINS | MATCHES | EQUAL | EEQUAL | NEQUAL) right=name; // example: author != miller
+    left=name operator=(CONTAINS | MATCHES | SIMILAR | EQUAL | EEQUAL | NEQUAL) right=name; // example: author != miller
 
 name:
     STRING // example: "miller"
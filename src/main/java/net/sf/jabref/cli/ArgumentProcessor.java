@@ -37,6 +37,7 @@ import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.logic.layout.LayoutFormatterPreferences;
 import net.sf.jabref.logic.logging.JabRefLogger;
 import net.sf.jabref.logic.search.DatabaseSearcher;
+import net.sf.jabref.logic.search.SearchIndex;
 import net.sf.jabref.logic.search.SearchQuery;
 import net.sf.jabref.logic.util.OS;
 import net.sf.jabref.logic.util.strings.StringUtil;
@@ -126,6 +127,14 @@ public class ArgumentProcessor {
             }
         }
 
+        if (cli.isExplainSearch()) {
+            if (!loaded.isEmpty()) {
+                explainSearch(loaded);
+            } else {
+                System.err.println(Localization.lang("The output option depends on a valid input option."));
+            }
+        }
+
         if (cli.isGenerateBibtexKeys()) {
             regenerateBibtexKeys(loaded);
         }
@@ -170,7 +179,8 @@ public class ArgumentProcessor {
         SearchPreferences searchPreferences = new SearchPreferences(Globals.prefs);
         SearchQuery query = new SearchQuery(searchTerm,
                 searchPreferences.isCaseSensitive(),
-                searchPreferences.isRegularExpression());
+                searchPreferences.isRegularExpression(),
+                searchPreferences.isFuzzySearch());
         List<BibEntry> matches = new DatabaseSearcher(query, dataBase).getMatches();
 
         //export matches
@@ -215,6 +225,23 @@ public class ArgumentProcessor {
         return true;
     }
 
+    private void explainSearch(List<ParserResult> loaded) {
+        BibDatabase dataBase = loaded.get(loaded.size() - 1).getDatabase();
+
+        if (Globals.prefs.getBoolean(JabRefPreferences.USE_SEARCH_INDEX)) {
+            // explain the search as it is done in an opened database, which has a search index
+            SearchIndex.buildIndex(dataBase, Globals.prefs.getBoolean(JabRefPreferences.USE_SEARCH_TRIGRAM_INDEX));
+        }
+
+        SearchPreferences searchPreferences = new SearchPreferences(Globals.prefs);
+        SearchQuery query = new SearchQuery(cli.getExplainSearch(),
+                searchPreferences.isCaseSensitive(),
+                searchPreferences.isRegularExpression(),
+                searchPreferences.isFuzzySearch());
+        System.out.print(query.profile(dataBase).getReport());
+        SearchIndex.removeIndex(dataBase);
+    }
+
     private void doAuxImport(List<ParserResult> loaded) {
         boolean usageMsg;
 
@@ -135,6 +135,14 @@ public class JabRefCLI {
         return cl.getOptionValue("exportMatches");
     }
 
+    public boolean isExplainSearch() {
+        return cl.hasOption("explainSearch");
+    }
+
+    public String getExplainSearch() {
+        return cl.getOptionValue("explainSearch");
+    }
+
     public boolean isGenerateBibtexKeys() { return cl.hasOption("generateBibtexKeys"); }
 
     public boolean isAutomaticallySetFileLinks() { return cl.hasOption("automaticallySetFileLinks");}
@@ -214,6 +222,13 @@ public class JabRefCLI {
                 argName("FILE").
                 build());
 
+        options.addOption(Option.builder().
+                longOpt("explainSearch").
+                desc(Localization.lang("Show how a search in the last loaded file is evaluated and where time is spent")).
+                hasArg().
+                argName("QUERY").
+                build());
+
         options.addOption(Option.builder("g").
                 longOpt("generateBibtexKeys").
                 desc(Localization.lang("Regenerate all keys for the entries in a BibTeX file"))
@@ -103,6 +103,8 @@ import net.sf.jabref.logic.l10n.Encodings;
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.logic.layout.Layout;
 import net.sf.jabref.logic.layout.LayoutHelper;
+import net.sf.jabref.logic.search.IncrementalSearcher;
+import net.sf.jabref.logic.search.SearchIndex;
 import net.sf.jabref.logic.search.SearchQuery;
 import net.sf.jabref.logic.util.FileExtensions;
 import net.sf.jabref.logic.util.UpdateField;
@@ -226,6 +228,11 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
 
         this.getDatabase().registerListener(new SearchListener());
 
+        if (Globals.prefs.getBoolean(JabRefPreferences.USE_SEARCH_INDEX)) {
+            SearchIndex.forDatabase(getDatabase(),
+                    Globals.prefs.getBoolean(JabRefPreferences.USE_SEARCH_TRIGRAM_INDEX));
+        }
+
         // ensure that at each addition of a new entry, the entry is added to the groups interface
         this.bibDatabaseContext.getDatabase().registerListener(new GroupTreeListener());
 
@@ -2188,6 +2195,12 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
         if (fileMonitorHandle != null) {
             Globals.getFileUpdateMonitor().removeUpdateListener(fileMonitorHandle);
         }
+        SearchIndex.removeIndex(getDatabase());
+        IncrementalSearcher.removeSearcher(getDatabase());
+        // write the local changes which are still queued
+        if (bibDatabaseContext.getLocation() == DatabaseLocation.SHARED) {
+            bibDatabaseContext.getDBSynchronizer().flushPendingChanges();
+        }
         // Check if there is a FileUpdatePanel for this BasePanel being shown. If so,
         // remove it:
         if (sidePaneManager.hasComponent("fileUpdate")) {
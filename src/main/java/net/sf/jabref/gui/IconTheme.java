@@ -153,6 +153,7 @@ public class IconTheme {
         OPEN_IN_NEW_WINDOW("\uf3cc"), /*css: open-in-new */
         CASE_SENSITIVE("\uf02c"), /* css: mdi-alphabetical */
         REG_EX("\uf451"), /*css: mdi-regex */
+        FUZZY_SEARCH("\uf068"), /*css: auto-fix */
         CONSOLE("\uf18d"), /*css: console */
         FORUM("\uf28c"), /* css: forum */
         FACEBOOK("\uf20c"), /* css: facebook */
@@ -767,6 +767,12 @@ public class JabRefFrame extends JFrame implements OutputPrinter {
      * @param filenames the filenames of all currently opened files - used for storing them if prefs openLastEdited is set to true
      */
     private void tearDownJabRef(List<String> filenames) {
+        for (BasePanel basePanel : getBasePanelList()) {
+            if (basePanel.getBibDatabaseContext().getLocation() == DatabaseLocation.SHARED) {
+                // write the local changes which are still queued
+                basePanel.getBibDatabaseContext().getDBSynchronizer().flushPendingChanges();
+            }
+        }
         JabRefExecutorService.INSTANCE.shutdownEverything();
 
         dispose();
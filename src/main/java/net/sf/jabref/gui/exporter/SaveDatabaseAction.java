@@ -232,6 +232,7 @@ public class SaveDatabaseAction extends AbstractWorker {
         try {
             if (success) {
                 session.commit(file.toPath());
+                updateParsedSerializations(session, file, selectedOnly);
                 panel.getBibDatabaseContext().getMetaData().setEncoding(encoding); // Make sure to remember which encoding we used.
             } else {
                 session.cancel();
@@ -244,6 +245,7 @@ public class SaveDatabaseAction extends AbstractWorker {
             if (ans == JOptionPane.YES_OPTION) {
                 session.setUseBackup(false);
                 session.commit(file.toPath());
+                updateParsedSerializations(session, file, selectedOnly);
                 panel.getBibDatabaseContext().getMetaData().setEncoding(encoding);
             } else {
                 success = false;
@@ -253,6 +255,15 @@ public class SaveDatabaseAction extends AbstractWorker {
         return success;
     }
 
+    /**
+     * Lets the unchanged entries read their text from the saved file, as the file they were parsed from was replaced.
+     */
+    private void updateParsedSerializations(SaveSession session, File file, boolean selectedOnly) {
+        if (!selectedOnly) {
+            session.updateParsedSerializations(file.toPath());
+        }
+    }
+
     /**
      * Run the "Save" operation. This method offloads the actual save operation to a background thread, but
      * still runs synchronously using Spin (the method returns only after completing the operation).
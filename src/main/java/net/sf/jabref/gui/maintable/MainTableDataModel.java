@@ -1,8 +1,12 @@
 package net.sf.jabref.gui.maintable;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -22,6 +26,7 @@ import ca.odell.glazedlists.matchers.Matcher;
 
 public class MainTableDataModel {
 
+    private final EventList<BibEntry> entryList;
     private final ListSynchronizer listSynchronizer;
     private final SortedList<BibEntry> sortedForUserDefinedTableColumnSorting;
     private final SortedList<BibEntry> sortedForMarkingSearchGrouping;
@@ -29,12 +34,15 @@ public class MainTableDataModel {
     private final StartStopListFilterAction filterGroupToggle;
     private final EventList<BibEntry> finalList;
     private final FilterAndSortingState filterAndSortingState = new FilterAndSortingState();
+    // the positions of the entries in entryList, rebuilt when an entry is not found at its position
+    private Map<BibEntry, Integer> entryPositions = new IdentityHashMap<>();
 
     public MainTableDataModel(BibDatabaseContext context) {
         List<BibEntry> entries = context.getDatabase().getEntries();
 
         EventList<BibEntry> initialEventList = new BasicEventList<>();
         initialEventList.addAll(entries);
+        entryList = initialEventList;
 
         listSynchronizer = new ListSynchronizer(initialEventList);
 
@@ -101,6 +109,48 @@ public class MainTableDataModel {
         }
     }
 
+    /**
+     * Applies the current search state to the given entries only, e.g., after more entries were marked as search hits
+     * by a running search. The filter or the sort order of the other entries is not reevaluated.
+     */
+    public void updateSearchHits(Collection<BibEntry> changedEntries) {
+        if ((getSearchState() == DisplayOption.DISABLED) || changedEntries.isEmpty()) {
+            return;
+        }
+
+        entryList.getReadWriteLock().writeLock().lock();
+        try {
+            boolean positionsRebuilt = false;
+            for (BibEntry entry : changedEntries) {
+                Integer position = entryPositions.get(entry);
+                if (!isAtPosition(entry, position) && !positionsRebuilt) {
+                    // the list changed since the positions were determined
+                    rebuildEntryPositions();
+                    positionsRebuilt = true;
+                    position = entryPositions.get(entry);
+                }
+                if (isAtPosition(entry, position)) {
+                    // updating an element lets the sorted and filtered lists reevaluate just this element
+                    entryList.set(position, entry);
+                }
+            }
+        } finally {
+            entryList.getReadWriteLock().writeLock().unlock();
+        }
+    }
+
+    private boolean isAtPosition(BibEntry entry, Integer position) {
+        return (position != null) && (position < entryList.size()) && (entryList.get(position) == entry);
+    }
+
+    private void rebuildEntryPositions() {
+        entryPositions = new IdentityHashMap<>(entryList.size());
+        ListIterator<BibEntry> iterator = entryList.listIterator();
+        while (iterator.hasNext()) {
+            entryPositions.put(iterator.next(), iterator.previousIndex());
+        }
+    }
+
     public void updateGroupingState(DisplayOption groupingState) {
         Objects.requireNonNull(groupingState);
 
@@ -52,6 +52,7 @@ public class GlobalSearchBar extends JPanel {
 
     private final JToggleButton caseSensitive;
     private final JToggleButton regularExp;
+    private final JToggleButton fuzzy;
     private final JButton searchModeButton = new JButton();
     private final JLabel currentResults = new JLabel("");
 
@@ -63,6 +64,7 @@ public class GlobalSearchBar extends JPanel {
 
     private SearchResultFrame searchResultFrame;
 
+    private final SearchPreferences searchPreferences = new SearchPreferences(Globals.prefs);
     private SearchDisplayMode searchDisplayMode;
 
     /**
@@ -74,7 +76,6 @@ public class GlobalSearchBar extends JPanel {
     public GlobalSearchBar(JabRefFrame frame) {
         super();
         this.frame = Objects.requireNonNull(frame);
-        SearchPreferences searchPreferences = new SearchPreferences(Globals.prefs);
         searchDisplayMode = searchPreferences.getSearchMode();
 
         // fits the standard "found x entries"-message thus hinders the searchbar to jump around while searching if the frame width is too small
@@ -112,6 +113,13 @@ public class GlobalSearchBar extends JPanel {
             performSearch();
         });
 
+        fuzzy = new JToggleButton(IconTheme.JabRefIcon.FUZZY_SEARCH.getSmallIcon(), searchPreferences.isFuzzySearch());
+        fuzzy.setToolTipText(Localization.lang("Fuzzy search"));
+        fuzzy.addActionListener(event -> {
+            searchPreferences.setFuzzySearch(fuzzy.isSelected());
+            performSearch();
+        });
+
         caseSensitive = new JToggleButton(IconTheme.JabRefIcon.CASE_SENSITIVE.getSmallIcon(),
                 searchPreferences.isCaseSensitive());
         caseSensitive.setToolTipText(Localization.lang("Case sensitive"));
@@ -170,6 +178,7 @@ public class GlobalSearchBar extends JPanel {
         toolBar.addSeparator();
         toolBar.add(globalSearch);
         toolBar.add(regularExp);
+        toolBar.add(fuzzy);
         toolBar.add(caseSensitive);
         toolBar.add(searchModeButton);
         toolBar.addSeparator();
@@ -239,7 +248,7 @@ public class GlobalSearchBar extends JPanel {
     private void toggleSearchModeAndSearch() {
         int nextSearchMode = (searchDisplayMode.ordinal() + 1) % SearchDisplayMode.values().length;
         searchDisplayMode = SearchDisplayMode.values()[nextSearchMode];
-        new SearchPreferences(Globals.prefs).setSearchMode(searchDisplayMode);
+        searchPreferences.setSearchMode(searchDisplayMode);
         updateSearchModeButtonText();
         performSearch();
     }
@@ -311,7 +320,8 @@ public class GlobalSearchBar extends JPanel {
             return;
         }
 
-        searchWorker = new SearchWorker(currentBasePanel, searchQuery, searchDisplayMode);
+        searchWorker = new SearchWorker(currentBasePanel, searchQuery, searchDisplayMode,
+                searchPreferences.isProgressiveSearch());
         searchWorker.execute();
     }
 
@@ -341,11 +351,13 @@ public class GlobalSearchBar extends JPanel {
     public boolean isStillValidQuery(SearchQuery query) {
         return query.getQuery().equals(this.searchField.getText())
                 && (query.isRegularExpression() == regularExp.isSelected())
+                && (query.isFuzzy() == fuzzy.isSelected())
                 && (query.isCaseSensitive() == caseSensitive.isSelected());
     }
 
     private SearchQuery getSearchQuery() {
-        SearchQuery searchQuery = new SearchQuery(this.searchField.getText(), this.caseSensitive.isSelected(), this.regularExp.isSelected());
+        SearchQuery searchQuery = new SearchQuery(this.searchField.getText(), this.caseSensitive.isSelected(), this.regularExp.isSelected(),
+                this.fuzzy.isSelected());
         this.frame.getCurrentBasePanel().setCurrentSearchQuery(searchQuery);
         return searchQuery;
     }
@@ -371,6 +383,14 @@ public class GlobalSearchBar extends JPanel {
         openCurrentResultsInDialog.setEnabled(true);
     }
 
+    /**
+     * Shows the number of hits found so far by a running search.
+     */
+    public void updateProgress(int partialHits, int percentage) {
+        currentResults.setText(Localization.lang("Searching...") + " "
+                + Localization.lang("Found %0 results.", String.valueOf(partialHits)) + " (" + percentage + "%)");
+    }
+
     public void setSearchResultFrame(SearchResultFrame searchResultFrame) {
         this.searchResultFrame = searchResultFrame;
     }
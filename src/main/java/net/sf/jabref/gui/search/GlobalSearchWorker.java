@@ -1,25 +1,33 @@
 package net.sf.jabref.gui.search;
 
-import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
-import java.util.stream.Collectors;
 
 import javax.swing.SwingWorker;
 
 import net.sf.jabref.gui.BasePanel;
 import net.sf.jabref.gui.JabRefFrame;
 import net.sf.jabref.logic.l10n.Localization;
+import net.sf.jabref.logic.search.GlobalSearcher;
+import net.sf.jabref.logic.search.SearchMonitor;
 import net.sf.jabref.logic.search.SearchQuery;
+import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.entry.BibEntry;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 
-class GlobalSearchWorker extends SwingWorker<Map<BasePanel, List<BibEntry>>, Void> {
+/**
+ * Searches all open databases in parallel. The hits of each database are added to the search result frame as soon as
+ * the database is searched, and the frame is shown with the hits of the first database.
+ */
+class GlobalSearchWorker extends SwingWorker<Integer, Map.Entry<BasePanel, List<BibEntry>>> {
 
     private static final Log LOGGER = LogFactory.getLog(GlobalSearchWorker.class);
 
@@ -27,6 +35,10 @@ class GlobalSearchWorker extends SwingWorker<Map<BasePanel, List<BibEntry>>, Voi
     private final SearchQuery searchQuery;
     private final SearchResultFrame dialog;
 
+    // only accessed by the event dispatch thread
+    private boolean dialogShown;
+    private boolean entrySelected;
+
     public GlobalSearchWorker(JabRefFrame frame, SearchQuery query) {
         this.frame = Objects.requireNonNull(frame);
         this.searchQuery = Objects.requireNonNull(query);
@@ -39,14 +51,45 @@ class GlobalSearchWorker extends SwingWorker<Map<BasePanel, List<BibEntry>>, Voi
     }
 
     @Override
-    protected Map<BasePanel, List<BibEntry>> doInBackground() throws Exception {
-        Map<BasePanel, List<BibEntry>> matches = new HashMap<>();
+    protected Integer doInBackground() throws Exception {
+        List<BibDatabase> databases = new ArrayList<>();
+        Map<BibDatabase, BasePanel> basePanels = new IdentityHashMap<>();
         for (BasePanel basePanel : frame.getBasePanelList()) {
-            matches.put(basePanel, basePanel.getDatabase().getEntries().stream()
-                    .filter(searchQuery::isMatch)
-                    .collect(Collectors.toList()));
+            databases.add(basePanel.getDatabase());
+            basePanels.put(basePanel.getDatabase(), basePanel);
+        }
+
+        SearchMonitor monitor = new SearchMonitor() {
+
+            @Override
+            public boolean isCancelled() {
+                return GlobalSearchWorker.this.isCancelled();
+            }
+
+            @Override
+            public void searchProgressed(int searchedEntries, int totalEntries, int hits) {
+                setProgress((int) ((100L * searchedEntries) / Math.max(totalEntries, 1)));
+            }
+        };
+        Map<BibDatabase, List<BibEntry>> matches = GlobalSearcher.getMatches(searchQuery, databases, monitor,
+                (database, hits) -> publish(new AbstractMap.SimpleImmutableEntry<>(basePanels.get(database), hits)));
+        return matches.values().stream().mapToInt(List::size).sum();
+    }
+
+    @Override
+    protected void process(List<Map.Entry<BasePanel, List<BibEntry>>> searchedDatabases) {
+        if (isCancelled()) {
+            return;
+        }
+
+        for (Map.Entry<BasePanel, List<BibEntry>> searchedDatabase : searchedDatabases) {
+            dialog.addEntries(searchedDatabase.getValue(), searchedDatabase.getKey());
+            if (!entrySelected && !searchedDatabase.getValue().isEmpty()) {
+                dialog.selectFirstEntry();
+                entrySelected = true;
+            }
         }
-        return matches;
+        showDialog();
     }
 
     @Override
@@ -56,14 +99,21 @@ class GlobalSearchWorker extends SwingWorker<Map<BasePanel, List<BibEntry>>, Voi
         }
 
         try {
-            for (Map.Entry<BasePanel, List<BibEntry>> match : get().entrySet()) {
-                dialog.addEntries(match.getValue(), match.getKey());
+            if (get() == 0) {
+                // hides the preview
+                dialog.selectFirstEntry();
             }
-            dialog.selectFirstEntry();
-            dialog.setVisible(true);
+            showDialog();
         } catch (InterruptedException | ExecutionException e) {
             LOGGER.error("something went wrong during the search", e);
         }
     }
 
+    private void showDialog() {
+        if (!dialogShown) {
+            dialog.setVisible(true);
+            dialogShown = true;
+        }
+    }
+
 }
@@ -384,18 +384,15 @@ public class SearchResultFrame {
      */
     public void addEntries(List<BibEntry> newEntries, BasePanel panel) {
         for (BibEntry entry : newEntries) {
-            addEntry(entry, panel);
+            entryHome.put(entry, panel);
+        }
+        // one change of the list, so the table is sorted and updated once
+        entries.getReadWriteLock().writeLock().lock();
+        try {
+            entries.addAll(newEntries);
+        } finally {
+            entries.getReadWriteLock().writeLock().unlock();
         }
-    }
-
-    /**
-     * Add a single entry to the table.
-     * @param entry The entry to add.
-     * @param panel A reference to the BasePanel where the entry belongs.
-     */
-    private void addEntry(BibEntry entry, BasePanel panel) {
-        entries.add(entry);
-        entryHome.put(entry, panel);
     }
 
     private void selectEntryInBasePanel(BibEntry entry){
@@ -3,13 +3,14 @@ package net.sf.jabref.gui.search;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
-import java.util.stream.Collectors;
 
 import javax.swing.SwingWorker;
 
 import net.sf.jabref.JabRefGUI;
 import net.sf.jabref.gui.BasePanel;
 import net.sf.jabref.gui.maintable.MainTableDataModel;
+import net.sf.jabref.logic.search.IncrementalSearcher;
+import net.sf.jabref.logic.search.SearchMonitor;
 import net.sf.jabref.logic.search.SearchQuery;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.entry.BibEntry;
@@ -20,8 +21,11 @@ import org.apache.commons.logging.LogFactory;
 
 /**
  * Not reusable. Always create a new instance for each search!
+ * <p>
+ * In progressive mode, the hits are shown in the main table in batches while the search is running, so the first
+ * results appear long before a search of a large database is finished.
  */
-class SearchWorker extends SwingWorker<List<BibEntry>, Void> {
+class SearchWorker extends SwingWorker<List<BibEntry>, BibEntry> {
 
     private static final Log LOGGER = LogFactory.getLog(SearchWorker.class);
 
@@ -30,20 +34,96 @@ class SearchWorker extends SwingWorker<List<BibEntry>, Void> {
 
     private final SearchQuery searchQuery;
     private final SearchDisplayMode searchDisplayMode;
+    private final boolean progressive;
 
-    public SearchWorker(BasePanel basePanel, SearchQuery searchQuery, SearchDisplayMode searchDisplayMode) {
+    // whether the hits published so far are shown in the main table, only accessed by the event dispatch thread
+    private boolean showsPublishedHits;
+
+    // number of hits found so far, shown together with the progress
+    private volatile int partialHits;
+
+    public SearchWorker(BasePanel basePanel, SearchQuery searchQuery, SearchDisplayMode searchDisplayMode,
+            boolean progressive) {
         this.basePanel = Objects.requireNonNull(basePanel);
         this.database = Objects.requireNonNull(basePanel.getDatabase());
         this.searchQuery = Objects.requireNonNull(searchQuery);
         this.searchDisplayMode = Objects.requireNonNull(searchDisplayMode);
+        this.progressive = progressive;
         LOGGER.debug("Search (" + this.searchDisplayMode.getDisplayName() + "): " + this.searchQuery);
+
+        addPropertyChangeListener(event -> {
+            if ("progress".equals(event.getPropertyName())) {
+                updateUIWithProgress();
+            }
+        });
     }
 
     @Override
     protected List<BibEntry> doInBackground() throws Exception {
-        return database.getEntries().stream()
-                .filter(searchQuery::isMatch)
-                .collect(Collectors.toList());
+        IncrementalSearcher searcher = IncrementalSearcher.forDatabase(database);
+        List<BibEntry> matches = searcher.getMatches(searchQuery, database, new SearchMonitor() {
+
+            @Override
+            public boolean isCancelled() {
+                return SearchWorker.this.isCancelled();
+            }
+
+            @Override
+            public void hitsFound(List<BibEntry> hits) {
+                if (progressive) {
+                    publish(hits.toArray(new BibEntry[hits.size()]));
+                }
+            }
+
+            @Override
+            public void searchProgressed(int searchedEntries, int totalEntries, int hits) {
+                partialHits = hits;
+                setProgress((int) ((100L * searchedEntries) / totalEntries));
+            }
+        });
+        return matches;
+    }
+
+    @Override
+    protected void process(List<BibEntry> hits) {
+        // the complete result is shown anyway when the search is done
+        if (isCancelled() || isDone()) {
+            return;
+        }
+
+        GlobalSearchBar globalSearchBar = JabRefGUI.getMainFrame().getGlobalSearchBar();
+        if (!globalSearchBar.isStillValidQuery(searchQuery)) {
+            return;
+        }
+
+        if (showsPublishedHits) {
+            for (BibEntry entry : hits) {
+                entry.setSearchHit(true);
+            }
+            basePanel.getMainTable().getTableModel().updateSearchHits(hits);
+        } else {
+            // first hits of this search: replace the hits of the previous search
+            for (BibEntry entry : basePanel.getDatabase().getEntries()) {
+                entry.setSearchHit(false);
+            }
+            for (BibEntry entry : hits) {
+                entry.setSearchHit(true);
+            }
+            showSearchHits();
+            showsPublishedHits = true;
+        }
+    }
+
+    private void updateUIWithProgress() {
+        // progress events are delivered with a delay, so they may arrive after the result
+        if (isDone()) {
+            return;
+        }
+
+        GlobalSearchBar globalSearchBar = JabRefGUI.getMainFrame().getGlobalSearchBar();
+        if (globalSearchBar.isStillValidQuery(searchQuery)) {
+            globalSearchBar.updateProgress(partialHits, getProgress());
+        }
     }
 
     @Override
@@ -77,19 +157,7 @@ class SearchWorker extends SwingWorker<List<BibEntry>, Void> {
             entry.setSearchHit(true);
         }
 
-        basePanel.getMainTable().getTableModel().updateSearchState(MainTableDataModel.DisplayOption.DISABLED);
-        // Show the result in the chosen way:
-        switch (searchDisplayMode) {
-            case FLOAT:
-                basePanel.getMainTable().getTableModel().updateSearchState(MainTableDataModel.DisplayOption.FLOAT);
-                break;
-            case FILTER:
-                basePanel.getMainTable().getTableModel().updateSearchState(MainTableDataModel.DisplayOption.FILTER);
-                break;
-            default:
-                LOGGER.error("Following searchDisplayMode was not defined: " + searchDisplayMode);
-                break;
-        }
+        showSearchHits();
 
         // only selects the first match if the selected entries are no hits or no entry is selected
         List<BibEntry> selectedEntries = basePanel.getSelectedEntries();
@@ -108,4 +176,20 @@ class SearchWorker extends SwingWorker<List<BibEntry>, Void> {
         globalSearchBar.getSearchQueryHighlightObservable().fireSearchlistenerEvent(searchQuery);
     }
 
+    private void showSearchHits() {
+        basePanel.getMainTable().getTableModel().updateSearchState(MainTableDataModel.DisplayOption.DISABLED);
+        // Show the result in the chosen way:
+        switch (searchDisplayMode) {
+            case FLOAT:
+                basePanel.getMainTable().getTableModel().updateSearchState(MainTableDataModel.DisplayOption.FLOAT);
+                break;
+            case FILTER:
+                basePanel.getMainTable().getTableModel().updateSearchState(MainTableDataModel.DisplayOption.FILTER);
+                break;
+            default:
+                LOGGER.error("Following searchDisplayMode was not defined: " + searchDisplayMode);
+                break;
+        }
+    }
+
 }
@@ -27,6 +27,7 @@ import javax.swing.JPanel;
 import javax.swing.JPasswordField;
 import javax.swing.JTextField;
 import javax.swing.KeyStroke;
+import javax.swing.SwingUtilities;
 
 import net.sf.jabref.Globals;
 import net.sf.jabref.JabRefException;
@@ -103,6 +104,8 @@ public class OpenSharedDatabaseDialog extends JDialog {
 
         try {
             bibDatabaseContext.getDBSynchronizer().openSharedDatabase(connectionProperties);
+            // shared changes are applied and reported in the event dispatch thread
+            bibDatabaseContext.getDBSynchronizer().setLocalExecutor(SwingUtilities::invokeLater);
             frame.addTab(bibDatabaseContext, true);
             setPreferences();
             bibDatabaseContext.getDBSynchronizer()
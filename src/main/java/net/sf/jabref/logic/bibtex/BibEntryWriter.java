@@ -45,8 +45,11 @@ public class BibEntryWriter {
     public void write(BibEntry entry, Writer out, BibDatabaseMode bibDatabaseMode, Boolean reformat) throws IOException {
         // if the entry has not been modified, write it as it was
         if (!reformat && !entry.hasChanged()) {
-            out.write(entry.getParsedSerialization());
-            return;
+            String parsedSerialization = entry.getParsedSerialization();
+            if (parsedSerialization != null) {
+                out.write(parsedSerialization);
+                return;
+            }
         }
 
         writeUserComments(entry, out);
@@ -66,8 +69,11 @@ public class BibEntryWriter {
     public void writeWithoutPrependedNewlines(BibEntry entry, Writer out, BibDatabaseMode bibDatabaseMode) throws IOException {
         // if the entry has not been modified, write it as it was
         if (!entry.hasChanged()) {
-            out.write(entry.getParsedSerialization().trim());
-            return;
+            String parsedSerialization = entry.getParsedSerialization();
+            if (parsedSerialization != null) {
+                out.write(parsedSerialization.trim());
+                return;
+            }
         }
 
         writeRequiredFieldsFirstRemainingFieldsSecond(entry, out, bibDatabaseMode);
@@ -148,6 +148,17 @@ public class BibtexDatabaseWriter<E extends SaveSession> extends BibDatabaseWrit
         BibEntryWriter bibtexEntryWriter = new BibEntryWriter(
                 new LatexFieldFormatter(latexFieldFormatterPreferences), true);
         try {
+            if (!isReformatFile && !entry.hasChanged() && entry.hasLazyParsedSerialization()) {
+                String parsedSerialization = entry.getParsedSerialization();
+                if (parsedSerialization != null) {
+                    // remember where the text ends up, so that it can be read from the saved file afterwards
+                    VerifyingWriter writer = getActiveSession().getWriter();
+                    int start = writer.getCharactersWritten();
+                    writer.write(parsedSerialization);
+                    getActiveSession().addWrittenSerialization(entry, start, parsedSerialization);
+                    return;
+                }
+            }
             bibtexEntryWriter.write(entry, getWriter(), mode, isReformatFile);
         } catch (IOException e) {
             throw new SaveException(e, entry);
@@ -1,5 +1,6 @@
 package net.sf.jabref.logic.exporter;
 
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -7,13 +8,21 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
+import net.sf.jabref.logic.importer.fileformat.BibtexSourceFile;
 import net.sf.jabref.model.FieldChange;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 public abstract class SaveSession {
 
+    private static final Log LOGGER = LogFactory.getLog(SaveSession.class);
+
     protected final Charset encoding;
     protected final VerifyingWriter writer;
     private final List<FieldChange> undoableFieldChanges = new ArrayList<>();
+    private final List<WrittenSerialization> writtenSerializations = new ArrayList<>();
     protected boolean backup;
 
     protected SaveSession(Charset encoding, boolean backup, VerifyingWriter writer) {
@@ -49,4 +58,46 @@ public abstract class SaveSession {
     public void addFieldChanges(List<FieldChange> newUndoableFieldChanges) {
         this.undoableFieldChanges.addAll(newUndoableFieldChanges);
     }
+
+    /**
+     * Records that the parsed serialization of the given entry was written unchanged, starting at the given position.
+     */
+    public void addWrittenSerialization(BibEntry entry, int start, String parsedSerialization) {
+        writtenSerializations.add(new WrittenSerialization(entry, start, parsedSerialization));
+    }
+
+    /**
+     * Lets the entries whose parsed serialization was written in this session read it from the given file from now on.
+     * Has to be called after the session was committed to the file the entries were parsed from, as the ranges
+     * recorded while parsing no longer match its content. If the file cannot be read, the entries keep their text in
+     * memory instead.
+     */
+    public void updateParsedSerializations(Path file) {
+        try {
+            BibtexSourceFile sourceFile = new BibtexSourceFile(file, encoding);
+            for (WrittenSerialization written : writtenSerializations) {
+                written.entry.setParsedSerialization(sourceFile.getParsedSerialization(written.start,
+                        written.start + written.text.length(), written.text.hashCode()));
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not read " + file + " after saving", e);
+            writtenSerializations.forEach(written -> written.entry.setParsedSerialization(written.text));
+        }
+        writtenSerializations.clear();
+    }
+
+
+    private static class WrittenSerialization {
+
+        private final BibEntry entry;
+        private final int start;
+        private final String text;
+
+
+        WrittenSerialization(BibEntry entry, int start, String text) {
+            this.entry = entry;
+            this.start = start;
+            this.text = text;
+        }
+    }
 }
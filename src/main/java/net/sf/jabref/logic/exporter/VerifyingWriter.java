@@ -18,6 +18,7 @@ public class VerifyingWriter extends OutputStreamWriter {
     private final CharsetEncoder encoder;
     private boolean couldEncodeAll = true;
     private final Set<Character> problemCharacters = new TreeSet<>();
+    private int charactersWritten;
 
 
     public VerifyingWriter(OutputStream out, Charset encoding) {
@@ -38,6 +39,31 @@ public class VerifyingWriter extends OutputStreamWriter {
         }
     }
 
+    @Override
+    public void write(int c) throws IOException {
+        super.write(c);
+        charactersWritten++;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        super.write(cbuf, off, len);
+        charactersWritten += len;
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        super.write(str, off, len);
+        charactersWritten += len;
+    }
+
+    /**
+     * Returns the number of characters written so far, i.e., the position of the next character in the written text.
+     */
+    public int getCharactersWritten() {
+        return charactersWritten;
+    }
+
     public boolean couldEncodeAll() {
         return couldEncodeAll;
     }
@@ -24,11 +24,13 @@ public class ImportFormatPreferences {
 
     private final boolean keywordSyncEnabled;
 
+    private final boolean lazyParsedSerialization;
+
 
     public ImportFormatPreferences(Set<CustomImporter> customImportList, Charset encoding,
             String keywordSeparator, BibtexKeyPatternPreferences bibtexKeyPatternPreferences,
             FieldContentParserPreferences fieldContentParserPreferences, boolean convertUnitsOnSearch,
-            boolean useCaseKeeperOnSearch, boolean keywordSyncEnabled) {
+            boolean useCaseKeeperOnSearch, boolean keywordSyncEnabled, boolean lazyParsedSerialization) {
         this.customImportList = customImportList;
         this.encoding = encoding;
         this.keywordSeparator = keywordSeparator;
@@ -37,6 +39,7 @@ public class ImportFormatPreferences {
         this.convertUnitsOnSearch = convertUnitsOnSearch;
         this.useCaseKeeperOnSearch = useCaseKeeperOnSearch;
         this.keywordSyncEnabled = keywordSyncEnabled;
+        this.lazyParsedSerialization = lazyParsedSerialization;
     }
 
     public Set<CustomImporter> getCustomImportList() {
@@ -69,10 +72,18 @@ public class ImportFormatPreferences {
 
     public ImportFormatPreferences withEncoding(Charset newEncoding) {
         return new ImportFormatPreferences(customImportList, newEncoding, keywordSeparator, bibtexKeyPatternPreferences,
-                fieldContentParserPreferences, convertUnitsOnSearch, useCaseKeeperOnSearch, keywordSyncEnabled);
+                fieldContentParserPreferences, convertUnitsOnSearch, useCaseKeeperOnSearch, keywordSyncEnabled,
+                lazyParsedSerialization);
     }
 
     public boolean isKeywordSyncEnabled() {
         return keywordSyncEnabled;
     }
+
+    /**
+     * @return true if opened BibTeX files should not be kept in memory, but read again when saving unchanged entries
+     */
+    public boolean isLazyParsedSerialization() {
+        return lazyParsedSerialization;
+    }
 }
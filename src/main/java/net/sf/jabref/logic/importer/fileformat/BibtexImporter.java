@@ -57,16 +57,27 @@ public class BibtexImporter extends ImportFormat {
             }
         }
 
-        if(suppliedEncoding.isPresent()) {
-            return super.importDatabase(filePath, suppliedEncoding.get());
+        Charset encoding = suppliedEncoding.orElse(defaultEncoding);
+        ParallelBibtexParser parser;
+        if (importFormatPreferences.isLazyParsedSerialization()) {
+            // the entries read their parsed serialization from the file when the database is saved
+            parser = new ParallelBibtexParser(importFormatPreferences, new BibtexSourceFile(filePath, encoding));
         } else {
-            return super.importDatabase(filePath, defaultEncoding);
+            parser = new ParallelBibtexParser(importFormatPreferences);
+        }
+
+        // the parser deduplicates the field values itself, so the generic import is not used
+        try (BufferedReader bufferedReader = getReader(filePath, encoding)) {
+            ParserResult parserResult = parser.parse(bufferedReader);
+            parserResult.getMetaData().setEncoding(encoding);
+            parserResult.setFile(filePath.toFile());
+            return parserResult;
         }
     }
 
     @Override
     public ParserResult importDatabase(BufferedReader reader) throws IOException {
-        return BibtexParser.parse(reader, importFormatPreferences);
+        return new ParallelBibtexParser(importFormatPreferences).parse(reader);
     }
 
     @Override
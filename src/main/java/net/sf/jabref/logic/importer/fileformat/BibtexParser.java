@@ -10,13 +10,13 @@ import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 import net.sf.jabref.logic.bibtex.FieldContentParser;
 import net.sf.jabref.logic.exporter.SavePreferences;
@@ -38,6 +38,7 @@ import net.sf.jabref.model.entry.FieldProperty;
 import net.sf.jabref.model.entry.IdGenerator;
 import net.sf.jabref.model.entry.InternalBibtexFields;
 import net.sf.jabref.model.metadata.MetaData;
+import net.sf.jabref.model.util.StringPool;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -55,6 +56,9 @@ import org.apache.commons.logging.LogFactory;
  * <p>
  * ParserResult result = BibtexParser.parse(reader);
  * <p>
+ * Large files can be parsed in streaming mode using {@link #parse(Reader, BibtexParserListener)}. Then, the entries
+ * are handed out one by one instead of being collected in the database of the result.
+ * <p>
  * Can be used stand-alone.
  */
 public class BibtexParser implements Parser {
@@ -66,15 +70,43 @@ public class BibtexParser implements Parser {
     private Map<String, EntryType> entryTypes;
     private boolean eof;
     private int line = 1;
+    // number of characters consumed from the reader, offset by the start of the parsed part of the file
+    private int position;
     private final FieldContentParser fieldContentParser;
     private ParserResult parserResult;
     private static final Integer LOOKAHEAD = 64;
-    private final Deque<Character> pureTextFromFile = new LinkedList<>();
+    // the text read since the last call of dumpTextReadSoFarToString, kept as plain characters to avoid boxing
+    private final StringBuilder pureTextFromFile = new StringBuilder();
     private final ImportFormatPreferences importFormatPreferences;
+    // if present, the entries read their parsed serialization from this file on demand
+    private final Optional<BibtexSourceFile> sourceFile;
+    // deduplicates entry types and short field values
+    private final StringPool stringPool;
+    // only set in streaming mode
+    private BibtexParserListener listener;
+    private final Set<String> parsedKeys = new HashSet<>();
 
 
     public BibtexParser(ImportFormatPreferences importFormatPreferences) {
+        this(importFormatPreferences, Optional.empty(), new StringPool());
+    }
+
+    /**
+     * Creates a parser for the content of the given file. The parsed entries do not keep a copy of their original
+     * text, but read it from the file when it is needed.
+     */
+    public BibtexParser(ImportFormatPreferences importFormatPreferences, BibtexSourceFile sourceFile) {
+        this(importFormatPreferences, Optional.of(sourceFile), new StringPool());
+    }
+
+    /**
+     * Creates a parser which uses the given pool, e.g., to share it with the other parsers of a parallel parse
+     */
+    BibtexParser(ImportFormatPreferences importFormatPreferences, Optional<BibtexSourceFile> sourceFile,
+            StringPool stringPool) {
         this.importFormatPreferences = Objects.requireNonNull(importFormatPreferences);
+        this.sourceFile = Objects.requireNonNull(sourceFile);
+        this.stringPool = Objects.requireNonNull(stringPool);
         fieldContentParser = new FieldContentParser(importFormatPreferences.getFieldContentParserPreferences());
     }
 
@@ -155,6 +187,43 @@ public class BibtexParser implements Parser {
      * @throws IOException
      */
     public ParserResult parse(Reader in) throws IOException {
+        listener = null;
+        position = 0;
+        return parseReader(in);
+    }
+
+    /**
+     * Parses the BibTeX-Data found when reading from reader in streaming mode: Each entry, string, preamble and meta
+     * data comment is passed to the given listener directly after it has been parsed.
+     * <p>
+     * The entries are not stored in the database of the returned result. Strings and the preamble are stored there
+     * nevertheless, as they are needed to resolve field contents. The result also contains the meta data, the custom
+     * entry types and all warnings.
+     * <p>
+     * The reader will be consumed.
+     *
+     * @param in       the Reader to read from
+     * @param listener receives the parsed items
+     * @return ParserResult without any entries
+     * @throws IOException
+     */
+    public ParserResult parse(Reader in, BibtexParserListener listener) throws IOException {
+        return parse(in, listener, 1, 0);
+    }
+
+    /**
+     * Streaming parse of a part of a file, which starts at the given line and character position. Used by
+     * {@link ParallelBibtexParser} to report the correct line numbers in warnings and to record the correct ranges
+     * of the entries in the source file.
+     */
+    ParserResult parse(Reader in, BibtexParserListener listener, int firstLine, int firstPosition) throws IOException {
+        this.listener = Objects.requireNonNull(listener);
+        line = firstLine;
+        position = firstPosition;
+        return parseReader(in);
+    }
+
+    private ParserResult parseReader(Reader in) throws IOException {
         Objects.requireNonNull(in);
         pushbackReader = new PushbackReader(in, BibtexParser.LOOKAHEAD);
 
@@ -172,6 +241,7 @@ public class BibtexParser implements Parser {
 
     private void initializeParserResult() {
         database = new BibDatabase();
+        parsedKeys.clear();
         entryTypes = new HashMap<>(); // To store custom entry types parsed.
         parserResult = new ParserResult(database, null, entryTypes);
     }
@@ -188,10 +258,14 @@ public class BibtexParser implements Parser {
             skipWhitespace();
 
             // Try to read the entry type
-            String entryType = parseTextToken().toLowerCase().trim();
+            String entryType = stringPool.intern(parseTextToken().toLowerCase().trim());
 
             if ("preamble".equals(entryType)) {
-                database.setPreamble(parsePreamble());
+                String preamble = parsePreamble();
+                database.setPreamble(preamble);
+                if (listener != null) {
+                    listener.preambleParsed(preamble);
+                }
                 // Consume new line which signals end of preamble
                 skipOneNewline();
                 // the preamble is saved verbatim anyways, so the text read so far can be dropped
@@ -217,6 +291,7 @@ public class BibtexParser implements Parser {
 
         parseRemainingContent();
 
+        LOGGER.debug("Parsed BibTeX content using " + stringPool);
         return parserResult;
     }
 
@@ -241,9 +316,24 @@ public class BibtexParser implements Parser {
             entry.setCommentsBeforeEntry(
                     commentsAndEntryTypeDefinition.substring(0, commentsAndEntryTypeDefinition.lastIndexOf('@')));
             // store complete parsed serialization (comments, type definition + type contents)
-            entry.setParsedSerialization(commentsAndEntryTypeDefinition + dumpTextReadSoFarToString());
+            String parsedSerialization = commentsAndEntryTypeDefinition + dumpTextReadSoFarToString();
+            if (sourceFile.isPresent()) {
+                // the serialization is the text directly before the current position
+                entry.setParsedSerialization(sourceFile.get().getParsedSerialization(
+                        position - parsedSerialization.length(), position, parsedSerialization.hashCode()));
+            } else {
+                entry.setParsedSerialization(parsedSerialization);
+            }
 
-            boolean duplicateKey = database.insertEntryWithDuplicationCheck(entry);
+            boolean duplicateKey;
+            if (listener == null) {
+                duplicateKey = database.insertEntryWithDuplicationCheck(entry);
+            } else {
+                // only the keys are remembered in streaming mode
+                duplicateKey = entry.getCiteKeyOptional().filter(key -> !key.isEmpty())
+                        .map(key -> !parsedKeys.add(key)).orElse(false);
+                listener.entryParsed(entry);
+            }
             if (duplicateKey) {
                 parserResult.addDuplicateKey(entry.getCiteKey());
             } else if (!entry.getCiteKeyOptional().isPresent() || entry.getCiteKeyOptional().get().isEmpty()) {
@@ -285,6 +375,9 @@ public class BibtexParser implements Parser {
                     // to prevent too long lines when the file was
                     // saved, and are not part of the data.
                     meta.put(rest.substring(0, pos), rest.substring(pos + 1));
+                    if (listener != null) {
+                        listener.metaDataParsed(rest.substring(0, pos), rest.substring(pos + 1));
+                    }
 
                     // meta comments are always re-written by JabRef and not stored in the file
                     dumpTextReadSoFarToString();
@@ -312,6 +405,9 @@ public class BibtexParser implements Parser {
         bibtexString.setParsedSerialization(dumpTextReadSoFarToString());
         try {
             database.addString(bibtexString);
+            if (listener != null) {
+                listener.stringParsed(bibtexString);
+            }
         } catch (KeyCollisionException ex) {
             parserResult.addWarning(Localization.lang("Duplicate string name") + ": " + bibtexString.getName());
         }
@@ -351,12 +447,9 @@ public class BibtexParser implements Parser {
     }
 
     private String getPureTextFromFile() {
-        StringBuilder entry = new StringBuilder();
-        while (!pureTextFromFile.isEmpty()) {
-            entry.append(pureTextFromFile.pollFirst());
-        }
-
-        return entry.toString();
+        String text = pureTextFromFile.toString();
+        pureTextFromFile.setLength(0);
+        return text;
     }
 
     /**
@@ -366,8 +459,9 @@ public class BibtexParser implements Parser {
      */
     private String purgeEOFCharacters(String input) {
 
-        StringBuilder remainingText = new StringBuilder();
-        for (Character character : input.toCharArray()) {
+        StringBuilder remainingText = new StringBuilder(input.length());
+        for (int i = 0; i < input.length(); i++) {
+            char character = input.charAt(i);
             if (!(isEOFCharacter(character))) {
                 remainingText.append(character);
             }
@@ -462,7 +556,8 @@ public class BibtexParser implements Parser {
         int character = pushbackReader.read();
 
         if (!isEOFCharacter(character)) {
-            pureTextFromFile.offerLast((char) character);
+            pureTextFromFile.append((char) character);
+            position++;
         }
         if (character == '\n') {
             line++;
@@ -475,8 +570,12 @@ public class BibtexParser implements Parser {
             line--;
         }
         pushbackReader.unread(character);
-        if (pureTextFromFile.getLast() == character) {
-            pureTextFromFile.pollLast();
+        if (!isEOFCharacter(character)) {
+            position--;
+        }
+        int lastIndex = pureTextFromFile.length() - 1;
+        if ((lastIndex >= 0) && (pureTextFromFile.charAt(lastIndex) == character)) {
+            pureTextFromFile.setLength(lastIndex);
         }
     }
 
@@ -571,7 +670,7 @@ public class BibtexParser implements Parser {
                     entry.addKeyword(content, importFormatPreferences.getKeywordSeparator());
                 }
             } else {
-                entry.setField(key, content);
+                entry.setField(key, stringPool.intern(content));
             }
         }
     }
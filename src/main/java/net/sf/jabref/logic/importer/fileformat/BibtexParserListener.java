@@ -0,0 +1,42 @@
+package net.sf.jabref.logic.importer.fileformat;
+
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.BibtexString;
+
+/**
+ * Receives the items of a BibTeX file as soon as they are parsed.
+ * <p>
+ * Used together with {@link BibtexParser#parse(java.io.Reader, BibtexParserListener)}. In this streaming mode, the
+ * parser does not keep the parsed entries, so the memory needed is bounded by the size of a single entry and not by
+ * the size of the whole file.
+ * <p>
+ * The methods are called on the parsing thread in the order the items appear in the file.
+ */
+public interface BibtexParserListener {
+
+    /**
+     * Called for each entry, after its fields, comments and parsed serialization have been set.
+     */
+    void entryParsed(BibEntry entry);
+
+    /**
+     * Called for each {@code @String} definition.
+     */
+    default void stringParsed(BibtexString bibtexString) {
+        // ignored by default
+    }
+
+    /**
+     * Called for each {@code @Preamble}.
+     */
+    default void preambleParsed(String preamble) {
+        // ignored by default
+    }
+
+    /**
+     * Called for each JabRef meta data comment ({@code @Comment{jabref-meta: key:value}}).
+     */
+    default void metaDataParsed(String key, String value) {
+        // ignored by default
+    }
+}
@@ -0,0 +1,117 @@
+package net.sf.jabref.logic.importer.fileformat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * A BibTeX file from which the parsed serializations of the entries are read on demand.
+ * <p>
+ * Instead of keeping a copy of its original text, an entry only keeps the character range of the text in the file
+ * (see {@link #getParsedSerialization(int, int, int)}). When the text is needed (i.e., when saving an unchanged
+ * entry), the file is decoded once and kept in memory as long as there is no memory pressure. Thus, all entries
+ * written during one save share the same content.
+ * <p>
+ * If the file was changed on disk after it was parsed and the content is no longer cached, or if the text at the
+ * given range does not match the hash recorded while parsing, the text is not available and the entry has to be
+ * serialized again.
+ */
+public class BibtexSourceFile {
+
+    private static final Log LOGGER = LogFactory.getLog(BibtexSourceFile.class);
+
+    private final Path path;
+    private final Charset encoding;
+
+    // fingerprint of the parsed file
+    private final long size;
+    private final FileTime lastModified;
+
+    private SoftReference<String> content = new SoftReference<>(null);
+
+
+    /**
+     * Records the fingerprint of the given file. Has to be called before the file is parsed.
+     */
+    public BibtexSourceFile(Path path, Charset encoding) throws IOException {
+        this.path = Objects.requireNonNull(path);
+        this.encoding = Objects.requireNonNull(encoding);
+
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        this.size = attributes.size();
+        this.lastModified = attributes.lastModifiedTime();
+    }
+
+    /**
+     * Returns a supplier for the text at the given range of the file.
+     *
+     * @param start index of the first character of the text in the decoded file
+     * @param end   index after the last character of the text
+     * @param hash  {@link String#hashCode()} of the text
+     */
+    public Supplier<Optional<String>> getParsedSerialization(int start, int end, int hash) {
+        return () -> getText(start, end, hash);
+    }
+
+    private synchronized Optional<String> getText(int start, int end, int hash) {
+        Optional<String> fileContent = getContent();
+        if (!fileContent.isPresent() || (start < 0) || (end > fileContent.get().length())) {
+            return Optional.empty();
+        }
+
+        String text = fileContent.get().substring(start, end);
+        if (text.hashCode() != hash) {
+            LOGGER.debug("Parsed serialization in " + path + " at " + start + " does not match");
+            return Optional.empty();
+        }
+        return Optional.of(text);
+    }
+
+    /**
+     * Drops the cached content, as if it was reclaimed because of memory pressure.
+     */
+    synchronized void clearCache() {
+        content = new SoftReference<>(null);
+    }
+
+    private Optional<String> getContent() {
+        String cachedContent = content.get();
+        if (cachedContent != null) {
+            return Optional.of(cachedContent);
+        }
+
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if ((attributes.size() != size) || !attributes.lastModifiedTime().equals(lastModified)) {
+                LOGGER.debug(path + " changed since it was parsed");
+                return Optional.empty();
+            }
+
+            StringBuilder text = new StringBuilder();
+            try (BufferedReader reader = ImportFormat.getReader(path, encoding)) {
+                char[] buffer = new char[64 * 1024];
+                int read;
+                while ((read = reader.read(buffer)) != -1) {
+                    text.append(buffer, 0, read);
+                }
+            }
+            String newContent = text.toString();
+            content = new SoftReference<>(newContent);
+            return Optional.of(newContent);
+        } catch (IOException e) {
+            LOGGER.warn("Could not read " + path, e);
+            return Optional.empty();
+        }
+    }
+}
@@ -12,12 +12,20 @@ import java.util.Objects;
 
 import net.sf.jabref.logic.importer.ParserResult;
 import net.sf.jabref.logic.util.FileExtensions;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.util.StringPool;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 /**
  * Role of an importer for JabRef.
  */
 public abstract class ImportFormat implements Comparable<ImportFormat> {
 
+    private static final Log LOGGER = LogFactory.getLog(ImportFormat.class);
+
+
     /**
      * Using this when I have no database open or when I read
      * non bibtex file formats (used by the ImportFormatReader.java)
@@ -73,12 +81,25 @@ public abstract class ImportFormat implements Comparable<ImportFormat> {
     public ParserResult importDatabase(Path filePath, Charset encoding) throws IOException {
         try (BufferedReader bufferedReader = getReader(filePath, encoding)) {
             ParserResult parserResult = importDatabase(bufferedReader);
+            internFields(parserResult);
             parserResult.getMetaData().setEncoding(encoding);
             parserResult.setFile(filePath.toFile());
             return parserResult;
         }
     }
 
+    /**
+     * Deduplicates the field values of the imported entries, as values like journal names or publishers are repeated
+     * in many entries.
+     */
+    private void internFields(ParserResult parserResult) {
+        StringPool stringPool = new StringPool();
+        for (BibEntry entry : parserResult.getDatabase().getEntries()) {
+            entry.internFields(stringPool);
+        }
+        LOGGER.debug(getFormatName() + " import used " + stringPool);
+    }
+
     public static BufferedReader getUTF8Reader(Path filePath) throws IOException {
         return getReader(filePath, StandardCharsets.UTF_8);
     }
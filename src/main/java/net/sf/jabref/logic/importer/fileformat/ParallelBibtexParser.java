@@ -0,0 +1,375 @@
+package net.sf.jabref.logic.importer.fileformat;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import net.sf.jabref.logic.importer.ImportFormatPreferences;
+import net.sf.jabref.logic.importer.ParserResult;
+import net.sf.jabref.logic.importer.util.MetaDataParser;
+import net.sf.jabref.logic.l10n.Localization;
+import net.sf.jabref.model.ParseException;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.KeyCollisionException;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.BibtexString;
+import net.sf.jabref.model.entry.EntryType;
+import net.sf.jabref.model.util.StringPool;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Parses large BibTeX files using all available cores.
+ * <p>
+ * The input is split at the end of top-level items (entries, strings and preambles) into chunks. Each chunk is
+ * parsed by its own {@link BibtexParser} in streaming mode on the common fork-join pool. Afterwards, the results are
+ * merged in the order of the file: Entries are inserted into one database (which detects duplicate keys across chunk
+ * borders), strings are added with the usual duplicate warning and the meta data is parsed once for the whole file.
+ * <p>
+ * As each chunk starts directly after the item ending the previous chunk, the parsed serialization of every entry is
+ * the same as with the sequential parser. If the input cannot be split reliably (e.g., entries delimited by round
+ * brackets or unbalanced braces) or is small, the file is parsed sequentially.
+ */
+public class ParallelBibtexParser {
+
+    private static final Log LOGGER = LogFactory.getLog(ParallelBibtexParser.class);
+
+    /**
+     * Inputs smaller than this (number of characters) are parsed sequentially
+     */
+    private static final int DEFAULT_MINIMUM_PARALLEL_SIZE = 1024 * 1024;
+
+    /**
+     * More chunks than threads keep all threads busy even if the entries are of different sizes
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final ImportFormatPreferences importFormatPreferences;
+    private final Optional<BibtexSourceFile> sourceFile;
+    private final int minimumParallelSize;
+
+
+    public ParallelBibtexParser(ImportFormatPreferences importFormatPreferences) {
+        this(importFormatPreferences, Optional.empty(), DEFAULT_MINIMUM_PARALLEL_SIZE);
+    }
+
+    /**
+     * Creates a parser for the content of the given file. The parsed entries read their original text from the file
+     * when it is needed (see {@link BibtexParser#BibtexParser(ImportFormatPreferences, BibtexSourceFile)}).
+     */
+    public ParallelBibtexParser(ImportFormatPreferences importFormatPreferences, BibtexSourceFile sourceFile) {
+        this(importFormatPreferences, Optional.of(sourceFile), DEFAULT_MINIMUM_PARALLEL_SIZE);
+    }
+
+    ParallelBibtexParser(ImportFormatPreferences importFormatPreferences, int minimumParallelSize) {
+        this(importFormatPreferences, Optional.empty(), minimumParallelSize);
+    }
+
+    private ParallelBibtexParser(ImportFormatPreferences importFormatPreferences,
+            Optional<BibtexSourceFile> sourceFile, int minimumParallelSize) {
+        this.importFormatPreferences = Objects.requireNonNull(importFormatPreferences);
+        this.sourceFile = Objects.requireNonNull(sourceFile);
+        this.minimumParallelSize = minimumParallelSize;
+    }
+
+    private BibtexParser createParser(StringPool stringPool) {
+        return new BibtexParser(importFormatPreferences, sourceFile, stringPool);
+    }
+
+    /**
+     * Parses the BibTeX-Data found when reading from reader. The result is the same as the one of
+     * {@link BibtexParser#parse(Reader)}.
+     * <p>
+     * The reader will be consumed.
+     */
+    public ParserResult parse(Reader in) throws IOException {
+        Objects.requireNonNull(in);
+        String content = readAll(in);
+        // one pool for all chunks, so values are shared across chunk borders
+        StringPool stringPool = new StringPool();
+
+        if (content.length() < minimumParallelSize) {
+            return createParser(stringPool).parse(new StringReader(content));
+        }
+
+        Optional<List<Integer>> itemEnds = findItemEnds(content);
+        if (!itemEnds.isPresent()) {
+            LOGGER.debug("Could not split BibTeX content, parsing it sequentially");
+            return createParser(stringPool).parse(new StringReader(content));
+        }
+
+        List<Chunk> chunks = createChunks(content, itemEnds.get());
+        LOGGER.debug("Parsing BibTeX content in " + chunks.size() + " chunks");
+
+        List<ChunkResult> chunkResults;
+        try {
+            chunkResults = chunks.parallelStream().map(chunk -> parseChunk(chunk, stringPool))
+                    .collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return merge(chunkResults);
+    }
+
+    private static String readAll(Reader in) throws IOException {
+        StringBuilder content = new StringBuilder();
+        char[] buffer = new char[64 * 1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            content.append(buffer, 0, read);
+        }
+        return content.toString();
+    }
+
+    /**
+     * Determines the positions at which the sequential parser has completely consumed an item, i.e. the position
+     * after the closing bracket and the one newline that is consumed together with an item.
+     * Items following a comment are not considered, because the text after an @Comment belongs to the next item.
+     *
+     * @return the positions or {@link Optional#empty()} if the content cannot be split reliably
+     */
+    static Optional<List<Integer>> findItemEnds(String content) {
+        List<Integer> itemEnds = new ArrayList<>();
+        int length = content.length();
+        int index = 0;
+        while (true) {
+            int at = content.indexOf('@', index);
+            if (at < 0) {
+                return Optional.of(itemEnds);
+            }
+
+            int position = skipWhitespace(content, at + 1);
+            int typeStart = position;
+            while ((position < length) && isTextTokenCharacter(content.charAt(position))) {
+                position++;
+            }
+            String type = content.substring(typeStart, position).toLowerCase(Locale.ROOT);
+            position = skipWhitespace(content, position);
+            if ((position >= length) || (content.charAt(position) != '{')) {
+                // round brackets or an unbracketed comment
+                return Optional.empty();
+            }
+
+            int closingBracket = findClosingBracket(content, position, type);
+            if (closingBracket < 0) {
+                return Optional.empty();
+            }
+
+            index = closingBracket + 1;
+            if (!"comment".equals(type)) {
+                while ((index < length) && (content.charAt(index) == ' ')) {
+                    index++;
+                }
+                if ((index < length) && (content.charAt(index) == '\r')) {
+                    index++;
+                }
+                if ((index < length) && (content.charAt(index) == '\n')) {
+                    index++;
+                }
+                itemEnds.add(index);
+            }
+        }
+    }
+
+    /**
+     * Finds the bracket closing the item, counting the brackets in the same way as the {@link BibtexParser} does for
+     * the respective item type.
+     *
+     * @return the index of the closing bracket or -1 if there is none
+     */
+    private static int findClosingBracket(String content, int openingBracket, String type) {
+        int length = content.length();
+        if ("preamble".equals(type)) {
+            int brackets = 0;
+            for (int i = openingBracket + 1; i < length; i++) {
+                char character = content.charAt(i);
+                if ((brackets == 0) && ((character == '}') || (character == ')'))) {
+                    return i;
+                } else if ((character == '{') || (character == '(')) {
+                    brackets++;
+                } else if ((character == '}') || (character == ')')) {
+                    brackets--;
+                }
+            }
+            return -1;
+        }
+
+        boolean hasFields = !"comment".equals(type);
+        int brackets = 0;
+        boolean quoted = false;
+        char lastCharacter = '\0';
+        for (int i = openingBracket + 1; i < length; i++) {
+            char character = content.charAt(i);
+            if (quoted) {
+                // quoted field contents: brackets are counted without escaping
+                if ((character == '"') && (brackets == 0)) {
+                    quoted = false;
+                } else if (character == '{') {
+                    brackets++;
+                } else if (character == '}') {
+                    brackets--;
+                }
+            } else if (hasFields && (brackets == 0) && (character == '"')) {
+                quoted = true;
+            } else if ((character == '}') && (lastCharacter != '\\')) {
+                if (brackets == 0) {
+                    return i;
+                }
+                brackets--;
+            } else if ((character == '{') && (lastCharacter != '\\')) {
+                brackets++;
+            }
+            lastCharacter = character;
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(String content, int start) {
+        int position = start;
+        while ((position < content.length()) && Character.isWhitespace(content.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private static boolean isTextTokenCharacter(char character) {
+        return Character.isLetterOrDigit(character) || (":-_*+./'".indexOf(character) >= 0);
+    }
+
+    private static List<Chunk> createChunks(String content, List<Integer> itemEnds) {
+        int numberOfChunks = Runtime.getRuntime().availableProcessors() * CHUNKS_PER_THREAD;
+        int targetSize = Math.max(1, content.length() / numberOfChunks);
+
+        List<Chunk> chunks = new ArrayList<>();
+        int start = 0;
+        int line = 1;
+        for (int itemEnd : itemEnds) {
+            if (((itemEnd - start) >= targetSize) && (itemEnd < content.length())) {
+                chunks.add(new Chunk(content.substring(start, itemEnd), start, line));
+                line += countNewlines(content, start, itemEnd);
+                start = itemEnd;
+            }
+        }
+        chunks.add(new Chunk(content.substring(start), start, line));
+        return chunks;
+    }
+
+    private static int countNewlines(String content, int start, int end) {
+        int newlines = 0;
+        for (int i = start; i < end; i++) {
+            if (content.charAt(i) == '\n') {
+                newlines++;
+            }
+        }
+        return newlines;
+    }
+
+    private ChunkResult parseChunk(Chunk chunk, StringPool stringPool) {
+        ChunkResult chunkResult = new ChunkResult();
+        BibtexParserListener listener = new BibtexParserListener() {
+
+            @Override
+            public void entryParsed(BibEntry entry) {
+                chunkResult.entries.add(entry);
+            }
+
+            @Override
+            public void stringParsed(BibtexString bibtexString) {
+                chunkResult.strings.add(bibtexString);
+            }
+
+            @Override
+            public void preambleParsed(String preamble) {
+                chunkResult.preamble = Optional.of(preamble);
+            }
+
+            @Override
+            public void metaDataParsed(String key, String value) {
+                chunkResult.meta.put(key, value);
+            }
+        };
+
+        try {
+            chunkResult.parserResult = createParser(stringPool).parse(new StringReader(chunk.content), listener,
+                    chunk.firstLine, chunk.start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return chunkResult;
+    }
+
+    private ParserResult merge(List<ChunkResult> chunkResults) {
+        BibDatabase database = new BibDatabase();
+        Map<String, EntryType> entryTypes = new HashMap<>();
+        ParserResult result = new ParserResult(database, null, entryTypes);
+        Map<String, String> meta = new HashMap<>();
+
+        for (ChunkResult chunkResult : chunkResults) {
+            // duplicate keys are determined by the merged database, as they may span several chunks
+            chunkResult.parserResult.warnings().forEach(result::addWarning);
+            entryTypes.putAll(chunkResult.parserResult.getEntryTypes());
+            meta.putAll(chunkResult.meta);
+            chunkResult.preamble.ifPresent(database::setPreamble);
+
+            for (BibtexString bibtexString : chunkResult.strings) {
+                try {
+                    database.addString(bibtexString);
+                } catch (KeyCollisionException ex) {
+                    result.addWarning(Localization.lang("Duplicate string name") + ": " + bibtexString.getName());
+                }
+            }
+
+            for (BibEntry entry : chunkResult.entries) {
+                boolean duplicateKey = database.insertEntryWithDuplicationCheck(entry);
+                if (duplicateKey) {
+                    result.addDuplicateKey(entry.getCiteKey());
+                }
+            }
+        }
+
+        // text after the last entry
+        database.setEpilog(chunkResults.get(chunkResults.size() - 1).parserResult.getDatabase().getEpilog());
+
+        try {
+            result.setMetaData(MetaDataParser.parse(meta, importFormatPreferences.getKeywordSeparator()));
+        } catch (ParseException exception) {
+            result.addWarning(exception.getLocalizedMessage());
+        }
+
+        return result;
+    }
+
+
+    private static class Chunk {
+
+        private final String content;
+        private final int start;
+        private final int firstLine;
+
+
+        public Chunk(String content, int start, int firstLine) {
+            this.content = content;
+            this.start = start;
+            this.firstLine = firstLine;
+        }
+    }
+
+    private static class ChunkResult {
+
+        private final List<BibEntry> entries = new ArrayList<>();
+        private final List<BibtexString> strings = new ArrayList<>();
+        private final Map<String, String> meta = new HashMap<>();
+        private Optional<String> preamble = Optional.empty();
+        private ParserResult parserResult;
+    }
+}
@@ -0,0 +1,99 @@
+package net.sf.jabref.logic.search;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.BiConsumer;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * Searches several databases at once, e.g., all open databases for the global search.
+ * <p>
+ * Each database is narrowed down by its {@link SearchIndex}, if it has one. Then the candidates of all databases are
+ * searched together by the {@link SearchExecutor}, so the search takes about as long as the search of one database
+ * with all entries instead of the sum of the single searches. The hits of a database are reported as soon as it is
+ * searched, so small databases do not wait for large ones.
+ */
+public class GlobalSearcher {
+
+    private GlobalSearcher() {
+    }
+
+    /**
+     * Returns the entries of the given databases matching the given query.
+     *
+     * @param monitor receives the hits and the progress of all databases together
+     * @param databaseSearched called with each database and its hits as soon as the database is searched, from the
+     *                         threads of the search
+     * @throws java.util.concurrent.CancellationException if the search was cancelled by the monitor
+     */
+    public static Map<BibDatabase, List<BibEntry>> getMatches(SearchQuery query, List<BibDatabase> databases,
+            SearchMonitor monitor, BiConsumer<BibDatabase, List<BibEntry>> databaseSearched) {
+        Objects.requireNonNull(monitor);
+        Objects.requireNonNull(databaseSearched);
+
+        List<List<BibEntry>> candidates = new ArrayList<>(databases.size());
+        int totalEntries = 0;
+        for (BibDatabase database : databases) {
+            List<BibEntry> databaseCandidates = SearchIndex.getCandidates(query, database);
+            candidates.add(databaseCandidates);
+            totalEntries += databaseCandidates.size();
+        }
+
+        // the progress of every database, the monitor receives the sums
+        AtomicIntegerArray searchedEntries = new AtomicIntegerArray(databases.size());
+        AtomicIntegerArray hits = new AtomicIntegerArray(databases.size());
+        int entriesToSearch = totalEntries;
+        List<SearchMonitor> monitors = new ArrayList<>(databases.size());
+        for (int i = 0; i < databases.size(); i++) {
+            int databaseIndex = i;
+            BibDatabase database = databases.get(i);
+            monitors.add(new SearchMonitor() {
+
+                @Override
+                public boolean isCancelled() {
+                    return monitor.isCancelled();
+                }
+
+                @Override
+                public void hitsFound(List<BibEntry> hitsOfChunk) {
+                    monitor.hitsFound(hitsOfChunk);
+                }
+
+                @Override
+                public void searchProgressed(int searchedEntriesOfDatabase, int totalEntriesOfDatabase,
+                        int hitsOfDatabase) {
+                    // the chunks of a database are reported in any order, so only the largest numbers count
+                    searchedEntries.accumulateAndGet(databaseIndex, searchedEntriesOfDatabase, Math::max);
+                    hits.accumulateAndGet(databaseIndex, hitsOfDatabase, Math::max);
+                    monitor.searchProgressed(sum(searchedEntries), entriesToSearch, sum(hits));
+                }
+
+                @Override
+                public void searchFinished(List<BibEntry> hitsOfDatabase) {
+                    databaseSearched.accept(database, hitsOfDatabase);
+                }
+            });
+        }
+
+        List<List<BibEntry>> matches = SearchExecutor.getInstance().searchAll(query, candidates, monitors);
+        Map<BibDatabase, List<BibEntry>> result = new IdentityHashMap<>();
+        for (int i = 0; i < databases.size(); i++) {
+            result.put(databases.get(i), matches.get(i));
+        }
+        return result;
+    }
+
+    private static int sum(AtomicIntegerArray values) {
+        int sum = 0;
+        for (int i = 0; i < values.length(); i++) {
+            sum += values.get(i);
+        }
+        return sum;
+    }
+}
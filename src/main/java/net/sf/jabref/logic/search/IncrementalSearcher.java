@@ -0,0 +1,220 @@
+package net.sf.jabref.logic.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.event.EntryEvent;
+import net.sf.jabref.model.search.rules.ContainBasedSearchRule;
+import net.sf.jabref.model.search.rules.FuzzySearchRule;
+import net.sf.jabref.model.search.rules.GrammarBasedSearchRule;
+import net.sf.jabref.model.search.rules.LevenshteinMatcher;
+import net.sf.jabref.model.search.rules.SentenceAnalyzer;
+import net.sf.jabref.search.SearchParser;
+
+import com.google.common.eventbus.Subscribe;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Searches a database while the user types the query. The hits of the last search are remembered, and if the next
+ * query is a refinement of the last one, only these hits are searched instead of the whole database.
+ * <p>
+ * A query refines another one if every entry matching it also matches the other query:
+ * <ul>
+ * <li>Contain based queries with the same case sensitivity, where every word of the last query is part of a word of
+ * the new query, e.g., {@code neur} refined to {@code neural} or {@code neural net}.</li>
+ * <li>Fuzzy queries with the same case sensitivity, where the new query adds words to the last query, e.g.,
+ * {@code neural} refined to {@code neural netwrok}.</li>
+ * <li>Grammar based queries with the same settings, where the new query adds terms to the last query with
+ * {@code and}, e.g., {@code author = miller} refined to {@code author = miller and year = 2010}.</li>
+ * </ul>
+ * Any change of the entries of the database discards the remembered hits.
+ */
+public class IncrementalSearcher {
+
+    private static final Log LOGGER = LogFactory.getLog(IncrementalSearcher.class);
+
+    private static final Map<BibDatabase, IncrementalSearcher> SEARCHERS = Collections
+            .synchronizedMap(new WeakHashMap<>());
+
+    // guarded by this
+    private LastSearch lastSearch;
+    private long generation;
+
+
+    IncrementalSearcher(BibDatabase database) {
+        Objects.requireNonNull(database).registerListener(this);
+    }
+
+    /**
+     * Returns the searcher of the given database, it is created if necessary.
+     */
+    public static IncrementalSearcher forDatabase(BibDatabase database) {
+        synchronized (SEARCHERS) {
+            return SEARCHERS.computeIfAbsent(database, IncrementalSearcher::new);
+        }
+    }
+
+    /**
+     * Removes the searcher of the given database, e.g., when the database is closed. The remembered hits refer to the
+     * database, so the searcher would keep the database in memory otherwise.
+     */
+    public static void removeSearcher(BibDatabase database) {
+        IncrementalSearcher searcher = SEARCHERS.remove(database);
+        if (searcher != null) {
+            database.unregisterListener(searcher);
+        }
+    }
+
+    /**
+     * Returns the entries of the given database matching the given query. The database has to be the one of this
+     * searcher.
+     *
+     * @throws java.util.concurrent.CancellationException if the search was cancelled by the monitor
+     */
+    public List<BibEntry> getMatches(SearchQuery query, BibDatabase database, SearchMonitor monitor) {
+        LastSearch previousSearch;
+        long startGeneration;
+        synchronized (this) {
+            previousSearch = lastSearch;
+            startGeneration = generation;
+        }
+
+        List<BibEntry> matches;
+        if ((previousSearch != null) && isRefinement(previousSearch.query, query)) {
+            long start = System.nanoTime();
+            matches = SearchExecutor.getInstance().search(query, previousSearch.hits, monitor);
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(SearchProfile.getSummary(query, "refinement of the hits of " + previousSearch.query,
+                        database.getEntryCount(), previousSearch.hits.size(), matches.size(),
+                        System.nanoTime() - start));
+            }
+        } else {
+            matches = SearchIndex.getMatches(query, database, monitor);
+        }
+
+        synchronized (this) {
+            // the hits are outdated if the entries changed during the search
+            if (startGeneration == generation) {
+                lastSearch = new LastSearch(query, Collections.unmodifiableList(new ArrayList<>(matches)));
+            }
+        }
+        return matches;
+    }
+
+    @Subscribe
+    public synchronized void listen(EntryEvent event) {
+        generation++;
+        lastSearch = null;
+    }
+
+    /**
+     * Checks whether all entries matching the refined query also match the previous query.
+     */
+    static boolean isRefinement(SearchQuery previous, SearchQuery refined) {
+        if ((previous.isCaseSensitive() != refined.isCaseSensitive())
+                || (previous.isRegularExpression() != refined.isRegularExpression())) {
+            return false;
+        }
+
+        if ((previous.getRule() instanceof ContainBasedSearchRule)
+                && (refined.getRule() instanceof ContainBasedSearchRule)) {
+            return isContainBasedRefinement(previous, refined);
+        }
+        if ((previous.getRule() instanceof FuzzySearchRule) && (refined.getRule() instanceof FuzzySearchRule)) {
+            return isFuzzyRefinement((FuzzySearchRule) previous.getRule(), previous.getQuery(),
+                    (FuzzySearchRule) refined.getRule(), refined.getQuery());
+        }
+        if ((previous.getRule() instanceof GrammarBasedSearchRule)
+                && (refined.getRule() instanceof GrammarBasedSearchRule)) {
+            return isGrammarBasedRefinement((GrammarBasedSearchRule) previous.getRule(),
+                    (GrammarBasedSearchRule) refined.getRule());
+        }
+        return false;
+    }
+
+    private static boolean isContainBasedRefinement(SearchQuery previous, SearchQuery refined) {
+        List<String> previousWords = getWords(previous);
+        List<String> refinedWords = getWords(refined);
+        // an entry containing a refined word also contains all parts of it
+        return previousWords.stream()
+                .allMatch(previousWord -> refinedWords.stream().anyMatch(word -> word.contains(previousWord)));
+    }
+
+    private static boolean isFuzzyRefinement(FuzzySearchRule previousRule, String previousQuery,
+            FuzzySearchRule refinedRule, String refinedQuery) {
+        // every token is a separate condition, so only adding tokens refines the query
+        Set<String> refinedTokens = refinedRule.getMatchers(refinedQuery).stream().map(LevenshteinMatcher::getWord)
+                .collect(Collectors.toSet());
+        return previousRule.getMatchers(previousQuery).stream()
+                .allMatch(matcher -> refinedTokens.contains(matcher.getWord()));
+    }
+
+    private static List<String> getWords(SearchQuery query) {
+        String searchString = query.isCaseSensitive() ? query.getQuery() : query.getQuery().toLowerCase();
+        return new SentenceAnalyzer(searchString).getWords();
+    }
+
+    private static boolean isGrammarBasedRefinement(GrammarBasedSearchRule previous, GrammarBasedSearchRule refined) {
+        List<String> previousTokens = getTokens(previous.getTree());
+
+        // follow the left operands of the and expressions, the and operator is left associative
+        ParseTree expression = ((SearchParser.StartContext) refined.getTree()).expression();
+        while (true) {
+            if (getTokens(expression).equals(previousTokens)) {
+                return true;
+            }
+            if (!(expression instanceof SearchParser.BinaryExpressionContext)) {
+                return false;
+            }
+
+            SearchParser.BinaryExpressionContext binaryExpression = (SearchParser.BinaryExpressionContext) expression;
+            if (!"AND".equalsIgnoreCase(binaryExpression.operator.getText())) {
+                return false;
+            }
+            expression = binaryExpression.left;
+        }
+    }
+
+    private static List<String> getTokens(ParseTree tree) {
+        List<String> tokens = new ArrayList<>();
+        collectTokens(tree, tokens);
+        return tokens;
+    }
+
+    private static void collectTokens(ParseTree tree, List<String> tokens) {
+        if (tree instanceof TerminalNode) {
+            if (((TerminalNode) tree).getSymbol().getType() != Token.EOF) {
+                tokens.add(tree.getText());
+            }
+            return;
+        }
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            collectTokens(tree.getChild(i), tokens);
+        }
+    }
+
+
+    private static class LastSearch {
+
+        private final SearchQuery query;
+        private final List<BibEntry> hits;
+
+
+        public LastSearch(SearchQuery query, List<BibEntry> hits) {
+            this.query = query;
+            this.hits = hits;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package net.sf.jabref.logic.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Extracts the literal strings which every text matched by a regular expression has to contain, so the texts to
+ * match can be narrowed down with an index before running the regular expression itself.
+ * <p>
+ * The result is a conjunction of clauses, each clause is a disjunction of literals: {@code neur(al|on)s?} requires
+ * {@code neur} and one of {@code al} or {@code on}. The literals are in lower case, so they are contained in the lower
+ * case version of every matched text, no matter whether the expression is matched case sensitive or not.
+ * <p>
+ * The analysis is conservative: Optional parts, character classes and other constructs just split the literals.
+ * Constructs which could change the meaning of the expression in ways the analyzer does not understand (e.g., inline
+ * flags or lookarounds) make it give up, i.e., no literal is required.
+ */
+class RegexLiteralAnalyzer {
+
+    // distributing alternatives over their clauses can multiply the number of clauses, dropping clauses is safe
+    private static final int MAXIMUM_NUMBER_OF_CLAUSES = 16;
+
+    private static final String SIMPLE_ESCAPES = "dDsSwWbBAGZztnrfaehHvVRX";
+
+    private final String regex;
+    private int position;
+
+
+    private RegexLiteralAnalyzer(String regex) {
+        this.regex = regex;
+    }
+
+    /**
+     * Returns the clauses of literals required by the given regular expression. An empty list means that no literal
+     * is required.
+     */
+    static List<Set<String>> getRequiredLiterals(String regex) {
+        RegexLiteralAnalyzer analyzer = new RegexLiteralAnalyzer(regex);
+        try {
+            List<Set<String>> clauses = analyzer.parseAlternation();
+            if (analyzer.position < regex.length()) {
+                // unbalanced closing parenthesis
+                return Collections.emptyList();
+            }
+            return clauses;
+        } catch (UnsupportedExpressionException e) {
+            return Collections.emptyList();
+        }
+    }
+
+    private List<Set<String>> parseAlternation() {
+        List<Set<String>> result = parseSequence();
+        while ((position < regex.length()) && (regex.charAt(position) == '|')) {
+            position++;
+            List<Set<String>> alternative = parseSequence();
+            result = or(result, alternative);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the clauses required by one of the two alternatives
+     */
+    private static List<Set<String>> or(List<Set<String>> first, List<Set<String>> second) {
+        if (first.isEmpty() || second.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Set<String>> result = new ArrayList<>();
+        for (Set<String> firstClause : first) {
+            for (Set<String> secondClause : second) {
+                if (result.size() == MAXIMUM_NUMBER_OF_CLAUSES) {
+                    return result;
+                }
+                Set<String> clause = new HashSet<>(firstClause);
+                clause.addAll(secondClause);
+                result.add(clause);
+            }
+        }
+        return result;
+    }
+
+    private List<Set<String>> parseSequence() {
+        Sequence sequence = new Sequence();
+        while (position < regex.length()) {
+            char character = regex.charAt(position);
+            if ((character == '|') || (character == ')')) {
+                break;
+            }
+
+            if (character == '(') {
+                position++;
+                skipGroupModifier();
+                List<Set<String>> groupClauses = parseAlternation();
+                expect(')');
+                sequence.flush();
+                if (parseQuantifier() > 0) {
+                    sequence.clauses.addAll(groupClauses);
+                }
+            } else if (character == '[') {
+                skipCharacterClass();
+                parseQuantifier();
+                sequence.flush();
+            } else if (character == '\\') {
+                position++;
+                parseEscape(sequence);
+            } else if ((character == '.') || (character == '^') || (character == '$')) {
+                position++;
+                parseQuantifier();
+                sequence.flush();
+            } else if ((character == '*') || (character == '+') || (character == '?') || (character == '{')) {
+                // dangling quantifier
+                throw new UnsupportedExpressionException();
+            } else {
+                position++;
+                sequence.addLiteral(character, parseQuantifier());
+            }
+        }
+        sequence.flush();
+        return sequence.clauses;
+    }
+
+    private void parseEscape(Sequence sequence) {
+        if (position >= regex.length()) {
+            throw new UnsupportedExpressionException();
+        }
+
+        char character = regex.charAt(position++);
+        if (character == 'Q') {
+            // quoted literal up to \E
+            int end = regex.indexOf("\\E", position);
+            String quoted = end < 0 ? regex.substring(position) : regex.substring(position, end);
+            position = end < 0 ? regex.length() : end + 2;
+            for (int i = 0; i < (quoted.length() - 1); i++) {
+                sequence.addLiteral(quoted.charAt(i), 1);
+            }
+            if (!quoted.isEmpty()) {
+                sequence.addLiteral(quoted.charAt(quoted.length() - 1), parseQuantifier());
+            }
+            return;
+        }
+
+        if (!Character.isLetterOrDigit(character)) {
+            // escaped meta character
+            sequence.addLiteral(character, parseQuantifier());
+            return;
+        }
+
+        if (SIMPLE_ESCAPES.indexOf(character) < 0) {
+            skipEscapeArgument(character);
+        }
+        parseQuantifier();
+        sequence.flush();
+    }
+
+    private void skipEscapeArgument(char escape) {
+        switch (escape) {
+            case 'x':
+                if (startsWith("{")) {
+                    skipPast('}');
+                } else {
+                    skip(2);
+                }
+                break;
+            case 'u':
+                skip(4);
+                break;
+            case 'c':
+                skip(1);
+                break;
+            case 'p':
+            case 'P':
+            case 'N':
+                if (startsWith("{")) {
+                    skipPast('}');
+                } else {
+                    skip(1);
+                }
+                break;
+            case 'k':
+                skipPast('>');
+                break;
+            case '0':
+                while ((position < regex.length()) && (regex.charAt(position) >= '0')
+                        && (regex.charAt(position) <= '7')) {
+                    position++;
+                }
+                break;
+            default:
+                if ((escape >= '1') && (escape <= '9')) {
+                    // back reference
+                    while ((position < regex.length()) && Character.isDigit(regex.charAt(position))) {
+                        position++;
+                    }
+                } else {
+                    throw new UnsupportedExpressionException();
+                }
+        }
+    }
+
+    /**
+     * Skips the modifier of a group. Only capturing, non-capturing and named groups are supported.
+     */
+    private void skipGroupModifier() {
+        if (!startsWith("?")) {
+            return;
+        }
+        if (startsWith("?:")) {
+            position += 2;
+        } else if (startsWith("?<") && (position + 2 < regex.length())
+                && Character.isLetter(regex.charAt(position + 2))) {
+            skipPast('>');
+        } else {
+            throw new UnsupportedExpressionException();
+        }
+    }
+
+    private void skipCharacterClass() {
+        int depth = 0;
+        while (position < regex.length()) {
+            char character = regex.charAt(position++);
+            if (character == '\\') {
+                position++;
+            } else if (character == '[') {
+                depth++;
+                // a closing bracket at the start of a class is part of the class
+                if (startsWith("^")) {
+                    position++;
+                }
+                if (startsWith("]")) {
+                    position++;
+                }
+            } else if ((character == ']') && (--depth == 0)) {
+                return;
+            }
+        }
+        throw new UnsupportedExpressionException();
+    }
+
+    /**
+     * Parses an optional quantifier. Returns 0 if the quantified part is optional, 1 without quantifier, and 2 if the
+     * part occurs at least once but may be repeated.
+     */
+    private int parseQuantifier() {
+        if (position >= regex.length()) {
+            return 1;
+        }
+
+        int minimum;
+        char character = regex.charAt(position);
+        if ((character == '*') || (character == '?')) {
+            position++;
+            minimum = 0;
+        } else if (character == '+') {
+            position++;
+            minimum = 2;
+        } else if (character == '{') {
+            int end = regex.indexOf('}', position);
+            if (end < 0) {
+                throw new UnsupportedExpressionException();
+            }
+            String bounds = regex.substring(position + 1, end);
+            String lowerBound = bounds.contains(",") ? bounds.substring(0, bounds.indexOf(',')) : bounds;
+            try {
+                minimum = Integer.parseInt(lowerBound.trim()) == 0 ? 0 : 2;
+            } catch (NumberFormatException e) {
+                throw new UnsupportedExpressionException();
+            }
+            position = end + 1;
+        } else {
+            return 1;
+        }
+
+        // lazy or possessive quantifier
+        if ((position < regex.length()) && ((regex.charAt(position) == '?') || (regex.charAt(position) == '+'))) {
+            position++;
+        }
+        return minimum;
+    }
+
+    private boolean startsWith(String prefix) {
+        return regex.startsWith(prefix, position);
+    }
+
+    private void skip(int characters) {
+        position = Math.min(position + characters, regex.length());
+    }
+
+    private void skipPast(char end) {
+        int index = regex.indexOf(end, position);
+        if (index < 0) {
+            throw new UnsupportedExpressionException();
+        }
+        position = index + 1;
+    }
+
+    private void expect(char character) {
+        if ((position >= regex.length()) || (regex.charAt(position) != character)) {
+            throw new UnsupportedExpressionException();
+        }
+        position++;
+    }
+
+    /**
+     * Checks whether the lower case version of the character is the same in every context, so a literal containing it
+     * is part of the lower case version of the texts containing the literal.
+     */
+    private static boolean hasStableLowerCase(char character) {
+        return !Character.isSurrogate(character) && (character != 'Σ') && (character != 'σ')
+                && (character != 'ς') && (String.valueOf(character).toLowerCase().length() == 1);
+    }
+
+
+    /**
+     * The clauses of a sequence and the literal which is currently extended
+     */
+    private static class Sequence {
+
+        private final List<Set<String>> clauses = new ArrayList<>();
+        private final StringBuilder literal = new StringBuilder();
+
+
+        /**
+         * Adds a literal character with the repetitions returned by {@link #parseQuantifier()}.
+         */
+        void addLiteral(char character, int minimumRepetitions) {
+            if ((minimumRepetitions == 0) || !hasStableLowerCase(character)) {
+                flush();
+                return;
+            }
+
+            literal.append(character);
+            if (minimumRepetitions > 1) {
+                // the literal ends with the first repetition, the next one starts with the last repetition
+                flush();
+                literal.append(character);
+            }
+        }
+
+        void flush() {
+            if (literal.length() > 0) {
+                clauses.add(Collections.singleton(literal.toString().toLowerCase()));
+                literal.setLength(0);
+            }
+        }
+    }
+
+    private static class UnsupportedExpressionException extends RuntimeException {
+        // thrown to give up the analysis
+    }
+}
@@ -0,0 +1,236 @@
+package net.sf.jabref.logic.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.search.SearchMatcher;
+
+/**
+ * Tests entries against a search query using all processors.
+ * <p>
+ * The entries are split into chunks, which are searched in parallel by a fork-join pool. Before a chunk is searched,
+ * the {@link SearchMonitor} and the interrupted status of the thread which started the search are checked, so a
+ * cancelled search stops after at most one chunk per thread. After every chunk, the monitor is informed about the
+ * hits of the chunk, the progress and the number of hits found so far.
+ * <p>
+ * Several lists of entries, e.g., the entries of all open databases, can be searched at once. Then the chunks of all
+ * lists are searched by the pool together, so the search of a small list is finished without waiting for the larger
+ * ones.
+ */
+public class SearchExecutor {
+
+    static final int CHUNK_SIZE = 1024;
+
+    private static final SearchExecutor INSTANCE = new SearchExecutor(
+            new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("JabRef search " + thread.getPoolIndex());
+                return thread;
+            }, null, false));
+
+    private final ForkJoinPool pool;
+
+
+    SearchExecutor(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    public static SearchExecutor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the entries matching the given matcher, in the order of the given list.
+     *
+     * @throws CancellationException if the search was cancelled by the monitor or the calling thread was interrupted
+     */
+    public List<BibEntry> search(SearchMatcher matcher, List<BibEntry> entries, SearchMonitor monitor) {
+        Objects.requireNonNull(matcher);
+        Objects.requireNonNull(monitor);
+        List<BibEntry> entriesToSearch = entries instanceof RandomAccess ? entries : new ArrayList<>(entries);
+
+        Search search = new Search(matcher, entriesToSearch, monitor, Thread.currentThread());
+        int numberOfChunks = search.getNumberOfChunks();
+        if (numberOfChunks == 0) {
+            search.finishEmptySearch();
+        } else if (numberOfChunks == 1) {
+            // not worth to hand over to the pool
+            search.searchChunks(0, numberOfChunks);
+        } else {
+            pool.invoke(new ChunkTask(search, 0, numberOfChunks));
+        }
+        return search.getHits();
+    }
+
+    /**
+     * Searches several lists of entries in parallel. Each list has its own monitor, which is informed about the
+     * hits and the progress of its list and called with all hits of the list as soon as the list is searched.
+     *
+     * @param entryLists the lists of entries to search
+     * @param monitors the monitors of the lists, in the same order
+     * @return the entries of every list matching the given matcher, in the order of the lists
+     * @throws CancellationException if the search was cancelled by one of the monitors or the calling thread was
+     *                               interrupted
+     */
+    public List<List<BibEntry>> searchAll(SearchMatcher matcher, List<List<BibEntry>> entryLists,
+            List<SearchMonitor> monitors) {
+        Objects.requireNonNull(matcher);
+        if (entryLists.size() != monitors.size()) {
+            throw new IllegalArgumentException("Every list of entries needs a monitor");
+        }
+
+        List<Search> searches = new ArrayList<>(entryLists.size());
+        List<ChunkTask> tasks = new ArrayList<>(entryLists.size());
+        for (int i = 0; i < entryLists.size(); i++) {
+            List<BibEntry> entries = entryLists.get(i);
+            List<BibEntry> entriesToSearch = entries instanceof RandomAccess ? entries : new ArrayList<>(entries);
+            Search search = new Search(matcher, entriesToSearch, Objects.requireNonNull(monitors.get(i)),
+                    Thread.currentThread());
+            searches.add(search);
+            if (search.getNumberOfChunks() == 0) {
+                search.finishEmptySearch();
+            } else {
+                tasks.add(new ChunkTask(search, 0, search.getNumberOfChunks()));
+            }
+        }
+
+        if (!tasks.isEmpty()) {
+            pool.invoke(new RecursiveAction() {
+
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        }
+
+        List<List<BibEntry>> hits = new ArrayList<>(searches.size());
+        for (Search search : searches) {
+            hits.add(search.getHits());
+        }
+        return hits;
+    }
+
+
+    private static class Search {
+
+        private final SearchMatcher matcher;
+        private final List<BibEntry> entries;
+        private final SearchMonitor monitor;
+        private final Thread caller;
+        private final List<List<BibEntry>> hitsPerChunk;
+
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final AtomicInteger searchedEntries = new AtomicInteger();
+        private final AtomicInteger hits = new AtomicInteger();
+
+
+        public Search(SearchMatcher matcher, List<BibEntry> entries, SearchMonitor monitor, Thread caller) {
+            this.matcher = matcher;
+            this.entries = entries;
+            this.monitor = monitor;
+            this.caller = caller;
+
+            int numberOfChunks = (entries.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            this.hitsPerChunk = new ArrayList<>(Collections.nCopies(numberOfChunks, null));
+        }
+
+        public int getNumberOfChunks() {
+            return hitsPerChunk.size();
+        }
+
+        private boolean isCancelled() {
+            if (cancelled.get()) {
+                return true;
+            }
+            if (monitor.isCancelled() || caller.isInterrupted()) {
+                cancelled.set(true);
+                return true;
+            }
+            return false;
+        }
+
+        public void searchChunks(int fromChunk, int toChunk) {
+            for (int chunk = fromChunk; chunk < toChunk; chunk++) {
+                if (isCancelled()) {
+                    return;
+                }
+
+                int from = chunk * CHUNK_SIZE;
+                int to = Math.min(from + CHUNK_SIZE, entries.size());
+                List<BibEntry> chunkHits = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    BibEntry entry = entries.get(i);
+                    if (matcher.isMatch(entry)) {
+                        chunkHits.add(entry);
+                    }
+                }
+
+                // the chunks are distinct elements of the list, the pool publishes them when the search is finished
+                hitsPerChunk.set(chunk, chunkHits);
+                if (!chunkHits.isEmpty()) {
+                    monitor.hitsFound(Collections.unmodifiableList(chunkHits));
+                }
+                int searched = searchedEntries.addAndGet(to - from);
+                monitor.searchProgressed(searched, entries.size(), hits.addAndGet(chunkHits.size()));
+                if ((searched == entries.size()) && !isCancelled()) {
+                    // the last chunk, all other chunks were published by the increments of the searched entries
+                    monitor.searchFinished(Collections.unmodifiableList(collectHits()));
+                }
+            }
+        }
+
+        public void finishEmptySearch() {
+            if (!isCancelled()) {
+                monitor.searchFinished(Collections.emptyList());
+            }
+        }
+
+        public List<BibEntry> getHits() {
+            if (isCancelled()) {
+                throw new CancellationException("Search was cancelled");
+            }
+            return collectHits();
+        }
+
+        private List<BibEntry> collectHits() {
+            List<BibEntry> result = new ArrayList<>(hits.get());
+            hitsPerChunk.forEach(result::addAll);
+            return result;
+        }
+    }
+
+    private static class ChunkTask extends RecursiveAction {
+
+        private final Search search;
+        private final int fromChunk;
+        private final int toChunk;
+
+
+        public ChunkTask(Search search, int fromChunk, int toChunk) {
+            this.search = search;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if ((toChunk - fromChunk) <= 1) {
+                search.searchChunks(fromChunk, toChunk);
+            } else {
+                int middle = (fromChunk + toChunk) >>> 1;
+                invokeAll(new ChunkTask(search, fromChunk, middle), new ChunkTask(search, middle, toChunk));
+            }
+        }
+    }
+}
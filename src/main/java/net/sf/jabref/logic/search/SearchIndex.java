@@ -0,0 +1,811 @@
+package net.sf.jabref.logic.search;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import net.sf.jabref.JabRefExecutorService;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.event.EntryAddedEvent;
+import net.sf.jabref.model.database.event.EntryRemovedEvent;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.event.FieldChangedEvent;
+import net.sf.jabref.model.search.rules.ContainBasedSearchRule;
+import net.sf.jabref.model.search.rules.FuzzySearchRule;
+import net.sf.jabref.model.search.rules.GrammarBasedSearchRule;
+import net.sf.jabref.model.search.rules.LevenshteinMatcher;
+import net.sf.jabref.model.search.rules.RegexBasedSearchRule;
+import net.sf.jabref.model.search.rules.SearchRule;
+import net.sf.jabref.model.search.rules.SentenceAnalyzer;
+import net.sf.jabref.search.SearchBaseVisitor;
+import net.sf.jabref.search.SearchParser;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.eventbus.Subscribe;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * In-memory inverted index of the entries of a database. It maps the tokens (runs of letters and digits) of the LaTeX
+ * free, lower case field values to the entries containing them.
+ * <p>
+ * The index is built in the background and then kept up to date from the events of the database. The events only
+ * record the changed entries, which are applied to the index before the next lookup, so editing an entry never waits
+ * for a running lookup. Changes during the build are recorded the same way and applied to the new index, so the build
+ * never has to start again. The index narrows down
+ * the entries which have to be checked by a {@link SearchQuery}: For contain based queries and for grammar based
+ * queries comparing fields with plain values (e.g., {@code author = miller and title = test}), only the entries
+ * containing all query words are checked. As query words are matched as substrings, an entry contains a word if one
+ * of its tokens contains the longest alphanumeric part of the word.
+ * <p>
+ * Optionally, the trigrams (substrings of three characters) of every field are indexed as well. Then regular expression
+ * queries are answered, too: The literals every match has to contain are extracted from the expression (see
+ * {@link RegexLiteralAnalyzer}), and only the entries having all trigrams of these literals in one of the searched
+ * fields are checked. Expressions without such literals and negations are not answered by the index.
+ * <p>
+ * Fuzzy queries are answered by comparing every token of the index with the query words, so only the entries
+ * containing similar tokens are checked.
+ * <p>
+ * Internally, each entry has a document number and the posting list of a token holds the increasing numbers of the
+ * documents containing the token. A changed entry gets a new number, its old number is marked as deleted. Deleted
+ * numbers are purged from the posting lists when they outnumber the others. The tokens and trigrams are interned, so
+ * the indexes of all open databases share equal strings.
+ */
+public class SearchIndex {
+
+    private static final Log LOGGER = LogFactory.getLog(SearchIndex.class);
+
+    private static final int TRIGRAM_LENGTH = 3;
+
+    private static final Map<BibDatabase, SearchIndex> INDEXES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // the tokens, trigrams and field names of all indexes, so equal strings of different databases are stored once
+    private static final Interner<String> STRINGS = Interners.newWeakInterner();
+
+    private final WeakReference<BibDatabase> database;
+    private final Executor executor;
+    private final boolean indexTrigrams;
+
+    // guarded by this, which is taken before pendingChanges
+    private IndexData data;
+
+    // guarded by pendingChanges
+    private final Map<BibEntry, ChangeType> pendingChanges = new IdentityHashMap<>();
+    private boolean ready;
+
+
+    SearchIndex(BibDatabase database, Executor executor, boolean indexTrigrams) {
+        this.database = new WeakReference<>(Objects.requireNonNull(database));
+        this.executor = Objects.requireNonNull(executor);
+        this.indexTrigrams = indexTrigrams;
+        this.data = new IndexData(indexTrigrams);
+        database.registerListener(this);
+        executor.execute(this::build);
+    }
+
+    /**
+     * Returns the index of the given database. If there is none, it is created (without trigrams) and built in the
+     * background.
+     */
+    public static SearchIndex forDatabase(BibDatabase database) {
+        return forDatabase(database, false);
+    }
+
+    /**
+     * Returns the index of the given database. If there is none, it is created and built in the background.
+     *
+     * @param indexTrigrams whether a new index should contain the trigrams of the fields to answer regular
+     *                      expression queries, which needs considerably more memory
+     */
+    public static SearchIndex forDatabase(BibDatabase database, boolean indexTrigrams) {
+        synchronized (INDEXES) {
+            return INDEXES.computeIfAbsent(database,
+                    db -> new SearchIndex(db, runnable -> JabRefExecutorService.INSTANCE
+                            .executeWithLowPriorityInOwnThread(runnable, "SearchIndex"), indexTrigrams));
+        }
+    }
+
+    /**
+     * Creates the index of the given database and builds it in the calling thread, e.g., for the command line, where
+     * the search has to wait for the index anyway. An existing index of the database is replaced.
+     *
+     * @throws RuntimeException if the index could not be built
+     */
+    public static SearchIndex buildIndex(BibDatabase database, boolean indexTrigrams) {
+        removeIndex(database);
+        SearchIndex index = new SearchIndex(database, Runnable::run, indexTrigrams);
+        INDEXES.put(database, index);
+        return index;
+    }
+
+    /**
+     * Removes the index of the given database, e.g., when the database is closed. The entries of the database refer
+     * to it, so the index would keep the database in memory otherwise.
+     */
+    public static void removeIndex(BibDatabase database) {
+        SearchIndex index = INDEXES.remove(database);
+        if (index != null) {
+            database.unregisterListener(index);
+        }
+    }
+
+    /**
+     * Returns the index of the given database, if one was created by {@link #forDatabase(BibDatabase)}.
+     */
+    public static Optional<SearchIndex> getIndex(BibDatabase database) {
+        return Optional.ofNullable(INDEXES.get(database));
+    }
+
+    /**
+     * Returns the entries of the database matching the given query if the index can answer the query, otherwise
+     * (e.g., while the index is built) all entries are checked.
+     */
+    public static List<BibEntry> getMatches(SearchQuery query, BibDatabase database) {
+        return getMatches(query, database, SearchMonitor.NONE);
+    }
+
+    /**
+     * Returns the entries of the database matching the given query. The candidates found by the index (or all entries
+     * if the index cannot answer the query) are searched in parallel by the {@link SearchExecutor}.
+     *
+     * @throws java.util.concurrent.CancellationException if the search was cancelled by the monitor
+     */
+    public static List<BibEntry> getMatches(SearchQuery query, BibDatabase database, SearchMonitor monitor) {
+        long start = System.nanoTime();
+        Optional<SearchIndex> index = getIndex(database);
+        Optional<List<BibEntry>> indexCandidates = index.flatMap(databaseIndex -> databaseIndex.getCandidates(query));
+        List<BibEntry> candidates = indexCandidates.orElseGet(database::getEntriesSnapshot);
+        List<BibEntry> matches = SearchExecutor.getInstance().search(query, candidates, monitor);
+
+        if (LOGGER.isDebugEnabled()) {
+            String plan;
+            if (indexCandidates.isPresent()) {
+                plan = "lookup in the search index";
+            } else if (!index.isPresent()) {
+                plan = "full scan, the database has no search index";
+            } else if (!index.get().isReady()) {
+                plan = "full scan, the search index is being built";
+            } else {
+                plan = "full scan, the search index cannot narrow down the query";
+            }
+            LOGGER.debug(SearchProfile.getSummary(query, plan, database.getEntryCount(), candidates.size(),
+                    matches.size(), System.nanoTime() - start));
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the entries of the database which have to be checked for the given query: the candidates found by the
+     * index, or all entries if the index cannot answer the query.
+     */
+    static List<BibEntry> getCandidates(SearchQuery query, BibDatabase database) {
+        return getIndex(database).flatMap(index -> index.getCandidates(query)).orElseGet(database::getEntriesSnapshot);
+    }
+
+    /**
+     * Returns the entries matching the given query, or an empty Optional if the index cannot answer the query.
+     * The entries are returned in the order of the index, which is the order of the database except for entries
+     * changed after they were indexed.
+     */
+    public Optional<List<BibEntry>> getMatches(SearchQuery query) {
+        return getCandidates(query)
+                .map(candidates -> SearchExecutor.getInstance().search(query, candidates, SearchMonitor.NONE));
+    }
+
+    /**
+     * Returns a superset of the entries matching the given query, or an empty Optional if the index cannot answer the
+     * query.
+     */
+    public Optional<List<BibEntry>> getCandidates(SearchQuery query) {
+        Optional<Function<IndexData, BitSet>> lookup = createLookup(query);
+        if (!lookup.isPresent()) {
+            return Optional.empty();
+        }
+
+        synchronized (this) {
+            if (!applyPendingChanges()) {
+                return Optional.empty();
+            }
+            return Optional.of(data.getDocuments(lookup.get().apply(data)));
+        }
+    }
+
+    public boolean isReady() {
+        synchronized (pendingChanges) {
+            return ready;
+        }
+    }
+
+    /**
+     * Returns whether the index contains the trigrams of the fields, which are needed to answer regular expression
+     * queries.
+     */
+    boolean isIndexingTrigrams() {
+        return indexTrigrams;
+    }
+
+    @Subscribe
+    public void listen(EntryAddedEvent event) {
+        recordChange(event.getBibEntry(), ChangeType.ADDED);
+    }
+
+    @Subscribe
+    public void listen(EntryRemovedEvent event) {
+        recordChange(event.getBibEntry(), ChangeType.REMOVED);
+    }
+
+    @Subscribe
+    public void listen(FieldChangedEvent event) {
+        recordChange(event.getBibEntry(), ChangeType.CHANGED);
+    }
+
+    private void recordChange(BibEntry entry, ChangeType type) {
+        synchronized (pendingChanges) {
+            if (type == ChangeType.CHANGED) {
+                // an entry added or removed since the last lookup is indexed from scratch or dropped anyway
+                pendingChanges.putIfAbsent(entry, type);
+            } else {
+                pendingChanges.put(entry, type);
+            }
+        }
+    }
+
+    /**
+     * Applies the changes recorded since the last lookup to the index. Has to be called while holding this.
+     *
+     * @return false if the index is not built yet
+     */
+    private boolean applyPendingChanges() {
+        Map<BibEntry, ChangeType> changes;
+        synchronized (pendingChanges) {
+            if (!ready) {
+                return false;
+            }
+            if (pendingChanges.isEmpty()) {
+                return true;
+            }
+            changes = new IdentityHashMap<>(pendingChanges);
+            pendingChanges.clear();
+        }
+
+        for (Map.Entry<BibEntry, ChangeType> change : changes.entrySet()) {
+            BibEntry entry = change.getKey();
+            switch (change.getValue()) {
+            case ADDED:
+                data.remove(entry);
+                data.add(entry);
+                break;
+            case REMOVED:
+                data.remove(entry);
+                break;
+            case CHANGED:
+                if (data.contains(entry)) {
+                    data.remove(entry);
+                    data.add(entry);
+                }
+                break;
+            default:
+                break;
+            }
+        }
+        data.compactIfNeeded();
+        return true;
+    }
+
+    private void build() {
+        BibDatabase currentDatabase = database.get();
+        if (currentDatabase == null) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        List<BibEntry> entries = currentDatabase.getEntriesSnapshot();
+        IndexData newData = new IndexData(indexTrigrams);
+        entries.forEach(newData::add);
+
+        // the changes recorded since the snapshot are applied before the next lookup, the ones recorded before are
+        // applied again, which does no harm
+        synchronized (this) {
+            synchronized (pendingChanges) {
+                data = newData;
+                ready = true;
+            }
+        }
+        LOGGER.debug("Built search index of " + entries.size() + " entries with " + newData.postings.size()
+                + " tokens in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    private static Optional<Function<IndexData, BitSet>> createLookup(SearchQuery query) {
+        SearchRule rule = query.getRule();
+        if (rule instanceof ContainBasedSearchRule) {
+            List<String> words = new SentenceAnalyzer(query.getQuery().toLowerCase()).getWords();
+            return createLookupForAllWords(words);
+        } else if (rule instanceof RegexBasedSearchRule) {
+            return createLookupForRegex(query.getQuery(), field -> true);
+        } else if (rule instanceof FuzzySearchRule) {
+            return createLookupForSimilarTokens(query.getQuery());
+        } else if (rule instanceof GrammarBasedSearchRule) {
+            try {
+                return new LookupVisitor(query.isCaseSensitive(), query.isRegularExpression())
+                        .visit(((GrammarBasedSearchRule) rule).getTree());
+            } catch (RuntimeException e) {
+                LOGGER.debug("Could not analyze search query " + query, e);
+                return Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Function<IndexData, BitSet>> createLookupForAllWords(List<String> words) {
+        Optional<Function<IndexData, BitSet>> result = Optional.empty();
+        for (String word : words) {
+            result = and(result, createLookupForWord(word));
+        }
+        return result;
+    }
+
+    /**
+     * Returns a lookup for the documents which may contain the given (lower case) word, or an empty Optional if the
+     * word has no alphanumeric part.
+     */
+    private static Optional<Function<IndexData, BitSet>> createLookupForWord(String word) {
+        // find the longest run of letters and digits
+        int bestStart = -1;
+        int bestEnd = -1;
+        int runStart = -1;
+        for (int i = 0; i <= word.length(); i++) {
+            boolean partOfToken = (i < word.length()) && isTokenCharacter(word.charAt(i));
+            if (partOfToken && (runStart < 0)) {
+                runStart = i;
+            } else if (!partOfToken && (runStart >= 0)) {
+                if ((i - runStart) > (bestEnd - bestStart)) {
+                    bestStart = runStart;
+                    bestEnd = i;
+                }
+                runStart = -1;
+            }
+        }
+        if (bestStart < 0) {
+            return Optional.empty();
+        }
+
+        String part = word.substring(bestStart, bestEnd);
+        boolean startsToken = bestStart > 0;
+        boolean endsToken = bestEnd < word.length();
+        if (startsToken && endsToken) {
+            return Optional.of(indexData -> indexData.getDocumentsWithToken(part));
+        } else if (startsToken) {
+            return Optional.of(indexData -> indexData.getDocumentsWithToken(token -> token.startsWith(part)));
+        } else if (endsToken) {
+            return Optional.of(indexData -> indexData.getDocumentsWithToken(token -> token.endsWith(part)));
+        } else {
+            return Optional.of(indexData -> indexData.getDocumentsWithToken(token -> token.contains(part)));
+        }
+    }
+
+    /**
+     * Returns a lookup for the documents having a token similar to every token of the given text, or an empty Optional
+     * if the text has no tokens. Instead of comparing the text with the fields of every entry, the tokens of the index
+     * are compared, which are far fewer. The lower case tokens of the index are at most as distant from the lower case
+     * tokens of the text as the original ones, so case sensitive searches are answered as well.
+     */
+    private static Optional<Function<IndexData, BitSet>> createLookupForSimilarTokens(String text) {
+        Optional<Function<IndexData, BitSet>> result = Optional.empty();
+        for (LevenshteinMatcher matcher : LevenshteinMatcher.forTokensOf(text.toLowerCase())) {
+            if (matcher.getMaximumDistance() == 0) {
+                result = and(result, Optional.of(indexData -> indexData.getDocumentsWithToken(matcher.getWord())));
+            } else {
+                result = and(result, Optional.of(indexData -> indexData.getDocumentsWithToken(matcher::matches)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a lookup for the documents which may contain a match of the given regular expression in one of the
+     * fields accepted by the filter, or an empty Optional if the expression requires no literals usable for the index.
+     */
+    private static Optional<Function<IndexData, BitSet>> createLookupForRegex(String regex,
+            Predicate<String> fieldFilter) {
+        Optional<Function<IndexData, BitSet>> result = Optional.empty();
+        for (Set<String> literals : RegexLiteralAnalyzer.getRequiredLiterals(regex)) {
+            // a literal shorter than a trigram can be anywhere, so the clause does not restrict the documents
+            if (literals.stream().anyMatch(literal -> literal.length() < TRIGRAM_LENGTH)) {
+                continue;
+            }
+
+            Optional<Function<IndexData, BitSet>> clause = Optional.empty();
+            for (String literal : literals) {
+                Optional<Function<IndexData, BitSet>> literalLookup = Optional
+                        .of(indexData -> indexData.getDocumentsWithTrigramsOf(literal, fieldFilter));
+                clause = clause.isPresent() ? or(clause, literalLookup) : literalLookup;
+            }
+            result = and(result, clause);
+        }
+        return result;
+    }
+
+    /**
+     * Combines two lookups by intersection. An empty lookup stands for all documents.
+     */
+    private static Optional<Function<IndexData, BitSet>> and(Optional<Function<IndexData, BitSet>> first,
+            Optional<Function<IndexData, BitSet>> second) {
+        if (!first.isPresent()) {
+            return second;
+        }
+        if (!second.isPresent()) {
+            return first;
+        }
+        return Optional.of(indexData -> {
+            BitSet result = first.get().apply(indexData);
+            result.and(second.get().apply(indexData));
+            return result;
+        });
+    }
+
+    /**
+     * Combines two lookups by union. An empty lookup stands for all documents.
+     */
+    private static Optional<Function<IndexData, BitSet>> or(Optional<Function<IndexData, BitSet>> first,
+            Optional<Function<IndexData, BitSet>> second) {
+        if (!first.isPresent() || !second.isPresent()) {
+            return Optional.empty();
+        }
+        return Optional.of(indexData -> {
+            BitSet result = first.get().apply(indexData);
+            result.or(second.get().apply(indexData));
+            return result;
+        });
+    }
+
+    private static boolean isTokenCharacter(char character) {
+        return LevenshteinMatcher.isTokenCharacter(character);
+    }
+
+    private static Set<String> getTokens(BibEntry entry) {
+        Set<String> tokens = new HashSet<>();
+        for (String field : entry.getFieldMap().keySet()) {
+            entry.getLowerCaseLatexFreeField(field)
+                    .ifPresent(value -> tokens.addAll(LevenshteinMatcher.getTokens(value)));
+        }
+        return tokens;
+    }
+
+
+    /**
+     * Translates a grammar based query into a lookup. Only comparisons of fields with values (or regular expressions)
+     * which have to be contained in the field are translated, everything else stands for all documents.
+     */
+    private static class LookupVisitor extends SearchBaseVisitor<Optional<Function<IndexData, BitSet>>> {
+
+        private final boolean caseSensitive;
+        private final boolean regex;
+
+
+        public LookupVisitor(boolean caseSensitive, boolean regex) {
+            this.caseSensitive = caseSensitive;
+            this.regex = regex;
+        }
+
+        @Override
+        public Optional<Function<IndexData, BitSet>> visitStart(SearchParser.StartContext ctx) {
+            return visit(ctx.expression());
+        }
+
+        @Override
+        public Optional<Function<IndexData, BitSet>> visitAtomExpression(SearchParser.AtomExpressionContext ctx) {
+            return visit(ctx.comparison());
+        }
+
+        @Override
+        public Optional<Function<IndexData, BitSet>> visitComparison(SearchParser.ComparisonContext ctx) {
+            GrammarBasedSearchRule.ComparisonOperator operator = GrammarBasedSearchRule.ComparisonOperator
+                    .build(ctx.operator.getText());
+            if (operator == GrammarBasedSearchRule.ComparisonOperator.DOES_NOT_CONTAIN) {
+                return Optional.empty();
+            }
+
+            // remove possible enclosing " symbols
+            String right = ctx.right.getText();
+            if (right.startsWith("\"") && right.endsWith("\"")) {
+                right = right.substring(1, right.length() - 1);
+            }
+
+            if (regex) {
+                // the field is a regular expression for the field names, as in GrammarBasedSearchRule.Comparator
+                Pattern fieldPattern = Pattern.compile(ctx.left.getText(), caseSensitive ? 0 : Pattern.CASE_INSENSITIVE);
+                if (fieldPattern.matcher("entrytype").matches()) {
+                    return Optional.empty();
+                }
+                if (operator == GrammarBasedSearchRule.ComparisonOperator.FUZZY) {
+                    return createLookupForSimilarTokens(right);
+                }
+                return createLookupForRegex(right, field -> fieldPattern.matcher(field).matches());
+            }
+
+            if ("entrytype".equalsIgnoreCase(ctx.left.getText())) {
+                return Optional.empty();
+            }
+            if (operator == GrammarBasedSearchRule.ComparisonOperator.FUZZY) {
+                return createLookupForSimilarTokens(right);
+            }
+            return createLookupForWord(right.toLowerCase());
+        }
+
+        @Override
+        public Optional<Function<IndexData, BitSet>> visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Function<IndexData, BitSet>> visitParenExpression(SearchParser.ParenExpressionContext ctx) {
+            return visit(ctx.expression());
+        }
+
+        @Override
+        public Optional<Function<IndexData, BitSet>> visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
+            if ("AND".equalsIgnoreCase(ctx.operator.getText())) {
+                return and(visit(ctx.left), visit(ctx.right));
+            } else {
+                return or(visit(ctx.left), visit(ctx.right));
+            }
+        }
+    }
+
+    private enum ChangeType {
+        ADDED,
+        REMOVED,
+        CHANGED
+    }
+
+    /**
+     * The posting lists and documents of the index
+     */
+    private static class IndexData {
+
+        private static final int MINIMUM_DELETED_DOCUMENTS_FOR_COMPACTION = 1024;
+
+        private final boolean indexTrigrams;
+        private final Map<String, Postings> postings = new HashMap<>();
+        // field -> trigram -> postings
+        private final Map<String, Map<String, Postings>> trigramPostings = new HashMap<>();
+        // document number -> entry, null if deleted
+        private final List<BibEntry> documents = new ArrayList<>();
+        private final Map<BibEntry, Integer> documentNumbers = new IdentityHashMap<>();
+        private int numberOfDeletedDocuments;
+
+
+        IndexData(boolean indexTrigrams) {
+            this.indexTrigrams = indexTrigrams;
+        }
+
+        boolean contains(BibEntry entry) {
+            return documentNumbers.containsKey(entry);
+        }
+
+        void add(BibEntry entry) {
+            if (contains(entry)) {
+                return;
+            }
+
+            int documentNumber = documents.size();
+            documents.add(entry);
+            documentNumbers.put(entry, documentNumber);
+            for (String token : getTokens(entry)) {
+                getOrCreatePostings(postings, token).add(documentNumber);
+            }
+
+            if (indexTrigrams) {
+                for (String field : entry.getFieldMap().keySet()) {
+                    Optional<String> value = entry.getLowerCaseLatexFreeField(field);
+                    if (!value.isPresent()) {
+                        continue;
+                    }
+
+                    Map<String, Postings> fieldPostings = trigramPostings.computeIfAbsent(STRINGS.intern(field),
+                            key -> new HashMap<>());
+                    String text = value.get();
+                    for (int i = 0; (i + TRIGRAM_LENGTH) <= text.length(); i++) {
+                        getOrCreatePostings(fieldPostings, text.substring(i, i + TRIGRAM_LENGTH)).add(documentNumber);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the postings of the given key. New keys are interned, as most of them occur in other indexes, too.
+         */
+        private static Postings getOrCreatePostings(Map<String, Postings> postingsMap, String key) {
+            Postings keyPostings = postingsMap.get(key);
+            if (keyPostings == null) {
+                keyPostings = new Postings();
+                postingsMap.put(STRINGS.intern(key), keyPostings);
+            }
+            return keyPostings;
+        }
+
+        void remove(BibEntry entry) {
+            Integer documentNumber = documentNumbers.remove(entry);
+            if (documentNumber != null) {
+                documents.set(documentNumber, null);
+                numberOfDeletedDocuments++;
+            }
+        }
+
+        BitSet getDocumentsWithToken(String token) {
+            BitSet result = new BitSet(documents.size());
+            Postings tokenPostings = postings.get(token);
+            if (tokenPostings != null) {
+                tokenPostings.addTo(result);
+            }
+            return result;
+        }
+
+        BitSet getDocumentsWithToken(Predicate<String> tokenFilter) {
+            BitSet result = new BitSet(documents.size());
+            for (Map.Entry<String, Postings> tokenPostings : postings.entrySet()) {
+                if (tokenFilter.test(tokenPostings.getKey())) {
+                    tokenPostings.getValue().addTo(result);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Returns the documents having all trigrams of the given (lower case) literal in one of the fields accepted by
+         * the filter. Without trigrams in the index, all documents are returned.
+         */
+        BitSet getDocumentsWithTrigramsOf(String literal, Predicate<String> fieldFilter) {
+            BitSet result = new BitSet(documents.size());
+            if (!indexTrigrams) {
+                result.set(0, documents.size());
+                return result;
+            }
+
+            for (Map.Entry<String, Map<String, Postings>> fieldPostings : trigramPostings.entrySet()) {
+                if (!fieldFilter.test(fieldPostings.getKey())) {
+                    continue;
+                }
+
+                List<Postings> literalPostings = new ArrayList<>();
+                for (int i = 0; (i + TRIGRAM_LENGTH) <= literal.length(); i++) {
+                    Postings trigramDocuments = fieldPostings.getValue()
+                            .get(literal.substring(i, i + TRIGRAM_LENGTH));
+                    if (trigramDocuments == null) {
+                        // no document contains the literal in this field
+                        literalPostings.clear();
+                        break;
+                    }
+                    literalPostings.add(trigramDocuments);
+                }
+                if (literalPostings.isEmpty()) {
+                    continue;
+                }
+
+                // start with the rarest trigram
+                literalPostings.sort(Comparator.comparingInt(trigramDocuments -> trigramDocuments.size));
+                BitSet fieldResult = new BitSet(documents.size());
+                literalPostings.get(0).addTo(fieldResult);
+                for (int i = 1; (i < literalPostings.size()) && !fieldResult.isEmpty(); i++) {
+                    BitSet trigramResult = new BitSet(documents.size());
+                    literalPostings.get(i).addTo(trigramResult);
+                    fieldResult.and(trigramResult);
+                }
+                result.or(fieldResult);
+            }
+            return result;
+        }
+
+        List<BibEntry> getDocuments(BitSet documentNumbers) {
+            List<BibEntry> result = new ArrayList<>(documentNumbers.cardinality());
+            for (int i = documentNumbers.nextSetBit(0); i >= 0; i = documentNumbers.nextSetBit(i + 1)) {
+                BibEntry entry = documents.get(i);
+                if (entry != null) {
+                    result.add(entry);
+                }
+            }
+            return result;
+        }
+
+        void compactIfNeeded() {
+            if ((numberOfDeletedDocuments >= MINIMUM_DELETED_DOCUMENTS_FOR_COMPACTION)
+                    && (numberOfDeletedDocuments > documentNumbers.size())) {
+                compact();
+            }
+        }
+
+        /**
+         * Renumbers the documents without the deleted ones
+         */
+        private void compact() {
+            int[] newNumbers = new int[documents.size()];
+            int nextNumber = 0;
+            for (int i = 0; i < documents.size(); i++) {
+                BibEntry entry = documents.get(i);
+                if (entry == null) {
+                    newNumbers[i] = -1;
+                } else {
+                    newNumbers[i] = nextNumber;
+                    documents.set(nextNumber, entry);
+                    documentNumbers.put(entry, nextNumber);
+                    nextNumber++;
+                }
+            }
+            documents.subList(nextNumber, documents.size()).clear();
+            numberOfDeletedDocuments = 0;
+
+            renumber(postings, newNumbers);
+            for (Map<String, Postings> fieldPostings : trigramPostings.values()) {
+                renumber(fieldPostings, newNumbers);
+            }
+            trigramPostings.values().removeIf(Map::isEmpty);
+        }
+
+        private static void renumber(Map<String, Postings> postingsMap, int[] newNumbers) {
+            Iterator<Postings> iterator = postingsMap.values().iterator();
+            while (iterator.hasNext()) {
+                Postings keyPostings = iterator.next();
+                keyPostings.renumber(newNumbers);
+                if (keyPostings.size == 0) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Increasing list of document numbers
+     */
+    private static class Postings {
+
+        private int[] documentNumbers = new int[2];
+        private int size;
+
+
+        void add(int documentNumber) {
+            if ((size > 0) && (documentNumbers[size - 1] == documentNumber)) {
+                // the document was already added
+                return;
+            }
+            if (size == documentNumbers.length) {
+                documentNumbers = Arrays.copyOf(documentNumbers, size * 2);
+            }
+            documentNumbers[size++] = documentNumber;
+        }
+
+        void addTo(BitSet bitSet) {
+            for (int i = 0; i < size; i++) {
+                bitSet.set(documentNumbers[i]);
+            }
+        }
+
+        void renumber(int[] newNumbers) {
+            int newSize = 0;
+            for (int i = 0; i < size; i++) {
+                int newNumber = newNumbers[documentNumbers[i]];
+                if (newNumber >= 0) {
+                    documentNumbers[newSize++] = newNumber;
+                }
+            }
+            size = newSize;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package net.sf.jabref.logic.search;
+
+import java.util.List;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * Observes a search run by the {@link SearchExecutor}: The search stops as soon as {@link #isCancelled()} returns true,
+ * the hits and the progress are reported after every searched chunk of entries, and all hits when the search is
+ * finished.
+ * <p>
+ * The methods are called by the threads of the search, so implementations have to be thread safe.
+ */
+@FunctionalInterface
+public interface SearchMonitor {
+
+    /**
+     * Monitor of searches which are never cancelled and whose progress is not of interest.
+     */
+    SearchMonitor NONE = () -> false;
+
+    boolean isCancelled();
+
+    /**
+     * Called with the hits of every searched chunk which contains hits, before the progress is reported. As the chunks
+     * are searched in parallel, the hits of later chunks may be reported first.
+     */
+    default void hitsFound(List<BibEntry> hits) {
+        // nothing to do
+    }
+
+    /**
+     * Called whenever a chunk of entries was searched.
+     *
+     * @param searchedEntries the number of entries searched so far
+     * @param totalEntries the number of entries to search
+     * @param hits the number of matching entries found so far
+     */
+    default void searchProgressed(int searchedEntries, int totalEntries, int hits) {
+        // nothing to do
+    }
+
+    /**
+     * Called when all entries were searched and the search was not cancelled.
+     *
+     * @param hits all matching entries, in the order of the searched entries
+     */
+    default void searchFinished(List<BibEntry> hits) {
+        // nothing to do
+    }
+}
@@ -0,0 +1,219 @@
+package net.sf.jabref.logic.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Report of how a {@link SearchQuery} was evaluated on a database, created by {@link SearchQuery#profile}.
+ * <p>
+ * The plan states whether the search index narrowed down the entries to check or all entries were scanned. The
+ * clauses are the sub-expressions of grammar based queries in the order of the query, each with the number of
+ * entries it was evaluated for, the number of matches and the time spent in it (including its subclauses). Other
+ * queries consist of a single clause.
+ */
+public class SearchProfile {
+
+    private final SearchQuery query;
+    private final String plan;
+    private final long planningNanos;
+    private final int entriesInDatabase;
+    private final int entriesExamined;
+    private final int hits;
+    private final long searchNanos;
+    private final List<Clause> clauses;
+
+
+    SearchProfile(SearchQuery query, String plan, long planningNanos, int entriesInDatabase, int entriesExamined,
+            int hits, long searchNanos, List<Clause> clauses) {
+        this.query = Objects.requireNonNull(query);
+        this.plan = Objects.requireNonNull(plan);
+        this.planningNanos = planningNanos;
+        this.entriesInDatabase = entriesInDatabase;
+        this.entriesExamined = entriesExamined;
+        this.hits = hits;
+        this.searchNanos = searchNanos;
+        this.clauses = Collections.unmodifiableList(new ArrayList<>(clauses));
+    }
+
+    public SearchQuery getQuery() {
+        return query;
+    }
+
+    /**
+     * Returns how the entries to examine were chosen, e.g., by a lookup in the search index or by a full scan.
+     */
+    public String getPlan() {
+        return plan;
+    }
+
+    public long getPlanningNanos() {
+        return planningNanos;
+    }
+
+    public int getEntriesInDatabase() {
+        return entriesInDatabase;
+    }
+
+    public int getEntriesExamined() {
+        return entriesExamined;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public long getSearchNanos() {
+        return searchNanos;
+    }
+
+    /**
+     * Returns the number of field values a regular expression was applied to.
+     */
+    public long getRegexEvaluations() {
+        return clauses.isEmpty() ? 0 : clauses.get(0).getRegexEvaluations();
+    }
+
+    /**
+     * Returns the clauses of the query, each clause followed by its subclauses. The first clause is the whole query.
+     */
+    public List<Clause> getClauses() {
+        return clauses;
+    }
+
+    /**
+     * Returns the profile as a text table for the console or the log.
+     */
+    public String getReport() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Search query: %s%n", query));
+        report.append(String.format("Search rule: %s%n", query.getRule().getClass().getSimpleName()));
+        report.append(String.format(Locale.ENGLISH, "Plan: %s (%.1f ms)%n", plan, toMillis(planningNanos)));
+        report.append(String.format(Locale.ENGLISH,
+                "Examined %d of %d entries in %.1f ms: %d hits, %d regular expression evaluations%n",
+                entriesExamined, entriesInDatabase, toMillis(searchNanos), hits, getRegexEvaluations()));
+
+        int width = "Clause".length();
+        for (Clause clause : clauses) {
+            width = Math.max(width, (2 * clause.getDepth()) + clause.getExpression().length());
+        }
+        String format = "%-" + width + "s  %11s  %9s  %11s  %9s  %17s%n";
+        report.append(String.format(format, "Clause", "Evaluations", "Matches", "Selectivity", "Time [ms]",
+                "Regex evaluations"));
+        for (Clause clause : clauses) {
+            report.append(String.format(Locale.ENGLISH, format, indent(clause.getDepth()) + clause.getExpression(),
+                    clause.getEvaluations(), clause.getMatches(),
+                    String.format(Locale.ENGLISH, "%.1f%%", 100 * clause.getSelectivity()),
+                    String.format(Locale.ENGLISH, "%.1f", toMillis(clause.getNanos())),
+                    clause.getRegexEvaluations()));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Returns a one line summary of a search, which is cheap enough to be logged for every search as it only uses
+     * numbers known from the search anyway. Unlike the report, it has no statistics of the clauses.
+     */
+    static String getSummary(SearchQuery query, String plan, int entriesInDatabase, int entriesExamined, int hits,
+            long searchNanos) {
+        return String.format(Locale.ENGLISH, "Searched %s: %s, examined %d of %d entries in %.1f ms: %d hits", query,
+                plan, entriesExamined, entriesInDatabase, toMillis(searchNanos), hits);
+    }
+
+    private static String indent(int depth) {
+        return String.join("", Collections.nCopies(depth, "  "));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return getReport();
+    }
+
+
+    /**
+     * Statistics of a clause of the query
+     */
+    public static class Clause {
+
+        private final String expression;
+        private final Clause parent;
+        private final int depth;
+
+        private long evaluations;
+        private long matches;
+        private long nanos;
+        private long regexEvaluations;
+
+
+        Clause(String expression, Clause parent) {
+            this.expression = Objects.requireNonNull(expression);
+            this.parent = parent;
+            this.depth = parent == null ? 0 : parent.depth + 1;
+        }
+
+        public String getExpression() {
+            return expression;
+        }
+
+        /**
+         * Returns the nesting depth of the clause, which is 0 for the whole query.
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        /**
+         * Returns the number of entries the clause was evaluated for. Subclauses of "and" and "or" are only evaluated
+         * if the result is not yet known.
+         */
+        public long getEvaluations() {
+            return evaluations;
+        }
+
+        public long getMatches() {
+            return matches;
+        }
+
+        /**
+         * Returns the fraction of the evaluations which matched, or 0 if the clause was never evaluated.
+         */
+        public double getSelectivity() {
+            return evaluations == 0 ? 0 : matches / (double) evaluations;
+        }
+
+        /**
+         * Returns the time spent in the clause, including its subclauses.
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Returns the number of field values a regular expression of the clause or its subclauses was applied to.
+         */
+        public long getRegexEvaluations() {
+            return regexEvaluations;
+        }
+
+        void addEvaluation(boolean matched, long evaluationNanos) {
+            evaluations++;
+            if (matched) {
+                matches++;
+            }
+            nanos += evaluationNanos;
+        }
+
+        void addRegexEvaluation() {
+            regexEvaluations++;
+            if (parent != null) {
+                parent.addRegexEvaluation();
+            }
+        }
+    }
+}
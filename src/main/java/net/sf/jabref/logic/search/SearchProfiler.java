@@ -0,0 +1,261 @@
+package net.sf.jabref.logic.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.search.rules.FuzzySearchRule;
+import net.sf.jabref.model.search.rules.GrammarBasedSearchRule;
+import net.sf.jabref.model.search.rules.RegexBasedSearchRule;
+import net.sf.jabref.model.search.rules.SearchRule;
+import net.sf.jabref.search.SearchBaseVisitor;
+import net.sf.jabref.search.SearchParser;
+
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Searches a database like {@link SearchIndex#getMatches(SearchQuery, BibDatabase)}, but entry by entry in the calling
+ * thread and with every clause of the query instrumented, to create a {@link SearchProfile}.
+ * <p>
+ * Grammar based queries are compiled like {@link GrammarBasedSearchRule} does, with each comparison, negation, "and"
+ * and "or" measured separately. Measuring adds a small overhead to every clause, so the times are meant to be
+ * compared with each other rather than with the time of a normal search.
+ */
+class SearchProfiler {
+
+    private static final Log LOGGER = LogFactory.getLog(SearchProfiler.class);
+
+    private final SearchQuery query;
+    private final BibDatabase database;
+    private final Optional<SearchIndex> index;
+
+
+    /**
+     * @param index the search index of the database, if there is one
+     */
+    SearchProfiler(SearchQuery query, BibDatabase database, Optional<SearchIndex> index) {
+        this.query = Objects.requireNonNull(query);
+        this.database = Objects.requireNonNull(database);
+        this.index = Objects.requireNonNull(index);
+    }
+
+    public SearchProfile profile() {
+        List<BibEntry> entries = database.getEntriesSnapshot();
+        List<SearchProfile.Clause> clauses = new ArrayList<>();
+        if (!query.isValid()) {
+            return new SearchProfile(query, "none, the query is invalid", 0, entries.size(), 0, 0, 0, clauses);
+        }
+
+        long planningStart = System.nanoTime();
+        List<BibEntry> candidates = entries;
+        String plan;
+        if (!index.isPresent()) {
+            plan = "full scan, the database has no search index";
+        } else if (!index.get().isReady()) {
+            plan = "full scan, the search index is being built";
+        } else {
+            Optional<List<BibEntry>> indexCandidates = index.get().getCandidates(query);
+            if (indexCandidates.isPresent()) {
+                candidates = indexCandidates.get();
+                plan = String.format(Locale.ENGLISH, "lookup of %s, %d of %d entries are candidates (%.1f%%)",
+                        getLookupDescription(), candidates.size(), entries.size(),
+                        entries.isEmpty() ? 0 : (100.0 * candidates.size()) / entries.size());
+            } else {
+                plan = "full scan, the search index cannot narrow down the query";
+            }
+            if (usesRegularExpressions() && !index.get().isIndexingTrigrams()) {
+                plan += "; the search index has no trigrams for regular expressions";
+            }
+        }
+        long planningNanos = System.nanoTime() - planningStart;
+
+        Predicate<BibEntry> matcher = compile(clauses);
+        long searchStart = System.nanoTime();
+        int hits = 0;
+        for (BibEntry entry : candidates) {
+            if (matcher.test(entry)) {
+                hits++;
+            }
+        }
+        long searchNanos = System.nanoTime() - searchStart;
+
+        return new SearchProfile(query, plan, planningNanos, entries.size(), candidates.size(), hits, searchNanos,
+                clauses);
+    }
+
+    private boolean usesRegularExpressions() {
+        return query.isRegularExpression() && !(query.getRule() instanceof FuzzySearchRule);
+    }
+
+    private String getLookupDescription() {
+        if (query.getRule() instanceof FuzzySearchRule) {
+            return "similar tokens in the search index";
+        } else if (usesRegularExpressions()) {
+            return "trigrams in the search index";
+        } else {
+            return "tokens in the search index";
+        }
+    }
+
+    /**
+     * Compiles the query into an instrumented predicate and adds its clauses to the given list.
+     */
+    private Predicate<BibEntry> compile(List<SearchProfile.Clause> clauses) {
+        SearchRule rule = query.getRule();
+        if (rule instanceof GrammarBasedSearchRule) {
+            GrammarBasedSearchRule grammarRule = (GrammarBasedSearchRule) rule;
+            try {
+                return new ProfilingCompiler(grammarRule.isCaseSensitiveSearch(), grammarRule.isRegExpSearch(),
+                        clauses).visit(grammarRule.getTree());
+            } catch (RuntimeException e) {
+                LOGGER.debug("Could not profile the clauses of search query " + query, e);
+                clauses.clear();
+            }
+        }
+
+        SearchProfile.Clause clause = new SearchProfile.Clause(query.getQuery(), null);
+        clauses.add(clause);
+        SearchRule profiledRule = rule;
+        if (rule instanceof RegexBasedSearchRule) {
+            profiledRule = new RegexBasedSearchRule(((RegexBasedSearchRule) rule).isCaseSensitive()) {
+
+                @Override
+                protected boolean find(Pattern pattern, String fieldValue) {
+                    clause.addRegexEvaluation();
+                    return super.find(pattern, fieldValue);
+                }
+            };
+        }
+        SearchRule ruleToApply = profiledRule;
+        return measure(clause, entry -> ruleToApply.applyRule(query.getQuery(), entry));
+    }
+
+    private static Predicate<BibEntry> measure(SearchProfile.Clause clause, Predicate<BibEntry> predicate) {
+        return entry -> {
+            long start = System.nanoTime();
+            boolean matched = predicate.test(entry);
+            clause.addEvaluation(matched, System.nanoTime() - start);
+            return matched;
+        };
+    }
+
+
+    /**
+     * Comparator counting the field values its regular expression is applied to
+     */
+    private static class ProfilingComparator extends GrammarBasedSearchRule.Comparator {
+
+        private final SearchProfile.Clause clause;
+        private final boolean valueIsRegex;
+
+
+        public ProfilingComparator(String field, String value, GrammarBasedSearchRule.ComparisonOperator operator,
+                boolean caseSensitive, boolean regex, SearchProfile.Clause clause) {
+            super(field, value, operator, caseSensitive, regex);
+            this.clause = clause;
+            this.valueIsRegex = regex && (operator != GrammarBasedSearchRule.ComparisonOperator.FUZZY);
+        }
+
+        @Override
+        public boolean matchFieldValue(String content) {
+            if (valueIsRegex) {
+                clause.addRegexEvaluation();
+            }
+            return super.matchFieldValue(content);
+        }
+    }
+
+    /**
+     * Compiles the parse tree of a grammar based query like {@link GrammarBasedSearchRule}, creating a clause for every
+     * comparison, negation and binary expression.
+     */
+    private class ProfilingCompiler extends SearchBaseVisitor<Predicate<BibEntry>> {
+
+        private final boolean caseSensitive;
+        private final boolean regex;
+        private final List<SearchProfile.Clause> clauses;
+
+        // the clause containing the visited expression
+        private SearchProfile.Clause parent;
+
+
+        public ProfilingCompiler(boolean caseSensitive, boolean regex, List<SearchProfile.Clause> clauses) {
+            this.caseSensitive = caseSensitive;
+            this.regex = regex;
+            this.clauses = clauses;
+        }
+
+        private SearchProfile.Clause createClause(ParserRuleContext ctx) {
+            String expression = query.getQuery().substring(ctx.getStart().getStartIndex(),
+                    ctx.getStop().getStopIndex() + 1);
+            SearchProfile.Clause clause = new SearchProfile.Clause(expression, parent);
+            clauses.add(clause);
+            return clause;
+        }
+
+        @Override
+        public Predicate<BibEntry> visitStart(SearchParser.StartContext ctx) {
+            return visit(ctx.expression());
+        }
+
+        @Override
+        public Predicate<BibEntry> visitAtomExpression(SearchParser.AtomExpressionContext ctx) {
+            return visit(ctx.comparison());
+        }
+
+        @Override
+        public Predicate<BibEntry> visitComparison(SearchParser.ComparisonContext ctx) {
+            SearchProfile.Clause clause = createClause(ctx);
+
+            // remove possible enclosing " symbols
+            String right = ctx.right.getText();
+            if (right.startsWith("\"") && right.endsWith("\"")) {
+                right = right.substring(1, right.length() - 1);
+            }
+
+            GrammarBasedSearchRule.Comparator comparator = new ProfilingComparator(ctx.left.getText(), right,
+                    GrammarBasedSearchRule.ComparisonOperator.build(ctx.operator.getText()), caseSensitive, regex,
+                    clause);
+            return measure(clause, comparator::compare);
+        }
+
+        @Override
+        public Predicate<BibEntry> visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
+            SearchProfile.Clause clause = createClause(ctx);
+            SearchProfile.Clause outer = parent;
+            parent = clause;
+            Predicate<BibEntry> expression = visit(ctx.expression());
+            parent = outer;
+            return measure(clause, expression.negate());
+        }
+
+        @Override
+        public Predicate<BibEntry> visitParenExpression(SearchParser.ParenExpressionContext ctx) {
+            return visit(ctx.expression());
+        }
+
+        @Override
+        public Predicate<BibEntry> visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
+            SearchProfile.Clause clause = createClause(ctx);
+            SearchProfile.Clause outer = parent;
+            parent = clause;
+            Predicate<BibEntry> left = visit(ctx.left);
+            Predicate<BibEntry> right = visit(ctx.right);
+            parent = outer;
+
+            if ("AND".equalsIgnoreCase(ctx.operator.getText())) {
+                return measure(clause, left.and(right));
+            } else {
+                return measure(clause, left.or(right));
+            }
+        }
+    }
+}
@@ -5,9 +5,11 @@ import java.util.Objects;
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.logic.search.rules.describer.SearchDescriber;
 import net.sf.jabref.logic.search.rules.describer.SearchDescribers;
+import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.search.SearchMatcher;
 import net.sf.jabref.model.search.rules.ContainBasedSearchRule;
+import net.sf.jabref.model.search.rules.FuzzySearchRule;
 import net.sf.jabref.model.search.rules.GrammarBasedSearchRule;
 import net.sf.jabref.model.search.rules.SearchRule;
 import net.sf.jabref.model.search.rules.SearchRules;
@@ -17,13 +19,23 @@ public class SearchQuery implements SearchMatcher {
     private final String query;
     private final boolean caseSensitive;
     private final boolean regularExpression;
+    private final boolean fuzzy;
     private final SearchRule rule;
     private final String description;
 
     public SearchQuery(String query, boolean caseSensitive, boolean regularExpression) {
+        this(query, caseSensitive, regularExpression, false);
+    }
+
+    /**
+     * @param fuzzy whether a plain query should find entries with terms similar to the terms of the query (see
+     *              {@link FuzzySearchRule})
+     */
+    public SearchQuery(String query, boolean caseSensitive, boolean regularExpression, boolean fuzzy) {
         this.query = Objects.requireNonNull(query);
         this.caseSensitive = caseSensitive;
         this.regularExpression = regularExpression;
+        this.fuzzy = fuzzy;
         this.rule = Objects.requireNonNull(getSearchRule());
         this.description = Objects.requireNonNull(getSearchDescriber().getDescription());
     }
@@ -42,12 +54,21 @@ public class SearchQuery implements SearchMatcher {
         return this.getRule().validateSearchStrings(getQuery());
     }
 
+    /**
+     * Searches the given database entry by entry and reports how the query was evaluated: whether the search index
+     * narrowed down the entries, and the number of evaluations, the matches and the time of every clause. Meant for
+     * finding out why a search is slow, as the search does not run in parallel and every clause is measured.
+     */
+    public SearchProfile profile(BibDatabase database) {
+        return new SearchProfiler(this, database, SearchIndex.getIndex(database)).profile();
+    }
+
     public boolean isContainsBasedSearch() {
         return this.getRule() instanceof ContainBasedSearchRule;
     }
 
     private SearchRule getSearchRule() {
-        return SearchRules.getSearchRuleByQuery(getQuery(), isCaseSensitive(), isRegularExpression());
+        return SearchRules.getSearchRuleByQuery(getQuery(), isCaseSensitive(), isRegularExpression(), isFuzzy());
     }
 
     private SearchDescriber getSearchDescriber() {
@@ -93,6 +114,10 @@ public class SearchQuery implements SearchMatcher {
         }
     }
 
+    public boolean isFuzzySearch() {
+        return this.getRule() instanceof FuzzySearchRule;
+    }
+
     public boolean isGrammarBasedSearch() {
         return this.getRule() instanceof GrammarBasedSearchRule;
     }
@@ -109,11 +134,15 @@ public class SearchQuery implements SearchMatcher {
         return regularExpression;
     }
 
+    public boolean isFuzzy() {
+        return fuzzy;
+    }
+
     public String getDescription() {
         return description;
     }
 
-    private SearchRule getRule() {
+    public SearchRule getRule() {
         return rule;
     }
 }
@@ -68,7 +68,8 @@ public class SearchQueryHighlightObservable {
         Objects.requireNonNull(searchQuery);
 
         // Parse the search string to words
-        if (searchQuery.isGrammarBasedSearch()) {
+        if (searchQuery.isGrammarBasedSearch() || searchQuery.isFuzzySearch()) {
+            // the terms to highlight are not known
             pattern = Optional.empty();
         } else if (searchQuery.isRegularExpression()) {
             pattern = getPatternForWords(Collections.singletonList(searchQuery.getQuery()), true, searchQuery.isCaseSensitive());
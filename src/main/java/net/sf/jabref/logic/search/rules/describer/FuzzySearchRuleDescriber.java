@@ -0,0 +1,43 @@
+package net.sf.jabref.logic.search.rules.describer;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import net.sf.jabref.logic.l10n.Localization;
+import net.sf.jabref.logic.util.strings.StringUtil;
+import net.sf.jabref.model.search.rules.LevenshteinMatcher;
+
+public class FuzzySearchRuleDescriber implements SearchDescriber {
+
+    private final boolean caseSensitive;
+    private final String query;
+
+    public FuzzySearchRuleDescriber(boolean caseSensitive, String query) {
+        this.caseSensitive = caseSensitive;
+        this.query = query;
+    }
+
+    @Override
+    public String getDescription() {
+        List<String> words = LevenshteinMatcher.getTokens(query);
+        String firstWord = words.isEmpty() ? "" : words.get(0);
+
+        StringBuilder searchDescription = new StringBuilder(Localization.lang(
+                "This search contains entries in which any field contains a term similar to <b>%0</b>",
+                StringUtil.quoteForHTML(firstWord)));
+
+        String andSeparator = String.format(" %s ", Localization.lang("and"));
+        if (words.size() > 1) {
+            List<String> unprocessedWordsInHtmlFormat = new LinkedList<>();
+            for (String word : words.subList(1, words.size())) {
+                unprocessedWordsInHtmlFormat.add(String.format("<b>%s</b>", StringUtil.quoteForHTML(word)));
+            }
+            searchDescription.append(andSeparator).append(String.join(andSeparator, unprocessedWordsInHtmlFormat));
+        }
+
+        String caseSensitiveDescription = caseSensitive ? Localization.lang("case sensitive")
+                : Localization.lang("case insensitive");
+        String genericDescription = "<p><br>" + Localization.lang("Hint: To search specific fields only, enter for example:<p><tt>author=smith and title=electrical</tt>");
+        return String.format("%s (%s). %s", searchDescription.toString(), caseSensitiveDescription, genericDescription);
+    }
+}
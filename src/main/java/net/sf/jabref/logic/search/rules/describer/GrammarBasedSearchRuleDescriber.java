@@ -89,6 +89,8 @@ public class GrammarBasedSearchRuleDescriber implements SearchDescriber {
                     }
                     return Localization.lang("%0 doesn't contain the term <b>%1</b>", fieldSpecQuoted,
                             termQuoted);
+                } else if (operator == GrammarBasedSearchRule.ComparisonOperator.FUZZY) {
+                    return Localization.lang("%0 contains a term similar to <b>%1</b>", fieldSpecQuoted, termQuoted);
                 } else {
                     throw new IllegalStateException("CANNOT HAPPEN!");
                 }
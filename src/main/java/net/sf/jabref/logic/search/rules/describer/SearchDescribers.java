@@ -1,6 +1,7 @@
 package net.sf.jabref.logic.search.rules.describer;
 
 import net.sf.jabref.model.search.rules.ContainBasedSearchRule;
+import net.sf.jabref.model.search.rules.FuzzySearchRule;
 import net.sf.jabref.model.search.rules.GrammarBasedSearchRule;
 import net.sf.jabref.model.search.rules.RegexBasedSearchRule;
 import net.sf.jabref.model.search.rules.SearchRule;
@@ -27,6 +28,10 @@ public class SearchDescribers {
             RegexBasedSearchRule regexBasedSearchRule = (RegexBasedSearchRule) searchRule;
 
             return new ContainsAndRegexBasedSearchRuleDescriber(regexBasedSearchRule.isCaseSensitive(), true, query);
+        } else if (searchRule instanceof FuzzySearchRule) {
+            FuzzySearchRule fuzzySearchRule = (FuzzySearchRule) searchRule;
+
+            return new FuzzySearchRuleDescriber(fuzzySearchRule.isCaseSensitive(), query);
         } else {
             throw new IllegalStateException("Cannot find a describer for searchRule " + searchRule + " and query " + query);
         }
@@ -1,18 +1,23 @@
 package net.sf.jabref.model.database;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Pattern;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import net.sf.jabref.model.database.event.EntryAddedEvent;
@@ -21,32 +26,31 @@ import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.BibtexString;
 import net.sf.jabref.model.entry.FieldName;
 import net.sf.jabref.model.entry.InternalBibtexFields;
-import net.sf.jabref.model.entry.MonthUtil;
+import net.sf.jabref.model.entry.SharedBibEntryData;
+import net.sf.jabref.model.entry.event.BibtexStringChangedEvent;
 import net.sf.jabref.model.entry.event.EntryChangedEvent;
 import net.sf.jabref.model.entry.event.EntryEventSource;
 import net.sf.jabref.model.entry.event.FieldChangedEvent;
 
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
-import org.apache.commons.logging.Log;
-import org.apache.commons.logging.LogFactory;
 
 /**
  * A bibliography database.
  */
 public class BibDatabase {
 
-    private static final Log LOGGER = LogFactory.getLog(BibDatabase.class);
-
     /**
      * State attributes
      */
-    private final List<BibEntry> entries = Collections.synchronizedList(new ArrayList<>());
+    private volatile EntriesSnapshot entries = EntriesSnapshot.EMPTY;
+    private final List<BibEntry> entriesView = new EntriesView();
 
     private String preamble;
     // All file contents below the last entry in the file
     private String epilog = "";
     private final Map<String, BibtexString> bibtexStrings = new ConcurrentHashMap<>();
+    private final BibtexStringResolver stringResolver = new BibtexStringResolver(bibtexStrings.values());
 
     /**
      * this is kept in sync with the database (upon adding/removing an entry, it is updated as well)
@@ -58,10 +62,24 @@ public class BibDatabase {
      */
     private final Set<String> internalIDs = new HashSet<>();
 
+    /**
+     * Secondary indexes, kept in sync with the entries
+     */
+    private final EntryIndex citeKeyIndex = EntryIndex.forField(BibEntry.KEY_FIELD);
+    private final EntryIndex doiIndex = EntryIndex.forField(FieldName.DOI, BibDatabase::normalizeDoi);
+    private final EntryIndex sharedIdIndex = EntryIndex.forKey(BibDatabase::getSharedIdKey);
+    private final Map<String, EntryIndex> fieldIndexes = new ConcurrentHashMap<>();
+    private final List<EntryIndex> indexes = new CopyOnWriteArrayList<>();
+
     private final EventBus eventBus = new EventBus();
 
 
     public BibDatabase() {
+        fieldIndexes.put(BibEntry.KEY_FIELD, citeKeyIndex);
+        fieldIndexes.put(FieldName.DOI, doiIndex);
+        indexes.add(citeKeyIndex);
+        indexes.add(doiIndex);
+        indexes.add(sharedIdIndex);
         this.registerListener(new KeyChangeListener(this));
     }
 
@@ -94,8 +112,23 @@ public class BibDatabase {
         return internalIDs.contains(id);
     }
 
+    /**
+     * Returns an unmodifiable view of the entries, which reflects later changes of the database. Iterating over the view
+     * (or streaming it) never throws a {@link java.util.ConcurrentModificationException}: The iteration works on the
+     * entries at the time it started.
+     * <p>
+     * Use {@link #getEntriesSnapshot()} to work on a consistent state of the entries.
+     */
     public List<BibEntry> getEntries() {
-        return Collections.unmodifiableList(entries);
+        return entriesView;
+    }
+
+    /**
+     * Returns the current entries as immutable snapshot. Taking a snapshot takes constant time and does not lock the
+     * database.
+     */
+    public EntriesSnapshot getEntriesSnapshot() {
+        return entries;
     }
 
     /**
@@ -116,13 +149,8 @@ public class BibDatabase {
     /**
      * Returns the entry with the given bibtex key.
      */
-    public synchronized Optional<BibEntry> getEntryByKey(String key) {
-        for (BibEntry entry : entries) {
-            if (key.equals(entry.getCiteKeyOptional().orElse(null))) {
-                return Optional.of(entry);
-            }
-        }
-        return Optional.empty();
+    public Optional<BibEntry> getEntryByKey(String key) {
+        return citeKeyIndex.getFirstEntry(key);
     }
 
     /**
@@ -132,17 +160,96 @@ public class BibDatabase {
      * @param key
      * @return list of entries that contains the given key
      */
-    public synchronized List<BibEntry> getEntriesByKey(String key) {
-        List<BibEntry> result = new ArrayList<>();
+    public List<BibEntry> getEntriesByKey(String key) {
+        return citeKeyIndex.getEntries(key);
+    }
 
-        for (BibEntry entry : entries) {
-            entry.getCiteKeyOptional().ifPresent(entryKey -> {
-                if (key.equals(entryKey)) {
-                    result.add(entry);
-                }
-            });
+    /**
+     * Returns the entry with the given shared ID (see {@link SharedBibEntryData#getSharedID()}).
+     */
+    public Optional<BibEntry> getEntryBySharedID(int sharedID) {
+        String key = String.valueOf(sharedID);
+        Optional<BibEntry> entry = sharedIdIndex.getFirstEntry(key);
+        if (!entry.isPresent()) {
+            // shared IDs are assigned without an event after the entry was inserted, so pick them up now
+            sharedIdIndex.refreshEntriesWithoutKey();
+            entry = sharedIdIndex.getFirstEntry(key);
         }
-        return result;
+        return entry;
+    }
+
+    /**
+     * Returns the entries with the given DOI in the order they appear in the database. DOIs are compared ignoring
+     * case.
+     */
+    public List<BibEntry> getEntriesByDOI(String doi) {
+        return doiIndex.getEntries(doi);
+    }
+
+    /**
+     * Returns the entries whose given field has the given value in the order they appear in the database.
+     * If an index was created for the field (see {@link #createIndex(String)}), it is used for the lookup.
+     */
+    public List<BibEntry> getEntriesByField(String fieldName, String value) {
+        Optional<EntryIndex> index = getIndex(fieldName);
+        if (index.isPresent()) {
+            return index.get().getEntries(value);
+        }
+
+        return getEntries().stream().filter(entry -> entry.getField(fieldName).filter(value::equals).isPresent())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Creates an index on the given field, which is kept up to date while the database changes. If there is already
+     * an index on the field, the existing index is returned.
+     */
+    public synchronized EntryIndex createIndex(String fieldName) {
+        String name = fieldName.toLowerCase(Locale.ENGLISH);
+        EntryIndex index = fieldIndexes.get(name);
+        if (index == null) {
+            index = EntryIndex.forField(name);
+            index.addAll(getEntries());
+            fieldIndexes.put(name, index);
+            indexes.add(index);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the index on the given field, if there is one.
+     */
+    public Optional<EntryIndex> getIndex(String fieldName) {
+        return Optional.ofNullable(fieldIndexes.get(fieldName.toLowerCase(Locale.ENGLISH)));
+    }
+
+    /**
+     * Removes the index on the given field created by {@link #createIndex(String)}. The built-in indexes on the cite
+     * key and the DOI are kept.
+     */
+    public synchronized void removeIndex(String fieldName) {
+        String name = fieldName.toLowerCase(Locale.ENGLISH);
+        if (BibEntry.KEY_FIELD.equals(name) || FieldName.DOI.equals(name)) {
+            return;
+        }
+
+        EntryIndex index = fieldIndexes.remove(name);
+        if (index != null) {
+            indexes.remove(index);
+            index.clear();
+        }
+    }
+
+    private static String normalizeDoi(String doi) {
+        return doi.trim().toLowerCase(Locale.ENGLISH);
+    }
+
+    private static Optional<String> getSharedIdKey(BibEntry entry) {
+        int sharedID = entry.getSharedBibEntryData().getSharedID();
+        if (sharedID == -1) {
+            return Optional.empty();
+        }
+        return Optional.of(String.valueOf(sharedID));
     }
 
     /**
@@ -179,7 +286,8 @@ public class BibDatabase {
         }
 
         internalIDs.add(id);
-        entries.add(entry);
+        entries = entries.withEntry(entry);
+        indexes.forEach(index -> index.add(entry));
         entry.registerListener(this);
 
         eventBus.post(new EntryAddedEvent(entry, eventSource));
@@ -204,7 +312,13 @@ public class BibDatabase {
     public synchronized void removeEntry(BibEntry toBeDeleted, EntryEventSource eventSource) {
         Objects.requireNonNull(toBeDeleted);
 
-        boolean anyRemoved = entries.removeIf(entry -> entry.getId().equals(toBeDeleted.getId()));
+        EntriesSnapshot oldEntries = entries;
+        entries = oldEntries.without(entry -> entry.getId().equals(toBeDeleted.getId()));
+        boolean anyRemoved = entries != oldEntries;
+        if (anyRemoved) {
+            oldEntries.stream().filter(entry -> entry.getId().equals(toBeDeleted.getId()))
+                    .forEach(entry -> indexes.forEach(index -> index.remove(entry)));
+        }
         if (anyRemoved) {
             internalIDs.remove(toBeDeleted.getId());
             toBeDeleted.getCiteKeyOptional().ifPresent(duplicationChecker::removeKeyFromSet);
@@ -260,13 +374,19 @@ public class BibDatabase {
         }
 
         bibtexStrings.put(string.getId(), string);
+        string.registerListener(this);
+        stringResolver.invalidate(string.getName());
     }
 
     /**
      * Removes the string with the given id.
      */
     public void removeString(String id) {
-        bibtexStrings.remove(id);
+        BibtexString string = bibtexStrings.remove(id);
+        if (string != null) {
+            string.unregisterListener(this);
+            stringResolver.invalidate(string.getName());
+        }
     }
 
     /**
@@ -345,7 +465,7 @@ public class BibDatabase {
      */
     public String resolveForStrings(String content) {
         Objects.requireNonNull(content, "Content for resolveForStrings must not be null.");
-        return resolveContent(content, new HashSet<>());
+        return stringResolver.resolve(content);
     }
 
     /**
@@ -397,101 +517,6 @@ public class BibDatabase {
         return resultingEntry;
     }
 
-    /**
-     * If the label represents a string contained in this database, returns
-     * that string's content. Resolves references to other strings, taking
-     * care not to follow a circular reference pattern.
-     * If the string is undefined, returns null.
-     */
-    private String resolveString(String label, Set<String> usedIds) {
-        for (BibtexString string : bibtexStrings.values()) {
-            if (string.getName().equalsIgnoreCase(label)) {
-                // First check if this string label has been resolved
-                // earlier in this recursion. If so, we have a
-                // circular reference, and have to stop to avoid
-                // infinite recursion.
-                if (usedIds.contains(string.getId())) {
-                    LOGGER.info("Stopped due to circular reference in strings: " + label);
-                    return label;
-                }
-                // If not, log this string's ID now.
-                usedIds.add(string.getId());
-
-                // Ok, we found the string. Now we must make sure we
-                // resolve any references to other strings in this one.
-                String result = string.getContent();
-                result = resolveContent(result, usedIds);
-
-                // Finished with recursing this branch, so we remove our
-                // ID again:
-                usedIds.remove(string.getId());
-
-                return result;
-            }
-        }
-
-        // If we get to this point, the string has obviously not been defined locally.
-        // Check if one of the standard BibTeX month strings has been used:
-        MonthUtil.Month month = MonthUtil.getMonthByShortName(label);
-        if (month.isValid()) {
-            return month.fullName;
-        } else {
-            return null;
-        }
-    }
-
-
-    private static final Pattern RESOLVE_CONTENT_PATTERN = Pattern.compile(".*#[^#]+#.*");
-
-
-    private String resolveContent(String result, Set<String> usedIds) {
-        String res = result;
-        if (RESOLVE_CONTENT_PATTERN.matcher(res).matches()) {
-            StringBuilder newRes = new StringBuilder();
-            int piv = 0;
-            int next;
-            while ((next = res.indexOf('#', piv)) >= 0) {
-
-                // We found the next string ref. Append the text
-                // up to it.
-                if (next > 0) {
-                    newRes.append(res.substring(piv, next));
-                }
-                int stringEnd = res.indexOf('#', next + 1);
-                if (stringEnd >= 0) {
-                    // We found the boundaries of the string ref,
-                    // now resolve that one.
-                    String refLabel = res.substring(next + 1, stringEnd);
-                    String resolved = resolveString(refLabel, usedIds);
-
-                    if (resolved == null) {
-                        // Could not resolve string. Display the #
-                        // characters rather than removing them:
-                        newRes.append(res.substring(next, stringEnd + 1));
-                    } else {
-                        // The string was resolved, so we display its meaning only,
-                        // stripping the # characters signifying the string label:
-                        newRes.append(resolved);
-                    }
-                    piv = stringEnd + 1;
-                } else {
-                    // We did not find the boundaries of the string ref. This
-                    // makes it impossible to interpret it as a string label.
-                    // So we should just append the rest of the text and finish.
-                    newRes.append(res.substring(next));
-                    piv = res.length();
-                    break;
-                }
-
-            }
-            if (piv < (res.length() - 1)) {
-                newRes.append(res.substring(piv));
-            }
-            res = newRes.toString();
-        }
-        return res;
-    }
-
     /**
      * @deprecated use  {@link BibDatabase#resolveForStrings(String)}
      * Returns a text with references resolved according to an optionally given database.
@@ -523,6 +548,7 @@ public class BibDatabase {
      *   - {@link EntryAddedEvent}
      *   - {@link EntryChangedEvent}
      *   - {@link EntryRemovedEvent}
+     *   - {@link BibtexStringChangedEvent}
      *
      * @param listener listener (subscriber) to add
      */
@@ -540,10 +566,55 @@ public class BibDatabase {
 
     @Subscribe
     private void relayEntryChangeEvent(FieldChangedEvent event) {
+        indexes.forEach(index -> index.fieldChanged(event));
+        eventBus.post(event);
+    }
+
+    @Subscribe
+    private void relayStringChangeEvent(BibtexStringChangedEvent event) {
+        stringResolver.invalidate(event.getOldName());
+        stringResolver.invalidate(event.getBibtexString().getName());
         eventBus.post(event);
     }
 
     public Optional<BibEntry> getReferencedEntry(BibEntry entry) {
         return entry.getField(FieldName.CROSSREF).flatMap(this::getEntryByKey);
     }
+
+
+    /**
+     * Read-only view of the current entries
+     */
+    private class EntriesView extends AbstractList<BibEntry> implements RandomAccess {
+
+        @Override
+        public BibEntry get(int index) {
+            return entries.get(index);
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return entries.isEmpty();
+        }
+
+        @Override
+        public Iterator<BibEntry> iterator() {
+            return entries.iterator();
+        }
+
+        @Override
+        public Spliterator<BibEntry> spliterator() {
+            return entries.spliterator();
+        }
+
+        @Override
+        public void forEach(Consumer<? super BibEntry> action) {
+            entries.forEach(action);
+        }
+    }
 }
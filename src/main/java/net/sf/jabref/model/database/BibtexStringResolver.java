@@ -0,0 +1,271 @@
+package net.sf.jabref.model.database;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import net.sf.jabref.model.entry.BibtexString;
+import net.sf.jabref.model.entry.MonthUtil;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Resolves references to the strings of a {@link BibDatabase} (#label#) and memoizes the results.
+ * <p>
+ * Both the resolved values of the string labels and of the resolved contents (e.g., field values) are cached. For
+ * every cached value, the labels it references are recorded. When a string is added, removed, renamed or its content
+ * changes, {@link #invalidate(String)} drops the cached values which (directly or through other strings) depend on
+ * the label, all other values stay cached.
+ * <p>
+ * Resolutions which ran into a circular reference are not cached, as their result depends on the label the resolution
+ * started with.
+ */
+class BibtexStringResolver {
+
+    private static final Log LOGGER = LogFactory.getLog(BibtexStringResolver.class);
+
+    private static final Pattern RESOLVE_CONTENT_PATTERN = Pattern.compile(".*#[^#]+#.*");
+
+    // the content cache is cleared when it gets larger, labels are limited by the number of strings anyway
+    private static final int MAXIMUM_NUMBER_OF_CACHED_CONTENTS = 100_000;
+
+    private final Collection<BibtexString> strings;
+
+    private final Map<String, Resolution> resolvedLabels = new ConcurrentHashMap<>();
+    private final Map<String, Resolution> resolvedContents = new ConcurrentHashMap<>();
+
+    // label -> labels and contents which reference the label, guarded by this
+    private final Map<String, Set<String>> dependentLabels = new HashMap<>();
+    private final Map<String, Set<String>> dependentContents = new HashMap<>();
+
+    // incremented on every invalidation, so resolutions computed concurrently with an invalidation are not cached
+    private volatile long generation;
+
+
+    /**
+     * @param strings live view of the strings of the database
+     */
+    BibtexStringResolver(Collection<BibtexString> strings) {
+        this.strings = strings;
+    }
+
+    /**
+     * Resolves any references to strings contained in the given content, if possible.
+     */
+    String resolve(String content) {
+        if (content.indexOf('#') < 0) {
+            return content;
+        }
+
+        Resolution cachedResolution = resolvedContents.get(content);
+        if (cachedResolution != null) {
+            return cachedResolution.value;
+        }
+
+        long startGeneration = generation;
+        ResolutionContext context = new ResolutionContext();
+        Set<String> referencedLabels = new HashSet<>();
+        String result = resolveContent(content, context, referencedLabels);
+        if (!context.foundCircularReference) {
+            storeContent(content, new Resolution(result, referencedLabels), startGeneration);
+        }
+        return result;
+    }
+
+    /**
+     * Drops all cached values depending on the string with the given label.
+     */
+    synchronized void invalidate(String label) {
+        generation++;
+
+        Set<String> invalidatedLabels = new HashSet<>();
+        Deque<String> labelsToInvalidate = new ArrayDeque<>();
+        labelsToInvalidate.add(toKey(label));
+        while (!labelsToInvalidate.isEmpty()) {
+            String key = labelsToInvalidate.pop();
+            if (!invalidatedLabels.add(key)) {
+                continue;
+            }
+
+            resolvedLabels.remove(key);
+            Set<String> contents = dependentContents.remove(key);
+            if (contents != null) {
+                contents.forEach(resolvedContents::remove);
+            }
+            Set<String> labels = dependentLabels.remove(key);
+            if (labels != null) {
+                labelsToInvalidate.addAll(labels);
+            }
+        }
+    }
+
+    /**
+     * Drops all cached values.
+     */
+    synchronized void invalidateAll() {
+        generation++;
+        resolvedLabels.clear();
+        resolvedContents.clear();
+        dependentLabels.clear();
+        dependentContents.clear();
+    }
+
+    /**
+     * If the label represents a string contained in the database, returns
+     * that string's content. Resolves references to other strings, taking
+     * care not to follow a circular reference pattern.
+     * If the string is undefined, returns null.
+     */
+    private String resolveString(String label, ResolutionContext context) {
+        String key = toKey(label);
+        Resolution cachedResolution = resolvedLabels.get(key);
+        if (cachedResolution != null) {
+            return cachedResolution.value;
+        }
+
+        long startGeneration = generation;
+        for (BibtexString string : strings) {
+            if (string.getName().equalsIgnoreCase(label)) {
+                // First check if this string label has been resolved
+                // earlier in this recursion. If so, we have a
+                // circular reference, and have to stop to avoid
+                // infinite recursion.
+                if (context.usedIds.contains(string.getId())) {
+                    LOGGER.info("Stopped due to circular reference in strings: " + label);
+                    context.foundCircularReference = true;
+                    return label;
+                }
+                // If not, log this string's ID now.
+                context.usedIds.add(string.getId());
+
+                // Ok, we found the string. Now we must make sure we
+                // resolve any references to other strings in this one.
+                Set<String> referencedLabels = new HashSet<>();
+                String result = resolveContent(string.getContent(), context, referencedLabels);
+
+                // Finished with recursing this branch, so we remove our
+                // ID again:
+                context.usedIds.remove(string.getId());
+
+                if (!context.foundCircularReference) {
+                    storeLabel(key, new Resolution(result, referencedLabels), startGeneration);
+                }
+                return result;
+            }
+        }
+
+        // If we get to this point, the string has obviously not been defined locally.
+        // Check if one of the standard BibTeX month strings has been used:
+        MonthUtil.Month month = MonthUtil.getMonthByShortName(label);
+        String result = month.isValid() ? month.fullName : null;
+        storeLabel(key, new Resolution(result, new HashSet<>()), startGeneration);
+        return result;
+    }
+
+    private String resolveContent(String result, ResolutionContext context, Set<String> referencedLabels) {
+        String res = result;
+        if (RESOLVE_CONTENT_PATTERN.matcher(res).matches()) {
+            StringBuilder newRes = new StringBuilder();
+            int piv = 0;
+            int next;
+            while ((next = res.indexOf('#', piv)) >= 0) {
+
+                // We found the next string ref. Append the text
+                // up to it.
+                if (next > 0) {
+                    newRes.append(res.substring(piv, next));
+                }
+                int stringEnd = res.indexOf('#', next + 1);
+                if (stringEnd >= 0) {
+                    // We found the boundaries of the string ref,
+                    // now resolve that one.
+                    String refLabel = res.substring(next + 1, stringEnd);
+                    referencedLabels.add(toKey(refLabel));
+                    String resolved = resolveString(refLabel, context);
+
+                    if (resolved == null) {
+                        // Could not resolve string. Display the #
+                        // characters rather than removing them:
+                        newRes.append(res.substring(next, stringEnd + 1));
+                    } else {
+                        // The string was resolved, so we display its meaning only,
+                        // stripping the # characters signifying the string label:
+                        newRes.append(resolved);
+                    }
+                    piv = stringEnd + 1;
+                } else {
+                    // We did not find the boundaries of the string ref. This
+                    // makes it impossible to interpret it as a string label.
+                    // So we should just append the rest of the text and finish.
+                    newRes.append(res.substring(next));
+                    piv = res.length();
+                    break;
+                }
+
+            }
+            if (piv < (res.length() - 1)) {
+                newRes.append(res.substring(piv));
+            }
+            res = newRes.toString();
+        }
+        return res;
+    }
+
+    private synchronized void storeLabel(String key, Resolution resolution, long startGeneration) {
+        if (startGeneration != generation) {
+            return;
+        }
+
+        resolvedLabels.put(key, resolution);
+        for (String referencedLabel : resolution.referencedLabels) {
+            dependentLabels.computeIfAbsent(referencedLabel, k -> new HashSet<>()).add(key);
+        }
+    }
+
+    private synchronized void storeContent(String content, Resolution resolution, long startGeneration) {
+        if (startGeneration != generation) {
+            return;
+        }
+
+        if (resolvedContents.size() >= MAXIMUM_NUMBER_OF_CACHED_CONTENTS) {
+            resolvedContents.clear();
+            dependentContents.clear();
+        }
+        resolvedContents.put(content, resolution);
+        for (String referencedLabel : resolution.referencedLabels) {
+            dependentContents.computeIfAbsent(referencedLabel, k -> new HashSet<>()).add(content);
+        }
+    }
+
+    private static String toKey(String label) {
+        return label.toLowerCase(Locale.ROOT);
+    }
+
+
+    private static class Resolution {
+
+        // null if the label is undefined
+        private final String value;
+        private final Set<String> referencedLabels;
+
+
+        public Resolution(String value, Set<String> referencedLabels) {
+            this.value = value;
+            this.referencedLabels = referencedLabels;
+        }
+    }
+
+    private static class ResolutionContext {
+
+        private final Set<String> usedIds = new HashSet<>();
+        private boolean foundCircularReference;
+    }
+}
@@ -0,0 +1,114 @@
+package net.sf.jabref.model.database;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * Immutable list of the entries of a {@link BibDatabase} at one point in time (see
+ * {@link BibDatabase#getEntriesSnapshot()}).
+ * <p>
+ * A snapshot can be iterated by any thread without locking while the database is changed, it never changes and never
+ * throws a {@link java.util.ConcurrentModificationException}. Every change of the database creates a new snapshot with
+ * a higher version, so readers can cheaply find out whether the entries changed since they took their snapshot.
+ * <p>
+ * Appending an entry shares the array of the previous snapshot if there is space left, so inserting many entries
+ * takes amortized constant time per entry. All other changes copy the array.
+ */
+public final class EntriesSnapshot extends AbstractList<BibEntry> implements RandomAccess {
+
+    static final EntriesSnapshot EMPTY = new EntriesSnapshot(new BibEntry[0], 0, 0);
+
+    private final BibEntry[] elements;
+    private final int size;
+    private final long version;
+
+
+    private EntriesSnapshot(BibEntry[] elements, int size, long version) {
+        this.elements = elements;
+        this.size = size;
+        this.version = version;
+    }
+
+    /**
+     * Returns the version of the database this snapshot was taken from. Versions increase with every change.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public BibEntry get(int index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return elements[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void forEach(Consumer<? super BibEntry> action) {
+        Objects.requireNonNull(action);
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+    }
+
+    @Override
+    public Spliterator<BibEntry> spliterator() {
+        return Spliterators.spliterator(elements, 0, size, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(elements, size, Object[].class);
+    }
+
+    /**
+     * Returns a snapshot with the given entry appended. Must only be called on the latest snapshot of a database, as
+     * the new snapshot may share the array with this one.
+     */
+    EntriesSnapshot withEntry(BibEntry entry) {
+        BibEntry[] newElements = elements;
+        if (size == elements.length) {
+            newElements = Arrays.copyOf(elements, Math.max(16, size + (size >> 1)));
+        }
+        newElements[size] = entry;
+        return new EntriesSnapshot(newElements, size + 1, version + 1);
+    }
+
+    /**
+     * Returns a snapshot without the entries matching the given filter. If no entry matches, this snapshot is returned.
+     */
+    EntriesSnapshot without(Predicate<BibEntry> filter) {
+        BibEntry[] newElements = null;
+        int newSize = 0;
+        for (int i = 0; i < size; i++) {
+            if (filter.test(elements[i])) {
+                if (newElements == null) {
+                    newElements = new BibEntry[elements.length];
+                    System.arraycopy(elements, 0, newElements, 0, i);
+                    newSize = i;
+                }
+            } else if (newElements != null) {
+                newElements[newSize++] = elements[i];
+            }
+        }
+
+        if (newElements == null) {
+            return this;
+        }
+        return new EntriesSnapshot(newElements, newSize, version + 1);
+    }
+}
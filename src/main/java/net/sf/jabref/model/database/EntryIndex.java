@@ -0,0 +1,222 @@
+package net.sf.jabref.model.database;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.event.FieldChangedEvent;
+
+/**
+ * Secondary index of the entries of a {@link BibDatabase}. It maps a key, e.g., the value of a field, to the entries
+ * having this key, so these entries can be found without iterating over the whole database.
+ * <p>
+ * The index is kept up to date by the database: Entries are added and removed together with the database entries and
+ * re-indexed when the indexed field changes. Lookups return the entries in the order they appear in the database.
+ * <p>
+ * For keys which are not stored in a field (e.g., the shared ID) there is no change event. Therefore, every lookup
+ * verifies the key of the found entries, and {@link #refreshEntriesWithoutKey()} picks up keys which were assigned to
+ * entries later on.
+ * <p>
+ * The index is thread safe.
+ */
+public class EntryIndex {
+
+    private final Optional<String> fieldName;
+    private final Function<BibEntry, Optional<String>> keyExtractor;
+    private final UnaryOperator<String> keyNormalizer;
+
+    private final Map<String, List<BibEntry>> entriesByKey = new HashMap<>();
+    private final Map<BibEntry, IndexedEntry> indexedEntries = new IdentityHashMap<>();
+    private final Map<BibEntry, IndexedEntry> entriesWithoutKey = new IdentityHashMap<>();
+    private long nextPosition;
+
+
+    private EntryIndex(Optional<String> fieldName, Function<BibEntry, Optional<String>> keyExtractor,
+            UnaryOperator<String> keyNormalizer) {
+        this.fieldName = fieldName;
+        this.keyExtractor = Objects.requireNonNull(keyExtractor);
+        this.keyNormalizer = Objects.requireNonNull(keyNormalizer);
+    }
+
+    /**
+     * Creates an index on the given field. The key of an entry is the value of the field.
+     */
+    public static EntryIndex forField(String fieldName) {
+        return forField(fieldName, UnaryOperator.identity());
+    }
+
+    /**
+     * Creates an index on the given field. The key of an entry is the normalized value of the field. The same
+     * normalization is applied to the keys which are looked up, e.g., to make lookups case insensitive.
+     */
+    public static EntryIndex forField(String fieldName, UnaryOperator<String> keyNormalizer) {
+        String name = fieldName.toLowerCase(Locale.ENGLISH);
+        return new EntryIndex(Optional.of(name), entry -> entry.getField(name), keyNormalizer);
+    }
+
+    /**
+     * Creates an index on a key which is not stored in a field of the entries.
+     */
+    static EntryIndex forKey(Function<BibEntry, Optional<String>> keyExtractor) {
+        return new EntryIndex(Optional.empty(), keyExtractor, UnaryOperator.identity());
+    }
+
+    /**
+     * Returns the field this index is based on, or an empty Optional if the key is not stored in a field.
+     */
+    public Optional<String> getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * Returns the entries having the given key in the order they appear in the database.
+     */
+    public synchronized List<BibEntry> getEntries(String key) {
+        String normalizedKey = keyNormalizer.apply(key);
+        List<BibEntry> candidates = entriesByKey.getOrDefault(normalizedKey, Collections.emptyList());
+        List<BibEntry> result = new ArrayList<>(candidates.size());
+        for (BibEntry entry : candidates) {
+            if (getKey(entry).filter(normalizedKey::equals).isPresent()) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the first entry in the database having the given key.
+     */
+    public synchronized Optional<BibEntry> getFirstEntry(String key) {
+        String normalizedKey = keyNormalizer.apply(key);
+        for (BibEntry entry : entriesByKey.getOrDefault(normalizedKey, Collections.emptyList())) {
+            if (getKey(entry).filter(normalizedKey::equals).isPresent()) {
+                return Optional.of(entry);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the number of different keys in the index.
+     */
+    public synchronized int getNumberOfKeys() {
+        return entriesByKey.size();
+    }
+
+    synchronized void addAll(Collection<BibEntry> entries) {
+        entries.forEach(this::add);
+    }
+
+    /**
+     * Adds the given entry behind all entries added before.
+     */
+    synchronized void add(BibEntry entry) {
+        if (indexedEntries.containsKey(entry)) {
+            return;
+        }
+
+        IndexedEntry indexedEntry = new IndexedEntry(nextPosition++);
+        indexedEntries.put(entry, indexedEntry);
+        index(entry, indexedEntry);
+    }
+
+    synchronized void remove(BibEntry entry) {
+        IndexedEntry indexedEntry = indexedEntries.remove(entry);
+        if (indexedEntry != null) {
+            unindex(entry, indexedEntry);
+        }
+    }
+
+    synchronized void clear() {
+        entriesByKey.clear();
+        indexedEntries.clear();
+        entriesWithoutKey.clear();
+    }
+
+    /**
+     * Re-indexes the entry of the event if the event affects the indexed field
+     */
+    void fieldChanged(FieldChangedEvent event) {
+        if (fieldName.isPresent() && fieldName.get().equals(event.getFieldName())) {
+            update(event.getBibEntry());
+        }
+    }
+
+    /**
+     * Re-indexes the given entry if its key changed. Entries which are not in the index are ignored.
+     */
+    synchronized void update(BibEntry entry) {
+        IndexedEntry indexedEntry = indexedEntries.get(entry);
+        if ((indexedEntry == null) || Objects.equals(indexedEntry.key, getKey(entry).orElse(null))) {
+            return;
+        }
+
+        unindex(entry, indexedEntry);
+        index(entry, indexedEntry);
+    }
+
+    /**
+     * Re-indexes all entries which did not have a key when they were indexed.
+     */
+    synchronized void refreshEntriesWithoutKey() {
+        new ArrayList<>(entriesWithoutKey.keySet()).forEach(this::update);
+    }
+
+    private Optional<String> getKey(BibEntry entry) {
+        return keyExtractor.apply(entry).map(keyNormalizer);
+    }
+
+    private void index(BibEntry entry, IndexedEntry indexedEntry) {
+        indexedEntry.key = getKey(entry).orElse(null);
+        if (indexedEntry.key == null) {
+            entriesWithoutKey.put(entry, indexedEntry);
+            return;
+        }
+
+        // keep the entries in database order, usually there is only one entry per key
+        List<BibEntry> entries = entriesByKey.computeIfAbsent(indexedEntry.key, key -> new ArrayList<>(1));
+        int insertionPoint = entries.size();
+        while ((insertionPoint > 0)
+                && (indexedEntries.get(entries.get(insertionPoint - 1)).position > indexedEntry.position)) {
+            insertionPoint--;
+        }
+        entries.add(insertionPoint, entry);
+    }
+
+    private void unindex(BibEntry entry, IndexedEntry indexedEntry) {
+        if (indexedEntry.key == null) {
+            entriesWithoutKey.remove(entry);
+            return;
+        }
+
+        List<BibEntry> entries = entriesByKey.get(indexedEntry.key);
+        if (entries != null) {
+            entries.removeIf(candidate -> candidate == entry);
+            if (entries.isEmpty()) {
+                entriesByKey.remove(indexedEntry.key);
+            }
+        }
+    }
+
+
+    private static class IndexedEntry {
+
+        private final long position;
+        private String key;
+
+
+        public IndexedEntry(long position) {
+            this.position = position;
+        }
+    }
+}
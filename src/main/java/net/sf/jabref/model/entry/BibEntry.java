@@ -18,7 +18,8 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 import net.sf.jabref.model.EntryTypes;
@@ -27,6 +28,8 @@ import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseMode;
 import net.sf.jabref.model.entry.event.EntryEventSource;
 import net.sf.jabref.model.entry.event.FieldChangedEvent;
+import net.sf.jabref.model.util.LatexToUnicode;
+import net.sf.jabref.model.util.StringPool;
 
 import com.google.common.base.Strings;
 import com.google.common.eventbus.EventBus;
@@ -61,22 +64,31 @@ public class BibEntry implements Cloneable {
 
     private static final Pattern REMOVE_TRAILING_WHITESPACE = Pattern.compile("\\s+$");
 
+    private static final LatexToUnicode LATEX_TO_UNICODE_FORMATTER = new LatexToUnicode();
+
     private String id;
 
     private final SharedBibEntryData sharedBibEntryData;
 
     private String type;
-    private Map<String, String> fields = new ConcurrentHashMap<>();
+    private Map<String, String> fields = new CompactFieldMap();
+    /*
+     * Map to store the words in every field, created on first use
+     */
+    private Map<String, Set<String>> fieldsAsWords;
     /*
-     * Map to store the words in every field
+     * LaTeX free (and lower case) versions of the field values used for searching, created on first use
      */
-    private final Map<String, Set<String>> fieldsAsWords = new HashMap<>();
+    private volatile Map<String, String> latexFreeFields;
+    private volatile Map<String, String> lowerCaseLatexFreeFields;
 
     // Search and grouping status is stored in boolean fields for quick reference:
     private boolean searchHit;
     private boolean groupHit;
 
     private String parsedSerialization;
+    // used instead of parsedSerialization if the serialization is read from the source file on demand
+    private Supplier<Optional<String>> lazyParsedSerialization;
 
     private String commentsBeforeEntry = "";
 
@@ -429,7 +441,7 @@ public class BibEntry implements Cloneable {
         changed = true;
 
         fields.put(fieldName, value);
-        fieldsAsWords.remove(fieldName);
+        clearDerivedFieldValues(fieldName);
 
         FieldChange change = new FieldChange(this, fieldName, oldValue, value);
         eventBus.post(new FieldChangedEvent(change, eventSource));
@@ -485,7 +497,7 @@ public class BibEntry implements Cloneable {
         changed = true;
 
         fields.remove(fieldName);
-        fieldsAsWords.remove(fieldName);
+        clearDerivedFieldValues(fieldName);
         FieldChange change = new FieldChange(this, fieldName, oldValue.get(), null);
         eventBus.post(new FieldChangedEvent(change, eventSource));
         return Optional.of(change);
@@ -539,7 +551,7 @@ public class BibEntry implements Cloneable {
     @Override
     public Object clone() {
         BibEntry clone = new BibEntry(id, type);
-        clone.fields = new HashMap<>(fields);
+        clone.fields = new CompactFieldMap(fields);
         return clone;
     }
 
@@ -612,12 +624,38 @@ public class BibEntry implements Cloneable {
     public void setParsedSerialization(String parsedSerialization) {
         changed = false;
         this.parsedSerialization = parsedSerialization;
+        this.lazyParsedSerialization = null;
+    }
+
+    /**
+     * Sets the parsed serialization to a text which is read on demand, e.g., from the file the entry was parsed from.
+     * The supplier returns an empty Optional if the text is no longer available.
+     */
+    public void setParsedSerialization(Supplier<Optional<String>> lazyParsedSerialization) {
+        changed = false;
+        this.parsedSerialization = null;
+        this.lazyParsedSerialization = Objects.requireNonNull(lazyParsedSerialization);
     }
 
+    /**
+     * Returns the text this entry was parsed from.
+     *
+     * @return the parsed serialization or null if the entry was not parsed or the text is no longer available
+     */
     public String getParsedSerialization() {
+        if ((parsedSerialization == null) && (lazyParsedSerialization != null)) {
+            return lazyParsedSerialization.get().orElse(null);
+        }
         return parsedSerialization;
     }
 
+    /**
+     * Returns whether the parsed serialization is read on demand, see {@link #setParsedSerialization(Supplier)}.
+     */
+    public boolean hasLazyParsedSerialization() {
+        return lazyParsedSerialization != null;
+    }
+
     public void setCommentsBeforeEntry(String parsedComments) {
         this.commentsBeforeEntry = parsedComments;
     }
@@ -690,6 +728,15 @@ public class BibEntry implements Cloneable {
         return fields;
     }
 
+    /**
+     * Replaces the field values by the equal instances of the given pool to save memory. As the values stay the same,
+     * the entry is not marked as changed and no events are posted.
+     */
+    public void internFields(StringPool stringPool) {
+        Objects.requireNonNull(stringPool);
+        fields.replaceAll((name, value) -> stringPool.intern(value));
+    }
+
     public SharedBibEntryData getSharedBibEntryData() {
         return sharedBibEntryData;
     }
@@ -734,6 +781,9 @@ public class BibEntry implements Cloneable {
 
     public Set<String> getFieldAsWords(String field) {
         String fieldName = toLowerCase(field);
+        if (fieldsAsWords == null) {
+            fieldsAsWords = new HashMap<>();
+        }
         Set<String> storedList = fieldsAsWords.get(fieldName);
         if (storedList != null) {
             return storedList;
@@ -749,6 +799,74 @@ public class BibEntry implements Cloneable {
         }
     }
 
+    /**
+     * Returns the value of the given field converted from LaTeX to unicode (see {@link LatexToUnicode}).
+     * The converted value is cached until the field changes, so searches do not have to convert it again and again.
+     */
+    public Optional<String> getLatexFreeField(String name) {
+        String fieldName = toLowerCase(name);
+        Map<String, String> cache = latexFreeFields;
+        if (cache == null) {
+            cache = new CompactFieldMap();
+            latexFreeFields = cache;
+        }
+        return getDerivedFieldValue(fieldName, cache, LATEX_TO_UNICODE_FORMATTER::format);
+    }
+
+    /**
+     * Returns the LaTeX free value of the given field in lower case (see {@link #getLatexFreeField(String)}), as
+     * needed by case insensitive searches. The value is cached until the field changes.
+     */
+    public Optional<String> getLowerCaseLatexFreeField(String name) {
+        String fieldName = toLowerCase(name);
+        Map<String, String> cache = lowerCaseLatexFreeFields;
+        if (cache == null) {
+            cache = new CompactFieldMap();
+            lowerCaseLatexFreeFields = cache;
+        }
+        return getDerivedFieldValue(fieldName, cache,
+                value -> getLatexFreeField(fieldName).orElse(value).toLowerCase());
+    }
+
+    private Optional<String> getDerivedFieldValue(String fieldName, Map<String, String> cache,
+            Function<String, String> derivation) {
+        String cachedValue = cache.get(fieldName);
+        if (cachedValue != null) {
+            return Optional.of(cachedValue);
+        }
+
+        String fieldValue = fields.get(fieldName);
+        if (fieldValue == null) {
+            return Optional.empty();
+        }
+
+        String derivedValue = derivation.apply(fieldValue);
+        if (derivedValue.equals(fieldValue)) {
+            // do not keep a second copy of unchanged values
+            derivedValue = fieldValue;
+        }
+        cache.put(fieldName, derivedValue);
+        if (fields.get(fieldName) != fieldValue) {
+            // the field changed in the meantime
+            cache.remove(fieldName);
+        }
+        return Optional.of(derivedValue);
+    }
+
+    private void clearDerivedFieldValues(String fieldName) {
+        if (fieldsAsWords != null) {
+            fieldsAsWords.remove(fieldName);
+        }
+        Map<String, String> cache = latexFreeFields;
+        if (cache != null) {
+            cache.remove(fieldName);
+        }
+        cache = lowerCaseLatexFreeFields;
+        if (cache != null) {
+            cache.remove(fieldName);
+        }
+    }
+
     public Optional<FieldChange> clearCiteKey() {
         return clearField(KEY_FIELD);
     }
@@ -1,5 +1,9 @@
 package net.sf.jabref.model.entry;
 
+import net.sf.jabref.model.entry.event.BibtexStringChangedEvent;
+
+import com.google.common.eventbus.EventBus;
+
 /**
  * This class models a BibTex String ("@String")
  */
@@ -79,6 +83,8 @@ public class BibtexString implements Cloneable {
     private String parsedSerialization;
     private boolean hasChanged;
 
+    private final EventBus eventBus = new EventBus();
+
 
     public BibtexString(String id, String name, String content) {
         this.id = id;
@@ -102,9 +108,11 @@ public class BibtexString implements Cloneable {
     }
 
     public void setName(String name) {
+        String oldName = this.name;
         this.name = name;
         hasChanged = true;
         type = Type.get(name);
+        eventBus.post(new BibtexStringChangedEvent(this, oldName));
     }
 
     /*
@@ -117,6 +125,7 @@ public class BibtexString implements Cloneable {
     public void setContent(String content) {
         this.content = content;
         hasChanged = true;
+        eventBus.post(new BibtexStringChangedEvent(this, name));
     }
 
     @Override
@@ -165,6 +174,24 @@ public class BibtexString implements Cloneable {
         return "";
     }
 
+    /**
+     * Registers an listener object (subscriber) to the internal event bus.
+     * A {@link BibtexStringChangedEvent} is posted whenever the name or the content changes.
+     *
+     * @param listener listener (subscriber) to add
+     */
+    public void registerListener(Object listener) {
+        this.eventBus.register(listener);
+    }
+
+    /**
+     * Unregisters an listener object.
+     * @param listener listener (subscriber) to remove
+     */
+    public void unregisterListener(Object listener) {
+        this.eventBus.unregister(listener);
+    }
+
     @Override
     public String toString() {
         return name + "=" + content;
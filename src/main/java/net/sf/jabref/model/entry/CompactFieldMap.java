@@ -0,0 +1,234 @@
+package net.sf.jabref.model.entry;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Memory efficient map from field names to field values, used to store the fields of a {@link BibEntry}.
+ * <p>
+ * The names and values are stored alternating in one array, which is sorted by the field names. Field names are
+ * interned in a global registry, so all entries share the same name instances. An entry with ten fields thus needs a
+ * single array of 20 references instead of a hash table with ten nodes.
+ * <p>
+ * The map is thread safe: Every change replaces the array by a new one (copy on write). Readers and iterators work
+ * on the array which was current when they started and never block, similar to the weakly consistent iterators of
+ * {@link ConcurrentHashMap}. As with {@link ConcurrentHashMap}, null names and values are not allowed.
+ */
+class CompactFieldMap extends AbstractMap<String, String> {
+
+    private static final String[] EMPTY = new String[0];
+
+    /**
+     * Global registry of field names
+     */
+    private static final Map<String, String> FIELD_NAMES = new ConcurrentHashMap<>();
+
+    // name0, value0, name1, value1, ... sorted by name
+    private volatile String[] data = EMPTY;
+
+
+    CompactFieldMap() {
+        // empty map
+    }
+
+    CompactFieldMap(Map<String, String> fields) {
+        putAll(fields);
+    }
+
+    /**
+     * Returns the shared instance of the given field name.
+     */
+    static String internFieldName(String name) {
+        String existingName = FIELD_NAMES.putIfAbsent(name, name);
+        if (existingName == null) {
+            return name;
+        }
+        return existingName;
+    }
+
+    /**
+     * Returns the index of the name in the given array, or (-(insertion point) - 1) if it is not contained
+     */
+    private static int indexOf(String[] array, Object name) {
+        if (!(name instanceof String)) {
+            return -1;
+        }
+        int low = 0;
+        int high = (array.length / 2) - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = array[2 * middle].compareTo((String) name);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return 2 * middle;
+            }
+        }
+        return -((2 * low) + 1);
+    }
+
+    @Override
+    public int size() {
+        return data.length / 2;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return data.length == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object name) {
+        return indexOf(data, name) >= 0;
+    }
+
+    @Override
+    public String get(Object name) {
+        String[] array = data;
+        int index = indexOf(array, name);
+        if (index < 0) {
+            return null;
+        }
+        return array[index + 1];
+    }
+
+    @Override
+    public synchronized String put(String name, String value) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(value);
+
+        String[] array = data;
+        int index = indexOf(array, name);
+        if (index >= 0) {
+            String oldValue = array[index + 1];
+            String[] newArray = array.clone();
+            newArray[index + 1] = value;
+            data = newArray;
+            return oldValue;
+        }
+
+        int insertionPoint = -(index + 1);
+        String[] newArray = new String[array.length + 2];
+        System.arraycopy(array, 0, newArray, 0, insertionPoint);
+        newArray[insertionPoint] = internFieldName(name);
+        newArray[insertionPoint + 1] = value;
+        System.arraycopy(array, insertionPoint, newArray, insertionPoint + 2, array.length - insertionPoint);
+        data = newArray;
+        return null;
+    }
+
+    @Override
+    public synchronized String remove(Object name) {
+        String[] array = data;
+        int index = indexOf(array, name);
+        if (index < 0) {
+            return null;
+        }
+
+        String oldValue = array[index + 1];
+        if (array.length == 2) {
+            data = EMPTY;
+        } else {
+            String[] newArray = new String[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, index);
+            System.arraycopy(array, index + 2, newArray, index, array.length - index - 2);
+            data = newArray;
+        }
+        return oldValue;
+    }
+
+    @Override
+    public synchronized void replaceAll(BiFunction<? super String, ? super String, ? extends String> function) {
+        String[] newArray = data.clone();
+        for (int i = 0; i < newArray.length; i += 2) {
+            newArray[i + 1] = Objects.requireNonNull(function.apply(newArray[i], newArray[i + 1]));
+        }
+        data = newArray;
+    }
+
+    @Override
+    public synchronized void clear() {
+        data = EMPTY;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new EntrySet();
+    }
+
+
+    private class EntrySet extends AbstractSet<Entry<String, String>> {
+
+        @Override
+        public Iterator<Entry<String, String>> iterator() {
+            return new EntryIterator(data);
+        }
+
+        @Override
+        public int size() {
+            return CompactFieldMap.this.size();
+        }
+    }
+
+    private class EntryIterator implements Iterator<Entry<String, String>> {
+
+        private final String[] snapshot;
+        private int nextIndex;
+        private String lastReturnedName;
+
+
+        public EntryIterator(String[] snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < snapshot.length;
+        }
+
+        @Override
+        public Entry<String, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturnedName = snapshot[nextIndex];
+            Entry<String, String> entry = new FieldEntry(lastReturnedName, snapshot[nextIndex + 1]);
+            nextIndex += 2;
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturnedName == null) {
+                throw new IllegalStateException();
+            }
+            CompactFieldMap.this.remove(lastReturnedName);
+            lastReturnedName = null;
+        }
+    }
+
+    /**
+     * Entry whose setValue writes through to the map
+     */
+    private class FieldEntry extends SimpleEntry<String, String> {
+
+        public FieldEntry(String name, String value) {
+            super(name, value);
+        }
+
+        @Override
+        public String setValue(String value) {
+            CompactFieldMap.this.put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+}
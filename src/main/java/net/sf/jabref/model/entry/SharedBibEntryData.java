@@ -8,10 +8,11 @@ public class SharedBibEntryData {
     // This id is set by the remote database system (DBS).
     // It has to be unique on remote DBS for all connected JabRef instances.
     // The old id above does not satisfy this requirement.
-    private int sharedID;
+    // The shared database is written in the background, so the id may be set by another thread.
+    private volatile int sharedID;
 
     // Needed for version controlling if used on shared database
-    private int version;
+    private volatile int version;
 
     public SharedBibEntryData() {
         this.sharedID = -1;
@@ -0,0 +1,31 @@
+package net.sf.jabref.model.entry.event;
+
+import net.sf.jabref.model.entry.BibtexString;
+
+/**
+ * <code>BibtexStringChangedEvent</code> is fired when the name or the content of a <code>BibtexString</code> has
+ * been modified.
+ */
+public class BibtexStringChangedEvent {
+
+    private final BibtexString bibtexString;
+    private final String oldName;
+
+
+    /**
+     * @param bibtexString Affected BibtexString object
+     * @param oldName name of the string before the change
+     */
+    public BibtexStringChangedEvent(BibtexString bibtexString, String oldName) {
+        this.bibtexString = bibtexString;
+        this.oldName = oldName;
+    }
+
+    public BibtexString getBibtexString() {
+        return bibtexString;
+    }
+
+    public String getOldName() {
+        return oldName;
+    }
+}
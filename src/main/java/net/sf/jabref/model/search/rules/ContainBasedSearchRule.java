@@ -2,17 +2,15 @@ package net.sf.jabref.model.search.rules;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 
 import net.sf.jabref.model.entry.BibEntry;
-import net.sf.jabref.model.util.LatexToUnicode;
 
 /**
  * Search rule for contain-based search.
  */
 public class ContainBasedSearchRule implements SearchRule {
 
-    private static final LatexToUnicode LATEX_TO_UNICODE_FORMATTER = new LatexToUnicode();
-
     private final boolean caseSensitive;
 
     public ContainBasedSearchRule(boolean caseSensitive) {
@@ -38,16 +36,17 @@ public class ContainBasedSearchRule implements SearchRule {
 
         List<String> unmatchedWords = new SentenceAnalyzer(searchString).getWords();
 
-        for (String fieldContent : bibEntry.getFieldValues()) {
-            String formattedFieldContent = ContainBasedSearchRule.LATEX_TO_UNICODE_FORMATTER.format(fieldContent);
-            if (!caseSensitive) {
-                formattedFieldContent = formattedFieldContent.toLowerCase();
+        for (String field : bibEntry.getFieldMap().keySet()) {
+            Optional<String> formattedFieldContent = caseSensitive ? bibEntry.getLatexFreeField(field)
+                    : bibEntry.getLowerCaseLatexFreeField(field);
+            if (!formattedFieldContent.isPresent()) {
+                continue;
             }
 
             Iterator<String> unmatchedWordsIterator = unmatchedWords.iterator();
             while (unmatchedWordsIterator.hasNext()) {
                 String word = unmatchedWordsIterator.next();
-                if(formattedFieldContent.contains(word)) {
+                if(formattedFieldContent.get().contains(word)) {
                     unmatchedWordsIterator.remove();
                 }
             }
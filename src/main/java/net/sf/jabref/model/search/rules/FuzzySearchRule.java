@@ -0,0 +1,79 @@
+package net.sf.jabref.model.search.rules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * Search rule for fuzzy search: Every token (run of letters and digits) of the query has to be similar to a token of
+ * any field, i.e., within the edit distance given by {@link LevenshteinMatcher#getDefaultMaximumDistance(String)}.
+ * Thus, <tt>netwrok</tt> finds entries containing <tt>network</tt>.
+ */
+public class FuzzySearchRule implements SearchRule {
+
+    private final boolean caseSensitive;
+
+    // the matchers of the last query, which is usually applied to many entries
+    private volatile CompiledQuery lastQuery;
+
+
+    public FuzzySearchRule(boolean caseSensitive) {
+        this.caseSensitive = caseSensitive;
+    }
+
+    public boolean isCaseSensitive() {
+        return caseSensitive;
+    }
+
+    @Override
+    public boolean validateSearchStrings(String query) {
+        return true;
+    }
+
+    @Override
+    public boolean applyRule(String query, BibEntry bibEntry) {
+        List<LevenshteinMatcher> unmatchedTokens = new ArrayList<>(getMatchers(query));
+
+        for (String field : bibEntry.getFieldMap().keySet()) {
+            if (unmatchedTokens.isEmpty()) {
+                break;
+            }
+
+            Optional<String> formattedFieldContent = caseSensitive ? bibEntry.getLatexFreeField(field)
+                    : bibEntry.getLowerCaseLatexFreeField(field);
+            formattedFieldContent
+                    .ifPresent(content -> unmatchedTokens.removeIf(matcher -> matcher.matchesAnyTokenOf(content)));
+        }
+
+        return unmatchedTokens.isEmpty();
+    }
+
+    /**
+     * Returns the matchers for the tokens of the given query (in lower case if the search is case insensitive).
+     */
+    public List<LevenshteinMatcher> getMatchers(String query) {
+        CompiledQuery compiledQuery = lastQuery;
+        if ((compiledQuery == null) || !compiledQuery.query.equals(query)) {
+            compiledQuery = new CompiledQuery(query,
+                    LevenshteinMatcher.forTokensOf(caseSensitive ? query : query.toLowerCase()));
+            lastQuery = compiledQuery;
+        }
+        return compiledQuery.matchers;
+    }
+
+
+    private static class CompiledQuery {
+
+        private final String query;
+        private final List<LevenshteinMatcher> matchers;
+
+
+        CompiledQuery(String query, List<LevenshteinMatcher> matchers) {
+            this.query = Objects.requireNonNull(query);
+            this.matchers = matchers;
+        }
+    }
+}
@@ -1,13 +1,15 @@
 package net.sf.jabref.model.search.rules;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.search.SearchBaseVisitor;
@@ -37,6 +39,8 @@ public class GrammarBasedSearchRule implements SearchRule {
 
     private ParseTree tree;
     private String query;
+    // the tree compiled into a predicate, null if the query could not be compiled
+    private volatile Predicate<BibEntry> compiledQuery;
 
 
     public static class ThrowingErrorListener extends BaseErrorListener {
@@ -90,12 +94,24 @@ public class GrammarBasedSearchRule implements SearchRule {
         parser.setErrorHandler(new BailErrorStrategy()); // ParseCancelationException on parse errors
         tree = parser.start();
         this.query = query;
+
+        try {
+            compiledQuery = new SearchCompiler(caseSensitiveSearch, regExpSearch).visit(tree);
+        } catch (Exception e) {
+            LOGGER.debug("Search failed", e);
+            compiledQuery = null;
+        }
     }
 
     @Override
     public boolean applyRule(String query, BibEntry bibEntry) {
+        Predicate<BibEntry> predicate = compiledQuery;
+        if (predicate == null) {
+            return false;
+        }
+
         try {
-            return new BibtexSearchVisitor(caseSensitiveSearch, regExpSearch, bibEntry).visit(tree);
+            return predicate.test(bibEntry);
         } catch (Exception e) {
             LOGGER.debug("Search failed", e);
             return false;
@@ -113,46 +129,89 @@ public class GrammarBasedSearchRule implements SearchRule {
     }
 
     public enum ComparisonOperator {
-        EXACT, CONTAINS, DOES_NOT_CONTAIN;
+        EXACT, CONTAINS, DOES_NOT_CONTAIN, FUZZY;
 
         public static ComparisonOperator build(String value) {
             if ("CONTAINS".equalsIgnoreCase(value) || "=".equals(value)) {
                 return CONTAINS;
             } else if ("MATCHES".equalsIgnoreCase(value) || "==".equals(value)) {
                 return EXACT;
+            } else if ("SIMILAR".equalsIgnoreCase(value)) {
+                return FUZZY;
             } else {
                 return DOES_NOT_CONTAIN;
             }
         }
     }
 
+    /**
+     * Compiled comparison of the values of the fields matching a field name (or pattern) with a value (or pattern).
+     * Instances are immutable and can be shared between threads.
+     */
     public static class Comparator {
 
+        private static final String ENTRY_TYPE = "entrytype";
+
         private final ComparisonOperator operator;
+        private final boolean caseSensitive;
+        private final boolean regex;
+
+        // regex search: patterns for field names and values
         private final Pattern fieldPattern;
         private final Pattern valuePattern;
+        private final Map<String, Boolean> matchingFieldNames = new ConcurrentHashMap<>();
+
+        // fuzzy search: one matcher for each token of the value, the value is never a regular expression
+        private final List<LevenshteinMatcher> fuzzyMatchers;
+
+        // plain search: the field name to look up (null if no field can match) and the value (in lower case if the
+        // search is case insensitive)
+        private final String fieldName;
+        private final String plainValue;
+        private final boolean entryTypeComparison;
 
         public Comparator(String field, String value, ComparisonOperator operator, boolean caseSensitive, boolean regex) {
             this.operator = operator;
+            this.caseSensitive = caseSensitive;
+            this.regex = regex;
 
             int option = caseSensitive ? 0 : Pattern.CASE_INSENSITIVE;
             this.fieldPattern = Pattern.compile(regex ? field : "\\Q" + field + "\\E", option);
-            this.valuePattern = Pattern.compile(regex ? value : "\\Q" + value + "\\E", option);
+            boolean valueIsRegex = regex && (operator != ComparisonOperator.FUZZY);
+            this.valuePattern = Pattern.compile(valueIsRegex ? value : "\\Q" + value + "\\E", option);
+
+            if (caseSensitive) {
+                // field names of entries are lower case
+                this.fieldName = field.equals(field.toLowerCase(Locale.ENGLISH)) ? field : null;
+                this.plainValue = value;
+            } else {
+                this.fieldName = field.toLowerCase(Locale.ENGLISH);
+                this.plainValue = value.toLowerCase();
+            }
+            this.entryTypeComparison = fieldPattern.matcher(ENTRY_TYPE).matches();
+            this.fuzzyMatchers = operator == ComparisonOperator.FUZZY ? LevenshteinMatcher.forTokensOf(plainValue)
+                    : Collections.emptyList();
         }
 
         public boolean compare(BibEntry entry) {
             // special case for searching for entrytype=phdthesis
-            if (fieldPattern.matcher("entrytype").matches()) {
+            if (entryTypeComparison) {
                 return matchFieldValue(entry.getType());
             }
 
-            // specification of fieldsKeys to search is done in the search expression itself
-            Set<String> fieldsKeys = entry.getFieldNames();
+            if (!regex) {
+                return comparePlainField(entry);
+            }
 
-            List<String> matchedFieldKeys = fieldsKeys.stream().filter(matchFieldKey()).collect(Collectors.toList());
+            // specification of fieldsKeys to search is done in the search expression itself
+            boolean anyFieldMatched = false;
+            for (String field : entry.getFieldMap().keySet()) {
+                if (!matchFieldKey(field)) {
+                    continue;
+                }
+                anyFieldMatched = true;
 
-            for (String field : matchedFieldKeys) {
-                Optional<String> fieldValue = entry.getField(field);
+                Optional<String> fieldValue = entry.getLatexFreeField(field);
                 if (fieldValue.isPresent()) {
                     if (matchFieldValue(fieldValue.get())) {
                         return true;
@@ -161,11 +220,49 @@ public class GrammarBasedSearchRule implements SearchRule {
             }
 
             // special case of asdf!=whatever and entry does not contain asdf
-            return matchedFieldKeys.isEmpty() && (operator == ComparisonOperator.DOES_NOT_CONTAIN);
+            return !anyFieldMatched && (operator == ComparisonOperator.DOES_NOT_CONTAIN);
         }
 
-        private Predicate<String> matchFieldKey() {
-            return s -> fieldPattern.matcher(s).matches();
+        private boolean comparePlainField(BibEntry entry) {
+            Optional<String> fieldValue = Optional.empty();
+            if ((fieldName != null) && entry.hasField(fieldName)) {
+                fieldValue = caseSensitive ? entry.getLatexFreeField(fieldName)
+                        : entry.getLowerCaseLatexFreeField(fieldName);
+            }
+            if (!fieldValue.isPresent()) {
+                // special case of asdf!=whatever and entry does not contain asdf
+                return operator == ComparisonOperator.DOES_NOT_CONTAIN;
+            }
+
+            String content = fieldValue.get();
+            if (operator == ComparisonOperator.CONTAINS) {
+                return content.contains(plainValue);
+            } else if (operator == ComparisonOperator.EXACT) {
+                return content.equals(plainValue);
+            } else if (operator == ComparisonOperator.DOES_NOT_CONTAIN) {
+                return !content.contains(plainValue);
+            } else if (operator == ComparisonOperator.FUZZY) {
+                return matchFuzzy(content);
+            } else {
+                throw new IllegalStateException("MUST NOT HAPPEN");
+            }
+        }
+
+        private boolean matchFieldKey(String field) {
+            return matchingFieldNames.computeIfAbsent(field, name -> fieldPattern.matcher(name).matches());
+        }
+
+        /**
+         * Checks whether every token of the value is similar to a token of the given content, which is in lower case
+         * if the search is case insensitive.
+         */
+        private boolean matchFuzzy(String content) {
+            for (LevenshteinMatcher fuzzyMatcher : fuzzyMatchers) {
+                if (!fuzzyMatcher.matchesAnyTokenOf(content)) {
+                    return false;
+                }
+            }
+            return true;
         }
 
         public boolean matchFieldValue(String content) {
@@ -176,6 +273,8 @@ public class GrammarBasedSearchRule implements SearchRule {
                 return matcher.matches();
             } else if (operator == ComparisonOperator.DOES_NOT_CONTAIN) {
                 return !matcher.find();
+            } else if (operator == ComparisonOperator.FUZZY) {
+                return matchFuzzy(caseSensitive ? content : content.toLowerCase());
             } else {
                 throw new IllegalStateException("MUST NOT HAPPEN");
             }
@@ -184,58 +283,56 @@ public class GrammarBasedSearchRule implements SearchRule {
     }
 
     /**
-     * Search results in boolean. It may be later on converted to an int.
+     * Compiles the parse tree of a query into a predicate, which can be applied to any number of entries.
      */
-    static class BibtexSearchVisitor extends SearchBaseVisitor<Boolean> {
+    static class SearchCompiler extends SearchBaseVisitor<Predicate<BibEntry>> {
 
         private final boolean caseSensitive;
         private final boolean regex;
 
-        private final BibEntry entry;
-
-        public BibtexSearchVisitor(boolean caseSensitive, boolean regex, BibEntry bibEntry) {
+        public SearchCompiler(boolean caseSensitive, boolean regex) {
             this.caseSensitive = caseSensitive;
             this.regex = regex;
-            this.entry = bibEntry;
         }
 
-        public boolean comparison(String field, ComparisonOperator operator, String value) {
-            return new Comparator(field, value, operator, caseSensitive, regex).compare(entry);
+        @Override
+        public Predicate<BibEntry> visitStart(SearchParser.StartContext ctx) {
+            return visit(ctx.expression());
         }
 
         @Override
-        public Boolean visitStart(SearchParser.StartContext ctx) {
-            return visit(ctx.expression());
+        public Predicate<BibEntry> visitAtomExpression(SearchParser.AtomExpressionContext ctx) {
+            return visit(ctx.comparison());
         }
 
         @Override
-        public Boolean visitComparison(SearchParser.ComparisonContext ctx) {
+        public Predicate<BibEntry> visitComparison(SearchParser.ComparisonContext ctx) {
             // remove possible enclosing " symbols
             String right = ctx.right.getText();
             if(right.startsWith("\"") && right.endsWith("\"")) {
                 right = right.substring(1, right.length() - 1);
             }
 
-            return comparison(ctx.left.getText(), ComparisonOperator.build(ctx.operator.getText()), right);
-
+            return new Comparator(ctx.left.getText(), right, ComparisonOperator.build(ctx.operator.getText()),
+                    caseSensitive, regex)::compare;
         }
 
         @Override
-        public Boolean visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
-            return !visit(ctx.expression()); // negate
+        public Predicate<BibEntry> visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
+            return visit(ctx.expression()).negate(); // negate
         }
 
         @Override
-        public Boolean visitParenExpression(SearchParser.ParenExpressionContext ctx) {
+        public Predicate<BibEntry> visitParenExpression(SearchParser.ParenExpressionContext ctx) {
             return visit(ctx.expression()); // ignore parenthesis
         }
 
         @Override
-        public Boolean visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
+        public Predicate<BibEntry> visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
             if ("AND".equalsIgnoreCase(ctx.operator.getText())) {
-                return visit(ctx.left) && visit(ctx.right); // and
+                return visit(ctx.left).and(visit(ctx.right)); // and
             } else {
-                return visit(ctx.left) || visit(ctx.right); // or
+                return visit(ctx.left).or(visit(ctx.right)); // or
             }
         }
     }
@@ -0,0 +1,230 @@
+package net.sf.jabref.model.search.rules;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Checks whether texts are within a maximum edit (Levenshtein) distance of a word.
+ * <p>
+ * For words of up to 64 characters, the bit-parallel algorithm of Myers (in the variant of Hyyro for the edit
+ * distance of complete texts) is used: one column of the dynamic programming matrix is encoded in the bits of two
+ * longs, so every character of a text is processed with a few bit operations. Longer words fall back to the classic
+ * dynamic programming. Texts whose length differs too much from the word are rejected without looking at them.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ */
+public class LevenshteinMatcher {
+
+    private static final int MAXIMUM_BIT_PARALLEL_LENGTH = Long.SIZE;
+    private static final int ASCII_SIZE = 128;
+
+    private final String word;
+    private final int maximumDistance;
+
+    // bit i of the mask of a character is set if the character is at position i of the word
+    private final long[] asciiMasks = new long[ASCII_SIZE];
+    private final Map<Character, Long> otherMasks = new HashMap<>();
+
+
+    public LevenshteinMatcher(String word, int maximumDistance) {
+        this.word = Objects.requireNonNull(word);
+        if (maximumDistance < 0) {
+            throw new IllegalArgumentException("The maximum distance must not be negative: " + maximumDistance);
+        }
+        this.maximumDistance = maximumDistance;
+
+        if (word.length() <= MAXIMUM_BIT_PARALLEL_LENGTH) {
+            for (int i = 0; i < word.length(); i++) {
+                char character = word.charAt(i);
+                if (character < ASCII_SIZE) {
+                    asciiMasks[character] |= 1L << i;
+                } else {
+                    otherMasks.merge(character, 1L << i, (first, second) -> first | second);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a matcher accepting texts within the default maximum distance of the given word.
+     *
+     * @see #getDefaultMaximumDistance(String)
+     */
+    public static LevenshteinMatcher forWord(String word) {
+        return new LevenshteinMatcher(word, getDefaultMaximumDistance(word));
+    }
+
+    /**
+     * Returns the number of typos tolerated in the given word: none for words of up to two characters (otherwise
+     * nearly every short token would match), one for up to five characters and two for longer words.
+     */
+    public static int getDefaultMaximumDistance(String word) {
+        if (word.length() <= 2) {
+            return 0;
+        } else if (word.length() <= 5) {
+            return 1;
+        } else {
+            return 2;
+        }
+    }
+
+    /**
+     * Returns one matcher for each token (run of letters and digits) of the given text.
+     */
+    public static List<LevenshteinMatcher> forTokensOf(String text) {
+        List<LevenshteinMatcher> matchers = new ArrayList<>();
+        for (String token : getTokens(text)) {
+            matchers.add(forWord(token));
+        }
+        return matchers;
+    }
+
+    /**
+     * Splits the given text into its tokens, i.e., its runs of letters and digits.
+     */
+    public static List<String> getTokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        int tokenStart = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean partOfToken = (i < text.length()) && isTokenCharacter(text.charAt(i));
+            if (partOfToken && (tokenStart < 0)) {
+                tokenStart = i;
+            } else if (!partOfToken && (tokenStart >= 0)) {
+                tokens.add(text.substring(tokenStart, i));
+                tokenStart = -1;
+            }
+        }
+        return tokens;
+    }
+
+    public static boolean isTokenCharacter(char character) {
+        return Character.isLetterOrDigit(character);
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public int getMaximumDistance() {
+        return maximumDistance;
+    }
+
+    public boolean matches(CharSequence text) {
+        return matches(text, 0, text.length());
+    }
+
+    /**
+     * Checks whether the part of the text between the given indexes is within the maximum distance of the word.
+     */
+    public boolean matches(CharSequence text, int from, int to) {
+        return getDistance(text, from, to) <= maximumDistance;
+    }
+
+    /**
+     * Checks whether any token of the given text is within the maximum distance of the word.
+     */
+    public boolean matchesAnyTokenOf(CharSequence text) {
+        int tokenStart = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean partOfToken = (i < text.length()) && isTokenCharacter(text.charAt(i));
+            if (partOfToken && (tokenStart < 0)) {
+                tokenStart = i;
+            } else if (!partOfToken && (tokenStart >= 0)) {
+                if (matches(text, tokenStart, i)) {
+                    return true;
+                }
+                tokenStart = -1;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the edit distance between the word and the part of the text between the given indexes, or some value
+     * greater than the maximum distance if the distance exceeds the maximum.
+     */
+    public int getDistance(CharSequence text, int from, int to) {
+        int wordLength = word.length();
+        int textLength = to - from;
+        if (Math.abs(wordLength - textLength) > maximumDistance) {
+            return maximumDistance + 1;
+        }
+        if (wordLength == 0) {
+            return textLength;
+        }
+        if (wordLength > MAXIMUM_BIT_PARALLEL_LENGTH) {
+            return getDistanceByDynamicProgramming(text, from, to);
+        }
+
+        // vertical deltas of the current column, the first column is 1, 2, ..., m
+        long positiveVertical = -1L >>> (MAXIMUM_BIT_PARALLEL_LENGTH - wordLength);
+        long negativeVertical = 0L;
+        long lastBit = 1L << (wordLength - 1);
+        int distance = wordLength;
+
+        for (int i = from; i < to; i++) {
+            long mask = getMask(text.charAt(i));
+            long verticalChange = mask | negativeVertical;
+            long horizontalChange = (((mask & positiveVertical) + positiveVertical) ^ positiveVertical) | mask;
+            long positiveHorizontal = negativeVertical | ~(horizontalChange | positiveVertical);
+            long negativeHorizontal = positiveVertical & horizontalChange;
+
+            if ((positiveHorizontal & lastBit) != 0) {
+                distance++;
+            } else if ((negativeHorizontal & lastBit) != 0) {
+                distance--;
+            }
+
+            // the first row increases by one with every character of the text
+            positiveHorizontal = (positiveHorizontal << 1) | 1L;
+            negativeHorizontal <<= 1;
+            positiveVertical = negativeHorizontal | ~(verticalChange | positiveHorizontal);
+            negativeVertical = positiveHorizontal & verticalChange;
+
+            // every remaining character of the text can decrease the distance by at most one
+            if ((distance - (to - i - 1)) > maximumDistance) {
+                return maximumDistance + 1;
+            }
+        }
+        return distance;
+    }
+
+    private long getMask(char character) {
+        if (character < ASCII_SIZE) {
+            return asciiMasks[character];
+        }
+        return otherMasks.getOrDefault(character, 0L);
+    }
+
+    private int getDistanceByDynamicProgramming(CharSequence text, int from, int to) {
+        int wordLength = word.length();
+        int[] previousRow = new int[wordLength + 1];
+        int[] currentRow = new int[wordLength + 1];
+        for (int j = 0; j <= wordLength; j++) {
+            previousRow[j] = j;
+        }
+
+        for (int i = from; i < to; i++) {
+            currentRow[0] = (i - from) + 1;
+            int rowMinimum = currentRow[0];
+            char character = text.charAt(i);
+            for (int j = 1; j <= wordLength; j++) {
+                int substitution = previousRow[j - 1] + (word.charAt(j - 1) == character ? 0 : 1);
+                currentRow[j] = Math.min(substitution, Math.min(previousRow[j], currentRow[j - 1]) + 1);
+                rowMinimum = Math.min(rowMinimum, currentRow[j]);
+            }
+            if (rowMinimum > maximumDistance) {
+                // the distances never decrease from one row to the next
+                return maximumDistance + 1;
+            }
+
+            int[] swap = previousRow;
+            previousRow = currentRow;
+            currentRow = swap;
+        }
+        return previousRow[wordLength];
+    }
+}
@@ -6,15 +6,12 @@ import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import net.sf.jabref.model.entry.BibEntry;
-import net.sf.jabref.model.util.LatexToUnicode;
 
 /**
  * Search rule for regex-based search.
  */
 public class RegexBasedSearchRule implements SearchRule {
 
-    private static final LatexToUnicode LATEX_TO_UNICODE_FORMATTER = new LatexToUnicode();
-
     private final boolean caseSensitive;
 
     public RegexBasedSearchRule(boolean caseSensitive) {
@@ -51,12 +48,9 @@ public class RegexBasedSearchRule implements SearchRule {
         }
 
         for (String field : bibEntry.getFieldNames()) {
-            Optional<String> fieldOptional = bibEntry.getField(field);
+            Optional<String> fieldOptional = bibEntry.getLatexFreeField(field);
             if (fieldOptional.isPresent()) {
-                String fieldContent = RegexBasedSearchRule.LATEX_TO_UNICODE_FORMATTER.format(fieldOptional.get());
-                String fieldContentNoBrackets = RegexBasedSearchRule.LATEX_TO_UNICODE_FORMATTER.format(fieldContent);
-                Matcher m = pattern.matcher(fieldContentNoBrackets);
-                if (m.find()) {
+                if (find(pattern, fieldOptional.get())) {
                     return true;
                 }
             }
@@ -65,4 +59,13 @@ public class RegexBasedSearchRule implements SearchRule {
         return false;
     }
 
+    /**
+     * Checks whether the pattern is found in the given field value. Called once for every field value the pattern is
+     * applied to.
+     */
+    protected boolean find(Pattern pattern, String fieldValue) {
+        Matcher m = pattern.matcher(fieldValue);
+        return m.find();
+    }
+
 }
@@ -6,19 +6,30 @@ public class SearchRules {
      * Returns the appropriate search rule that fits best to the given parameter.
      */
     public static SearchRule getSearchRuleByQuery(String query, boolean caseSensitive, boolean regex) {
+        return getSearchRuleByQuery(query, caseSensitive, regex, false);
+    }
+
+    /**
+     * Returns the appropriate search rule that fits best to the given parameter. A fuzzy search is only used for
+     * queries which are neither grammar based nor regular expressions, grammar based queries can use the
+     * <tt>~</tt> operator instead.
+     */
+    public static SearchRule getSearchRuleByQuery(String query, boolean caseSensitive, boolean regex, boolean fuzzy) {
         // this searches specified fields if specified,
         // and all fields otherwise
         SearchRule searchExpression = new GrammarBasedSearchRule(caseSensitive, regex);
         if (searchExpression.validateSearchStrings(query)) {
             return searchExpression;
         } else {
-            return getSearchRule(caseSensitive, regex);
+            return getSearchRule(caseSensitive, regex, fuzzy);
         }
     }
 
-    private static SearchRule getSearchRule(boolean caseSensitive, boolean regex) {
+    private static SearchRule getSearchRule(boolean caseSensitive, boolean regex, boolean fuzzy) {
         if (regex) {
             return new RegexBasedSearchRule(caseSensitive);
+        } else if (fuzzy) {
+            return new FuzzySearchRule(caseSensitive);
         } else {
             return new ContainBasedSearchRule(caseSensitive);
         }
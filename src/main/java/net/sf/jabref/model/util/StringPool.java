@@ -0,0 +1,94 @@
+package net.sf.jabref.model.util;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deduplicates equal strings, e.g., journal names, publishers or months, which occur in many entries.
+ * <p>
+ * In contrast to {@link String#intern()}, a pool is meant to be short lived: It is created for one parse or one
+ * database and dropped afterwards, so the strings it collected can be garbage collected together with the entries.
+ * Only strings up to a maximum length are pooled, as long values like titles and abstracts are hardly ever repeated.
+ * <p>
+ * The pool is thread safe and counts how many lookups returned an already pooled string, so the savings can be
+ * reported.
+ */
+public class StringPool {
+
+    public static final int DEFAULT_MAXIMUM_LENGTH = 128;
+
+    private final Map<String, String> pool = new ConcurrentHashMap<>();
+    private final int maximumLength;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder savedCharacters = new LongAdder();
+
+
+    public StringPool() {
+        this(DEFAULT_MAXIMUM_LENGTH);
+    }
+
+    public StringPool(int maximumLength) {
+        this.maximumLength = maximumLength;
+    }
+
+    /**
+     * Returns the pooled instance equal to the given string. If there is none, the given string is added to the pool.
+     * Strings longer than the maximum length are returned as they are.
+     */
+    public String intern(String value) {
+        if ((value == null) || (value.length() > maximumLength)) {
+            return value;
+        }
+
+        lookups.increment();
+        String pooledValue = pool.putIfAbsent(value, value);
+        if (pooledValue == null) {
+            return value;
+        }
+
+        hits.increment();
+        savedCharacters.add(value.length());
+        return pooledValue;
+    }
+
+    public long getNumberOfLookups() {
+        return lookups.sum();
+    }
+
+    public long getNumberOfHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of characters which are not stored twice thanks to the pool
+     */
+    public long getNumberOfSavedCharacters() {
+        return savedCharacters.sum();
+    }
+
+    /**
+     * @return the number of hits divided by the number of lookups, 0 if there were no lookups
+     */
+    public double getHitRate() {
+        long numberOfLookups = getNumberOfLookups();
+        if (numberOfLookups == 0) {
+            return 0;
+        }
+        return (double) getNumberOfHits() / numberOfLookups;
+    }
+
+    public int size() {
+        return pool.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ENGLISH,
+                "StringPool{size=%d, lookups=%d, hits=%d, hitRate=%.2f, savedCharacters=%d}", size(),
+                getNumberOfLookups(), getNumberOfHits(), getHitRate(), getNumberOfSavedCharacters());
+    }
+}
@@ -332,6 +332,9 @@ public class JabRefPreferences {
     public static final String USE_UNIT_FORMATTER_ON_SEARCH = "useUnitFormatterOnSearch";
     public static final String USE_CASE_KEEPER_ON_SEARCH = "useCaseKeeperOnSearch";
     public static final String USE_IEEE_ABRV = "useIEEEAbrv";
+    public static final String LAZY_PARSED_SERIALIZATION = "lazyParsedSerialization";
+    public static final String USE_SEARCH_INDEX = "useSearchIndex";
+    public static final String USE_SEARCH_TRIGRAM_INDEX = "useSearchTrigramIndex";
 
     public static final String PROTECTED_TERMS_ENABLED_EXTERNAL = "protectedTermsEnabledExternal";
     public static final String PROTECTED_TERMS_DISABLED_EXTERNAL = "protectedTermsDisabledExternal";
@@ -861,6 +864,9 @@ public class JabRefPreferences {
         defaults.put(USE_IEEE_ABRV, Boolean.FALSE);
         defaults.put(USE_CASE_KEEPER_ON_SEARCH, Boolean.TRUE);
         defaults.put(USE_UNIT_FORMATTER_ON_SEARCH, Boolean.TRUE);
+        defaults.put(LAZY_PARSED_SERIALIZATION, Boolean.FALSE);
+        defaults.put(USE_SEARCH_INDEX, Boolean.TRUE);
+        defaults.put(USE_SEARCH_TRIGRAM_INDEX, Boolean.FALSE);
 
         defaults.put(USE_DEFAULT_CONSOLE_APPLICATION, Boolean.TRUE);
         if (OS.WINDOWS) {
@@ -1423,7 +1429,7 @@ public class JabRefPreferences {
         return new ImportFormatPreferences(customImports, getDefaultEncoding(), get(KEYWORD_SEPARATOR),
                 getBibtexKeyPatternPreferences(), getFieldContentParserPreferences(),
                 getBoolean(USE_UNIT_FORMATTER_ON_SEARCH), getBoolean(USE_CASE_KEEPER_ON_SEARCH),
-                isKeywordSyncEnabled());
+                isKeywordSyncEnabled(), getBoolean(LAZY_PARSED_SERIALIZATION));
     }
 
     public BibtexKeyPatternPreferences getBibtexKeyPatternPreferences() {
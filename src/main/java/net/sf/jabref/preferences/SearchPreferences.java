@@ -12,6 +12,8 @@ public class SearchPreferences {
     private static final String SEARCH_DISPLAY_MODE = "searchDisplayMode";
     private static final String SEARCH_CASE_SENSITIVE = "caseSensitiveSearch";
     private static final String SEARCH_REG_EXP = "regExpSearch";
+    private static final String SEARCH_FUZZY = "fuzzySearch";
+    private static final String SEARCH_PROGRESSIVE = "progressiveSearch";
 
     private static final String SEARCH_DIALOG_HEIGHT = "searchDialogHeight";
     private static final String SEARCH_DIALOG_WIDTH = "searchDialogWidth";
@@ -30,6 +32,8 @@ public class SearchPreferences {
         defaults.put(SEARCH_DISPLAY_MODE, SearchDisplayMode.FILTER.toString());
         defaults.put(SEARCH_CASE_SENSITIVE, Boolean.FALSE);
         defaults.put(SEARCH_REG_EXP, Boolean.FALSE);
+        defaults.put(SEARCH_FUZZY, Boolean.FALSE);
+        defaults.put(SEARCH_PROGRESSIVE, Boolean.TRUE);
 
         defaults.put(SEARCH_DIALOG_WIDTH, 650);
         defaults.put(SEARCH_DIALOG_HEIGHT, 500);
@@ -78,6 +82,24 @@ public class SearchPreferences {
         return this;
     }
 
+    public boolean isFuzzySearch() {
+        return preferences.getBoolean(SEARCH_FUZZY);
+    }
+
+    public SearchPreferences setFuzzySearch(boolean isFuzzySearch) {
+        preferences.putBoolean(SEARCH_FUZZY, isFuzzySearch);
+        return this;
+    }
+
+    public boolean isProgressiveSearch() {
+        return preferences.getBoolean(SEARCH_PROGRESSIVE);
+    }
+
+    public SearchPreferences setProgressiveSearch(boolean isProgressiveSearch) {
+        preferences.putBoolean(SEARCH_PROGRESSIVE, isProgressiveSearch);
+        return this;
+    }
+
     public int getSeachDialogWidth() {
         return preferences.getInt(SEARCH_DIALOG_WIDTH);
     }
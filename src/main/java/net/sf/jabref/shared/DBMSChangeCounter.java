@@ -0,0 +1,37 @@
+package net.sf.jabref.shared;
+
+/**
+ * Keeps the numbers of the last changes of a shared database, see {@link DBMSProcessor#getChangeCounter()}.
+ * Every change of entries or meta data gets the next number, so a client has only to fetch the changes with a higher
+ * number than the one it has synchronized last.
+ */
+public class DBMSChangeCounter {
+
+    private final int lastChange;
+    private final int lastMetaDataChange;
+
+
+    public DBMSChangeCounter(int lastChange, int lastMetaDataChange) {
+        this.lastChange = lastChange;
+        this.lastMetaDataChange = lastMetaDataChange;
+    }
+
+    /**
+     * @return the number of the last change of entries or meta data
+     */
+    public int getLastChange() {
+        return lastChange;
+    }
+
+    /**
+     * @return the number of the last change of meta data
+     */
+    public int getLastMetaDataChange() {
+        return lastMetaDataChange;
+    }
+
+    @Override
+    public String toString() {
+        return "DBMSChangeCounter [lastChange=" + lastChange + ", lastMetaDataChange=" + lastMetaDataChange + "]";
+    }
+}
@@ -5,7 +5,10 @@ import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -13,9 +16,11 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.event.EntryEventSource;
+import net.sf.jabref.model.util.StringPool;
 import net.sf.jabref.shared.exception.OfflineLockException;
 import net.sf.jabref.shared.exception.SharedEntryNotPresentException;
 
@@ -29,8 +34,25 @@ public abstract class DBMSProcessor {
 
     protected static final Log LOGGER = LogFactory.getLog(DBMSProcessor.class);
 
+    /**
+     * Number of rows fetched at once while loading entries, if not set otherwise by {@link #setFetchSize(int)}
+     */
+    public static final int DEFAULT_FETCH_SIZE = 5000;
+
+    /**
+     * Maximum number of entry IDs in one query. Oracle does not accept more than 1000 expressions in an IN list.
+     */
+    protected static final int MAX_IDS_PER_QUERY = 1000;
+
+    /**
+     * Maximum number of statements sent to the database with one batch
+     */
+    protected static final int MAX_BATCH_SIZE = 1000;
+
     protected final Connection connection;
 
+    private int fetchSize = DEFAULT_FETCH_SIZE;
+
     /**
      * @param connection Working SQL connection
      * @param dbmsType Instance of {@link DBMSType}
@@ -46,7 +68,7 @@ public abstract class DBMSProcessor {
      * @throws SQLException
      */
     public boolean checkBaseIntegrity() throws SQLException {
-        return checkTableAvailibility("ENTRY", "FIELD", "METADATA");
+        return checkTableAvailibility("ENTRY", "FIELD", "METADATA", "CHANGE_COUNTER", "ENTRY_CHANGE");
     }
 
     /**
@@ -71,7 +93,7 @@ public abstract class DBMSProcessor {
      * @param tableNames Table names to be checked
      * @return <code>true</code> if <b>all</b> given tables are present, else <code>false</code>.
      */
-    private boolean checkTableAvailibility(String... tableNames) throws SQLException {
+    protected boolean checkTableAvailibility(String... tableNames) throws SQLException {
         List<String> requiredTables = new ArrayList<>();
         for (String name : tableNames) {
             requiredTables.add(name.toUpperCase(Locale.ENGLISH));
@@ -97,6 +119,17 @@ public abstract class DBMSProcessor {
     public void setupSharedDatabase() throws SQLException {
         setUp();
 
+        // the change counter consists of one row
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + escape("CHANGE_COUNTER"))) {
+            if (resultSet.next() && (resultSet.getInt(1) == 0)) {
+                try (Statement insertStatement = connection.createStatement()) {
+                    insertStatement.executeUpdate("INSERT INTO " + escape("CHANGE_COUNTER") + "("
+                            + escape("LAST_CHANGE") + ", " + escape("LAST_METADATA_CHANGE") + ") VALUES(0, 0)");
+                }
+            }
+        }
+
         if (!checkBaseIntegrity()) {
             // can only happen with users direct intervention on shared database
             LOGGER.error("Corrupt_shared_database_structure.");
@@ -104,7 +137,13 @@ public abstract class DBMSProcessor {
     }
 
     /**
-     * Creates and sets up the needed tables and columns according to the database type.
+     * Creates and sets up the needed tables and columns according to the database type. Tables which already exist
+     * are kept.
+     * <p>
+     * Besides the entries, their fields and the meta data, the shared database keeps a change counter: The table
+     * CHANGE_COUNTER has one row with the number of the last change (LAST_CHANGE) and of the last meta data change
+     * (LAST_METADATA_CHANGE). The table ENTRY_CHANGE keeps the number of the last change (CHANGE_NUMBER) of every
+     * entry (ENTRY_SHARED_ID), also of removed ones, and is indexed by the change number.
      *
      * @throws SQLException
      */
@@ -126,77 +165,123 @@ public abstract class DBMSProcessor {
      * @param bibEntry {@link BibEntry} to be inserted
      */
     public void insertEntry(BibEntry bibEntry) {
+        insertEntries(Collections.singletonList(bibEntry));
+    }
 
-
+    /**
+     * Inserts the given entries into shared database within one transaction. The fields of all entries are inserted
+     * in batches. Entries which are already present on shared database are skipped.
+     *
+     * @param bibEntries {@link BibEntry} instances to be inserted
+     */
+    public void insertEntries(List<BibEntry> bibEntries) {
+        List<BibEntry> insertedEntries = new ArrayList<>();
         try {
-            // Check if already exists
-            int sharedID = bibEntry.getSharedBibEntryData().getSharedID();
-            if (sharedID != -1) {
-                StringBuilder selectQuery = new StringBuilder()
-                        .append("SELECT * FROM ")
-                        .append(escape("ENTRY"))
-                        .append(" WHERE ")
-                        .append(escape("SHARED_ID"))
-                        .append(" = ?");
-
-                try (PreparedStatement preparedSelectStatement = connection.prepareStatement(selectQuery.toString())) {
-                    preparedSelectStatement.setInt(1, sharedID);
-                    try (ResultSet resultSet = preparedSelectStatement.executeQuery()) {
-                        if (resultSet.next()) {
-                            return;
-                        }
-                    }
-                }
-            }
-
-            // Inserting into ENTRY table
-            StringBuilder insertIntoEntryQuery = new StringBuilder()
-                .append("INSERT INTO ")
-                .append(escape("ENTRY"))
-                .append("(")
-                .append(escape("TYPE"))
-                .append(") VALUES(?)");
+            connection.setAutoCommit(false); // disable auto commit due to transaction
 
-            // This is the only method to get generated keys which is accepted by MySQL, PostgreSQL and Oracle.
-            try (PreparedStatement preparedEntryStatement = connection.prepareStatement(insertIntoEntryQuery.toString(),
-                    new String[] {"SHARED_ID"})) {
-
-                preparedEntryStatement.setString(1, bibEntry.getType());
-                preparedEntryStatement.executeUpdate();
+            try {
+                List<BibEntry> newEntries = getEntriesNotPresentOnSharedDatabase(bibEntries);
+                if (newEntries.isEmpty()) {
+                    return;
+                }
+                int changeNumber = incrementChangeCounter(false);
 
-                try (ResultSet generatedKeys = preparedEntryStatement.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        bibEntry.getSharedBibEntryData().setSharedID(generatedKeys.getInt(1)); // set generated ID locally
+                // Inserting into ENTRY table
+                StringBuilder insertIntoEntryQuery = new StringBuilder()
+                    .append("INSERT INTO ")
+                    .append(escape("ENTRY"))
+                    .append("(")
+                    .append(escape("TYPE"))
+                    .append(") VALUES(?)");
+
+                // This is the only method to get generated keys which is accepted by MySQL, PostgreSQL and Oracle.
+                // Oracle does not return generated keys of batches, so the entries are inserted one by one.
+                try (PreparedStatement preparedEntryStatement = connection.prepareStatement(insertIntoEntryQuery.toString(),
+                        new String[] {"SHARED_ID"})) {
+                    for (BibEntry bibEntry : newEntries) {
+                        preparedEntryStatement.setString(1, bibEntry.getType());
+                        preparedEntryStatement.executeUpdate();
+
+                        try (ResultSet generatedKeys = preparedEntryStatement.getGeneratedKeys()) {
+                            if (generatedKeys.next()) {
+                                bibEntry.getSharedBibEntryData().setSharedID(generatedKeys.getInt(1)); // set generated ID locally
+                                insertedEntries.add(bibEntry);
+                            }
+                        }
                     }
                 }
 
                 // Inserting into FIELD table
-                for (String fieldName : bibEntry.getFieldNames()) {
-                    StringBuilder insertFieldQuery = new StringBuilder()
-                        .append("INSERT INTO ")
-                        .append(escape("FIELD"))
-                        .append("(")
-                        .append(escape("ENTRY_SHARED_ID"))
-                        .append(", ")
-                        .append(escape("NAME"))
-                        .append(", ")
-                        .append(escape("VALUE"))
-                        .append(") VALUES(?, ?, ?)");
-
-                    try (PreparedStatement preparedFieldStatement = connection.prepareStatement(insertFieldQuery.toString())) {
-                        // columnIndex starts with 1
-                        preparedFieldStatement.setInt(1, bibEntry.getSharedBibEntryData().getSharedID());
-                        preparedFieldStatement.setString(2, fieldName);
-                        preparedFieldStatement.setString(3, bibEntry.getField(fieldName).get());
-                        preparedFieldStatement.executeUpdate();
+                try (PreparedStatement preparedFieldStatement = connection.prepareStatement(getInsertFieldQuery())) {
+                    int batchSize = 0;
+                    for (BibEntry bibEntry : insertedEntries) {
+                        for (String fieldName : bibEntry.getFieldNames()) {
+                            // columnIndex starts with 1
+                            preparedFieldStatement.setInt(1, bibEntry.getSharedBibEntryData().getSharedID());
+                            preparedFieldStatement.setString(2, fieldName);
+                            preparedFieldStatement.setString(3, bibEntry.getField(fieldName).orElse(null));
+                            preparedFieldStatement.addBatch();
+                            batchSize++;
+                            if (batchSize == MAX_BATCH_SIZE) {
+                                preparedFieldStatement.executeBatch();
+                                batchSize = 0;
+                            }
+                        }
+                    }
+                    if (batchSize > 0) {
+                        preparedFieldStatement.executeBatch();
                     }
                 }
+
+                // a deleted entry may have had the same ID, e.g., if the database reset its ID sequence
+                updateEntryChanges(getSharedIDs(insertedEntries), changeNumber);
+
+                connection.commit(); // apply all changes in current transaction
+                // the entries have the initial shared version now, see the default of the VERSION column
+                insertedEntries.forEach(bibEntry -> bibEntry.getSharedBibEntryData().setVersion(1));
+            } catch (SQLException e) {
+                LOGGER.error("SQL Error: ", e);
+                connection.rollback(); // undo changes made in current transaction
+                // the generated IDs are not valid anymore
+                insertedEntries.forEach(bibEntry -> bibEntry.getSharedBibEntryData().setSharedID(-1));
+            } finally {
+                connection.setAutoCommit(true); // enable auto commit mode again
             }
         } catch (SQLException e) {
             LOGGER.error("SQL Error: ", e);
         }
     }
 
+    /**
+     * Helping method. Returns the given entries without the ones which already exist on shared database.
+     */
+    private List<BibEntry> getEntriesNotPresentOnSharedDatabase(List<BibEntry> bibEntries) throws SQLException {
+        StringBuilder selectQuery = new StringBuilder()
+                .append("SELECT * FROM ")
+                .append(escape("ENTRY"))
+                .append(" WHERE ")
+                .append(escape("SHARED_ID"))
+                .append(" = ?");
+
+        List<BibEntry> newEntries = new ArrayList<>(bibEntries.size());
+        try (PreparedStatement preparedSelectStatement = connection.prepareStatement(selectQuery.toString())) {
+            for (BibEntry bibEntry : bibEntries) {
+                // Check if already exists
+                int sharedID = bibEntry.getSharedBibEntryData().getSharedID();
+                if (sharedID != -1) {
+                    preparedSelectStatement.setInt(1, sharedID);
+                    try (ResultSet resultSet = preparedSelectStatement.executeQuery()) {
+                        if (resultSet.next()) {
+                            continue;
+                        }
+                    }
+                }
+                newEntries.add(bibEntry);
+            }
+        }
+        return newEntries;
+    }
+
     /**
      * Updates the whole {@link BibEntry} on shared database.
      *
@@ -207,22 +292,23 @@ public abstract class DBMSProcessor {
         connection.setAutoCommit(false); // disable auto commit due to transaction
 
         try {
+            // waiting for other changes before reading the shared version
+            int changeNumber = incrementChangeCounter(false);
+
             Optional<BibEntry> sharedEntryOptional = getSharedEntry(localBibEntry.getSharedBibEntryData().getSharedID());
 
             if (!sharedEntryOptional.isPresent()) {
+                connection.rollback(); // nothing changed
                 throw new SharedEntryNotPresentException(localBibEntry);
             }
 
             BibEntry sharedBibEntry = sharedEntryOptional.get();
 
-            // remove shared fields which do not exist locally
-            removeSharedFieldsByDifference(localBibEntry, sharedBibEntry);
-
             // update only if local version is higher or the entries are equal
             if ((localBibEntry.getSharedBibEntryData().getVersion() >= sharedBibEntry.getSharedBibEntryData()
                     .getVersion()) || localBibEntry.equals(sharedBibEntry)) {
 
-                insertOrUpdateFields(localBibEntry);
+                updateFields(localBibEntry, sharedBibEntry);
 
                 // updating entry type
                 StringBuilder updateEntryTypeQuery = new StringBuilder()
@@ -244,9 +330,16 @@ public abstract class DBMSProcessor {
                     preparedUpdateEntryTypeStatement.executeUpdate();
                 }
 
+                updateEntryChanges(Collections.singletonList(localBibEntry.getSharedBibEntryData().getSharedID()),
+                        changeNumber);
+
                 connection.commit(); // apply all changes in current transaction
+                // the local entry is in sync with the shared one now, so its next change is accepted without pulling
+                localBibEntry.getSharedBibEntryData()
+                        .setVersion(sharedBibEntry.getSharedBibEntryData().getVersion() + 1);
 
             } else {
+                connection.rollback(); // nothing changed
                 throw new OfflineLockException(localBibEntry, sharedBibEntry);
             }
         } catch (SQLException e) {
@@ -258,12 +351,23 @@ public abstract class DBMSProcessor {
     }
 
     /**
-     * Helping method. Removes shared fields which do not exist locally
+     * Helping method. Writes the differences between the local and the shared fields: Shared fields which do not exist
+     * locally are removed, changed fields are updated and new fields are inserted, each kind with one batch.
      */
-    private void removeSharedFieldsByDifference(BibEntry localBibEntry, BibEntry sharedBibEntry) throws SQLException {
-        Set<String> nullFields = new HashSet<>(sharedBibEntry.getFieldNames());
-        nullFields.removeAll(localBibEntry.getFieldNames());
-        for (String nullField : nullFields) {
+    private void updateFields(BibEntry localBibEntry, BibEntry sharedBibEntry) throws SQLException {
+        int sharedID = localBibEntry.getSharedBibEntryData().getSharedID();
+        Set<String> nullFields = sharedBibEntry.getFieldNames();
+        List<String> changedFields = new ArrayList<>();
+        List<String> newFields = new ArrayList<>();
+        for (String fieldName : localBibEntry.getFieldNames()) {
+            if (!nullFields.remove(fieldName)) {
+                newFields.add(fieldName);
+            } else if (!localBibEntry.getField(fieldName).equals(sharedBibEntry.getField(fieldName))) {
+                changedFields.add(fieldName);
+            }
+        }
+
+        if (!nullFields.isEmpty()) {
             StringBuilder deleteFieldQuery = new StringBuilder()
                 .append("DELETE FROM ")
                 .append(escape("FIELD"))
@@ -275,82 +379,65 @@ public abstract class DBMSProcessor {
 
             try (PreparedStatement preparedDeleteFieldStatement = connection
                     .prepareStatement(deleteFieldQuery.toString())) {
-                preparedDeleteFieldStatement.setString(1, nullField);
-                preparedDeleteFieldStatement.setInt(2, localBibEntry.getSharedBibEntryData().getSharedID());
-                preparedDeleteFieldStatement.executeUpdate();
+                for (String nullField : nullFields) {
+                    preparedDeleteFieldStatement.setString(1, nullField);
+                    preparedDeleteFieldStatement.setInt(2, sharedID);
+                    preparedDeleteFieldStatement.addBatch();
+                }
+                preparedDeleteFieldStatement.executeBatch();
             }
         }
-    }
 
-    /**
-     * Helping method. Inserts a key-value pair into FIELD table for every field if not existing. Otherwise only an update is performed.
-     */
-    private void insertOrUpdateFields(BibEntry localBibEntry) throws SQLException {
-        for (String fieldName : localBibEntry.getFieldNames()) {
-            // avoiding to use deprecated BibEntry.getField() method. null values are accepted by PreparedStatement!
-            Optional<String> valueOptional = localBibEntry.getField(fieldName);
-            String value = null;
-            if (valueOptional.isPresent()) {
-                value = valueOptional.get();
-            }
-
-            StringBuilder selectFieldQuery = new StringBuilder()
-                    .append("SELECT * FROM ")
+        if (!changedFields.isEmpty()) {
+            StringBuilder updateFieldQuery = new StringBuilder()
+                    .append("UPDATE ")
                     .append(escape("FIELD"))
-                    .append(" WHERE ")
+                    .append(" SET ")
+                    .append(escape("VALUE"))
+                    .append(" = ? WHERE ")
                     .append(escape("NAME"))
                     .append(" = ? AND ")
                     .append(escape("ENTRY_SHARED_ID"))
                     .append(" = ?");
 
-            try (PreparedStatement preparedSelectFieldStatement = connection
-                    .prepareStatement(selectFieldQuery.toString())) {
-                preparedSelectFieldStatement.setString(1, fieldName);
-                preparedSelectFieldStatement.setInt(2, localBibEntry.getSharedBibEntryData().getSharedID());
-
-                try (ResultSet selectFieldResultSet = preparedSelectFieldStatement.executeQuery()) {
-                    if (selectFieldResultSet.next()) { // check if field already exists
-                        StringBuilder updateFieldQuery = new StringBuilder()
-                                .append("UPDATE ")
-                                .append(escape("FIELD"))
-                                .append(" SET ")
-                                .append(escape("VALUE"))
-                                .append(" = ? WHERE ")
-                                .append(escape("NAME"))
-                                .append(" = ? AND ")
-                                .append(escape("ENTRY_SHARED_ID"))
-                                .append(" = ?");
-
-                        try (PreparedStatement preparedUpdateFieldStatement = connection
-                                .prepareStatement(updateFieldQuery.toString())) {
-                            preparedUpdateFieldStatement.setString(1, value);
-                            preparedUpdateFieldStatement.setString(2, fieldName);
-                            preparedUpdateFieldStatement.setInt(3, localBibEntry.getSharedBibEntryData().getSharedID());
-                            preparedUpdateFieldStatement.executeUpdate();
-                        }
-                    } else {
-                        StringBuilder insertFieldQuery = new StringBuilder()
-                                .append("INSERT INTO ")
-                                .append(escape("FIELD"))
-                                .append("(")
-                                .append(escape("ENTRY_SHARED_ID"))
-                                .append(", ")
-                                .append(escape("NAME"))
-                                .append(", ")
-                                .append(escape("VALUE"))
-                                .append(") VALUES(?, ?, ?)");
-
-                        try (PreparedStatement preparedFieldStatement = connection
-                                .prepareStatement(insertFieldQuery.toString())) {
-                            preparedFieldStatement.setInt(1, localBibEntry.getSharedBibEntryData().getSharedID());
-                            preparedFieldStatement.setString(2, fieldName);
-                            preparedFieldStatement.setString(3, value);
-                            preparedFieldStatement.executeUpdate();
-                        }
-                    }
+            try (PreparedStatement preparedUpdateFieldStatement = connection
+                    .prepareStatement(updateFieldQuery.toString())) {
+                for (String fieldName : changedFields) {
+                    // null values are accepted by PreparedStatement!
+                    preparedUpdateFieldStatement.setString(1, localBibEntry.getField(fieldName).orElse(null));
+                    preparedUpdateFieldStatement.setString(2, fieldName);
+                    preparedUpdateFieldStatement.setInt(3, sharedID);
+                    preparedUpdateFieldStatement.addBatch();
                 }
+                preparedUpdateFieldStatement.executeBatch();
             }
         }
+
+        if (!newFields.isEmpty()) {
+            try (PreparedStatement preparedFieldStatement = connection.prepareStatement(getInsertFieldQuery())) {
+                for (String fieldName : newFields) {
+                    preparedFieldStatement.setInt(1, sharedID);
+                    preparedFieldStatement.setString(2, fieldName);
+                    preparedFieldStatement.setString(3, localBibEntry.getField(fieldName).orElse(null));
+                    preparedFieldStatement.addBatch();
+                }
+                preparedFieldStatement.executeBatch();
+            }
+        }
+    }
+
+    private String getInsertFieldQuery() {
+        return new StringBuilder()
+                .append("INSERT INTO ")
+                .append(escape("FIELD"))
+                .append("(")
+                .append(escape("ENTRY_SHARED_ID"))
+                .append(", ")
+                .append(escape("NAME"))
+                .append(", ")
+                .append(escape("VALUE"))
+                .append(") VALUES(?, ?, ?)")
+                .toString();
     }
 
     /**
@@ -359,6 +446,19 @@ public abstract class DBMSProcessor {
      * @param bibEntry {@link BibEntry} to be deleted
      */
     public void removeEntry(BibEntry bibEntry) {
+        removeEntries(Collections.singletonList(bibEntry));
+    }
+
+    /**
+     * Removes the given shared entries with one batch.
+     *
+     * @param bibEntries {@link BibEntry} instances to be deleted
+     */
+    public void removeEntries(List<BibEntry> bibEntries) {
+        if (bibEntries.isEmpty()) {
+            return;
+        }
+
         StringBuilder query = new StringBuilder()
                 .append("DELETE FROM ")
                 .append(escape("ENTRY"))
@@ -366,13 +466,133 @@ public abstract class DBMSProcessor {
                 .append(escape("SHARED_ID"))
                 .append(" = ?");
 
-        try (PreparedStatement preparedStatement = connection.prepareStatement(query.toString())) {
-            preparedStatement.setInt(1, bibEntry.getSharedBibEntryData().getSharedID());
-            preparedStatement.executeUpdate();
+        try {
+            connection.setAutoCommit(false); // disable auto commit due to transaction
+
+            try {
+                int changeNumber = incrementChangeCounter(false);
+                List<Integer> sharedIDs = getSharedIDs(bibEntries);
+
+                try (PreparedStatement preparedStatement = connection.prepareStatement(query.toString())) {
+                    for (int sharedID : sharedIDs) {
+                        preparedStatement.setInt(1, sharedID);
+                        preparedStatement.addBatch();
+                    }
+                    preparedStatement.executeBatch();
+                }
+
+                // the changes of removed entries are kept, so other clients remove them too
+                updateEntryChanges(sharedIDs, changeNumber);
+
+                connection.commit(); // apply all changes in current transaction
+            } catch (SQLException e) {
+                LOGGER.error("SQL Error: ", e);
+                connection.rollback(); // undo changes made in current transaction
+            } finally {
+                connection.setAutoCommit(true); // enable auto commit mode again
+            }
         } catch (SQLException e) {
             LOGGER.error("SQL Error: ", e);
         }
+    }
 
+    private static List<Integer> getSharedIDs(List<BibEntry> bibEntries) {
+        List<Integer> sharedIDs = new ArrayList<>(bibEntries.size());
+        for (BibEntry bibEntry : bibEntries) {
+            sharedIDs.add(bibEntry.getSharedBibEntryData().getSharedID());
+        }
+        return sharedIDs;
+    }
+
+    /**
+     * Helping method. Increments the change counter and returns the new number of the last change. In a transaction,
+     * this has to be the first change: The row of the counter stays locked until the end of the transaction, so
+     * transactions changing the shared database wait for each other and their change numbers are ordered like their
+     * commits. Hence, clients which have read a change number will never see a change with a lower number later.
+     *
+     * @param metaData <code>true</code> if meta data are changed
+     */
+    private int incrementChangeCounter(boolean metaData) throws SQLException {
+        StringBuilder updateQuery = new StringBuilder()
+                .append("UPDATE ")
+                .append(escape("CHANGE_COUNTER"))
+                .append(" SET ");
+        if (metaData) {
+            // assigned first, since MySQL uses the new values of columns assigned before
+            updateQuery.append(escape("LAST_METADATA_CHANGE"))
+                    .append(" = ")
+                    .append(escape("LAST_CHANGE"))
+                    .append(" + 1, ");
+        }
+        updateQuery.append(escape("LAST_CHANGE"))
+                .append(" = ")
+                .append(escape("LAST_CHANGE"))
+                .append(" + 1");
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(updateQuery.toString());
+
+            try (ResultSet resultSet = statement
+                    .executeQuery("SELECT " + escape("LAST_CHANGE") + " FROM " + escape("CHANGE_COUNTER"))) {
+                if (resultSet.next()) {
+                    return resultSet.getInt(1);
+                }
+            }
+        }
+        throw new SQLException("The change counter is missing.");
+    }
+
+    /**
+     * Helping method. Records the given change number for the given entries.
+     */
+    private void updateEntryChanges(List<Integer> sharedIDs, int changeNumber) throws SQLException {
+        StringBuilder deleteQuery = new StringBuilder()
+                .append("DELETE FROM ")
+                .append(escape("ENTRY_CHANGE"))
+                .append(" WHERE ")
+                .append(escape("ENTRY_SHARED_ID"))
+                .append(" = ?");
+
+        try (PreparedStatement preparedDeleteStatement = connection.prepareStatement(deleteQuery.toString())) {
+            int batchSize = 0;
+            for (int sharedID : sharedIDs) {
+                preparedDeleteStatement.setInt(1, sharedID);
+                preparedDeleteStatement.addBatch();
+                batchSize++;
+                if (batchSize == MAX_BATCH_SIZE) {
+                    preparedDeleteStatement.executeBatch();
+                    batchSize = 0;
+                }
+            }
+            if (batchSize > 0) {
+                preparedDeleteStatement.executeBatch();
+            }
+        }
+
+        StringBuilder insertQuery = new StringBuilder()
+                .append("INSERT INTO ")
+                .append(escape("ENTRY_CHANGE"))
+                .append("(")
+                .append(escape("ENTRY_SHARED_ID"))
+                .append(", ")
+                .append(escape("CHANGE_NUMBER"))
+                .append(") VALUES(?, ?)");
+
+        try (PreparedStatement preparedInsertStatement = connection.prepareStatement(insertQuery.toString())) {
+            int batchSize = 0;
+            for (int sharedID : sharedIDs) {
+                preparedInsertStatement.setInt(1, sharedID);
+                preparedInsertStatement.setInt(2, changeNumber);
+                preparedInsertStatement.addBatch();
+                batchSize++;
+                if (batchSize == MAX_BATCH_SIZE) {
+                    preparedInsertStatement.executeBatch();
+                    batchSize = 0;
+                }
+            }
+            if (batchSize > 0) {
+                preparedInsertStatement.executeBatch();
+            }
+        }
     }
 
     /**
@@ -380,7 +600,7 @@ public abstract class DBMSProcessor {
      * @return instance of {@link BibEntry}
      */
     public Optional<BibEntry> getSharedEntry(int sharedID) {
-        List<BibEntry> sharedEntries = getSharedEntryList(sharedID);
+        List<BibEntry> sharedEntries = getSharedEntries(Collections.singletonList(sharedID));
         if (!sharedEntries.isEmpty()) {
             return Optional.of(sharedEntries.get(0));
         }
@@ -388,60 +608,132 @@ public abstract class DBMSProcessor {
     }
 
     public List<BibEntry> getSharedEntries() {
-        return getSharedEntryList(0);
+        return getSharedEntryList(Optional.empty());
     }
 
     /**
-     * @param sharedID Entry ID. If 0, all entries are going to be fetched.
+     * Fetches the shared entries with the given IDs. IDs which are not present on the shared database are ignored.
+     *
+     * @param sharedIDs Entry IDs
+     * @return List of {@link BibEntry} instances ordered by their IDs
+     */
+    public List<BibEntry> getSharedEntries(Collection<Integer> sharedIDs) {
+        List<Integer> sortedIDs = new ArrayList<>(new TreeSet<>(sharedIDs));
+        List<BibEntry> sharedEntries = new ArrayList<>(sortedIDs.size());
+        for (int i = 0; i < sortedIDs.size(); i += MAX_IDS_PER_QUERY) {
+            List<Integer> ids = sortedIDs.subList(i, Math.min(i + MAX_IDS_PER_QUERY, sortedIDs.size()));
+            sharedEntries.addAll(getSharedEntryList(Optional.of(ids)));
+        }
+        return sharedEntries;
+    }
+
+    /**
+     * Sets the number of rows fetched from the shared database at once while loading entries. Larger values need
+     * less round trips, smaller values less memory.
+     */
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("The fetch size has to be positive: " + fetchSize);
+        }
+        this.fetchSize = fetchSize;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Loads the entries and their fields with one query, which joins the ENTRY and the FIELD table and is ordered by
+     * the entry ID. The rows are fetched in chunks of {@link #getFetchSize()} rows and converted into entries while
+     * reading them, so all fields of an entry are in consecutive rows.
+     *
+     * @param sharedIDs Entry IDs, at most {@link #MAX_IDS_PER_QUERY}. If empty, all entries are going to be fetched.
      * @return List of {@link BibEntry} instances
      */
-    private List<BibEntry> getSharedEntryList(int sharedID) {
+    private List<BibEntry> getSharedEntryList(Optional<List<Integer>> sharedIDs) {
         List<BibEntry> sharedEntries = new ArrayList<>();
+        // values like journal names are repeated in many entries
+        StringPool stringPool = new StringPool();
 
-        StringBuilder selectEntryQuery = new StringBuilder();
-        selectEntryQuery.append("SELECT * FROM ");
-        selectEntryQuery.append(escape("ENTRY"));
+        StringBuilder selectEntryQuery = new StringBuilder()
+                .append("SELECT E.")
+                .append(escape("SHARED_ID"))
+                .append(", E.")
+                .append(escape("TYPE"))
+                .append(", E.")
+                .append(escape("VERSION"))
+                .append(", F.")
+                .append(escape("NAME"))
+                .append(", F.")
+                .append(escape("VALUE"))
+                .append(" FROM ")
+                .append(escape("ENTRY"))
+                .append(" E LEFT OUTER JOIN ")
+                .append(escape("FIELD"))
+                .append(" F ON E.")
+                .append(escape("SHARED_ID"))
+                .append(" = F.")
+                .append(escape("ENTRY_SHARED_ID"));
 
-        if (sharedID != 0) {
-            selectEntryQuery.append(" WHERE ");
-            selectEntryQuery.append(escape("SHARED_ID"));
-            selectEntryQuery.append(" = ");
-            selectEntryQuery.append(sharedID);
+        if (sharedIDs.isPresent()) {
+            if (sharedIDs.get().isEmpty()) {
+                return sharedEntries;
+            }
+            selectEntryQuery.append(" WHERE E.")
+                    .append(escape("SHARED_ID"))
+                    .append(" IN (")
+                    .append(String.join(", ", Collections.nCopies(sharedIDs.get().size(), "?")))
+                    .append(")");
         }
 
-        selectEntryQuery.append(" ORDER BY ");
-        selectEntryQuery.append(escape("SHARED_ID"));
+        selectEntryQuery.append(" ORDER BY E.")
+                .append(escape("SHARED_ID"));
 
-        try (ResultSet selectEntryResultSet = connection.createStatement().executeQuery(selectEntryQuery.toString())) {
-            while (selectEntryResultSet.next()) {
-                BibEntry bibEntry = new BibEntry();
-                // setting the base attributes once
-                bibEntry.getSharedBibEntryData().setSharedID(selectEntryResultSet.getInt("SHARED_ID"));
-                bibEntry.setType(selectEntryResultSet.getString("TYPE"));
-                bibEntry.getSharedBibEntryData().setVersion(selectEntryResultSet.getInt("VERSION"));
-
-                StringBuilder selectFieldQuery = new StringBuilder()
-                    .append("SELECT * FROM ")
-                    .append(escape("FIELD"))
-                    .append(" WHERE ")
-                    .append(escape("ENTRY_SHARED_ID"))
-                    .append(" = ?");
+        try {
+            boolean autoCommit = connection.getAutoCommit();
+            // PostgreSQL fetches all rows at once in auto commit mode
+            connection.setAutoCommit(false);
+            try (PreparedStatement preparedSelectEntryStatement = connection
+                    .prepareStatement(selectEntryQuery.toString())) {
+                preparedSelectEntryStatement.setFetchSize(fetchSize);
+                if (sharedIDs.isPresent()) {
+                    for (int i = 0; i < sharedIDs.get().size(); i++) {
+                        preparedSelectEntryStatement.setInt(i + 1, sharedIDs.get().get(i));
+                    }
+                }
 
-                try (PreparedStatement preparedSelectFieldStatement = connection.prepareStatement(selectFieldQuery.toString())) {
-                    preparedSelectFieldStatement.setInt(1, selectEntryResultSet.getInt("SHARED_ID"));
-                    try (ResultSet selectFieldResultSet = preparedSelectFieldStatement.executeQuery()) {
-                        while (selectFieldResultSet.next()) {
-                            bibEntry.setField(selectFieldResultSet.getString("NAME"),
-                                    Optional.ofNullable(selectFieldResultSet.getString("VALUE")), EntryEventSource.SHARED);
+                try (ResultSet selectEntryResultSet = preparedSelectEntryStatement.executeQuery()) {
+                    BibEntry bibEntry = null;
+                    while (selectEntryResultSet.next()) {
+                        int sharedID = selectEntryResultSet.getInt(1);
+                        if ((bibEntry == null) || (bibEntry.getSharedBibEntryData().getSharedID() != sharedID)) {
+                            bibEntry = new BibEntry();
+                            // setting the base attributes once
+                            bibEntry.getSharedBibEntryData().setSharedID(sharedID);
+                            bibEntry.setType(stringPool.intern(selectEntryResultSet.getString(2)));
+                            bibEntry.getSharedBibEntryData().setVersion(selectEntryResultSet.getInt(3));
+                            sharedEntries.add(bibEntry);
+                        }
+
+                        // entries without fields have one row without a field name
+                        String fieldName = selectEntryResultSet.getString(4);
+                        if (fieldName != null) {
+                            bibEntry.setField(fieldName,
+                                    Optional.ofNullable(selectEntryResultSet.getString(5)).map(stringPool::intern),
+                                    EntryEventSource.SHARED);
                         }
                     }
                 }
-                sharedEntries.add(bibEntry);
+            } finally {
+                if (autoCommit) {
+                    connection.setAutoCommit(true);
+                }
             }
         } catch (SQLException e) {
             LOGGER.error("SQL Error", e);
         }
 
+        LOGGER.debug("Loaded shared entries using " + stringPool);
         return sharedEntries;
     }
 
@@ -467,6 +759,107 @@ public abstract class DBMSProcessor {
         return sharedIDVersionMapping;
     }
 
+    /**
+     * Retrieves a mapping between the columns SHARED_ID and VERSION of the entries which have been inserted or updated
+     * after the given change.
+     *
+     * @param lastChange Number of a change, see {@link #getChangeCounter()}
+     */
+    public Map<Integer, Integer> getSharedIDVersionMapping(int lastChange) {
+        Map<Integer, Integer> sharedIDVersionMapping = new HashMap<>();
+        StringBuilder selectEntryQuery = new StringBuilder()
+                .append("SELECT E.")
+                .append(escape("SHARED_ID"))
+                .append(", E.")
+                .append(escape("VERSION"))
+                .append(" FROM ")
+                .append(escape("ENTRY_CHANGE"))
+                .append(" C INNER JOIN ")
+                .append(escape("ENTRY"))
+                .append(" E ON C.")
+                .append(escape("ENTRY_SHARED_ID"))
+                .append(" = E.")
+                .append(escape("SHARED_ID"))
+                .append(" WHERE C.")
+                .append(escape("CHANGE_NUMBER"))
+                .append(" > ?");
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(selectEntryQuery.toString())) {
+            preparedStatement.setInt(1, lastChange);
+            try (ResultSet selectEntryResultSet = preparedStatement.executeQuery()) {
+                while (selectEntryResultSet.next()) {
+                    sharedIDVersionMapping.put(selectEntryResultSet.getInt(1), selectEntryResultSet.getInt(2));
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error", e);
+        }
+
+        return sharedIDVersionMapping;
+    }
+
+    /**
+     * Retrieves the IDs of the entries which have been removed after the given change.
+     *
+     * @param lastChange Number of a change, see {@link #getChangeCounter()}
+     */
+    public Set<Integer> getRemovedSharedIDs(int lastChange) {
+        Set<Integer> removedSharedIDs = new HashSet<>();
+        StringBuilder selectChangeQuery = new StringBuilder()
+                .append("SELECT C.")
+                .append(escape("ENTRY_SHARED_ID"))
+                .append(" FROM ")
+                .append(escape("ENTRY_CHANGE"))
+                .append(" C WHERE C.")
+                .append(escape("CHANGE_NUMBER"))
+                .append(" > ? AND NOT EXISTS (SELECT 1 FROM ")
+                .append(escape("ENTRY"))
+                .append(" E WHERE E.")
+                .append(escape("SHARED_ID"))
+                .append(" = C.")
+                .append(escape("ENTRY_SHARED_ID"))
+                .append(")");
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(selectChangeQuery.toString())) {
+            preparedStatement.setInt(1, lastChange);
+            try (ResultSet selectChangeResultSet = preparedStatement.executeQuery()) {
+                while (selectChangeResultSet.next()) {
+                    removedSharedIDs.add(selectChangeResultSet.getInt(1));
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error", e);
+        }
+
+        return removedSharedIDs;
+    }
+
+    /**
+     * Fetches the numbers of the last changes. A client which has synchronized everything up to these numbers only
+     * needs to fetch the changes with higher numbers afterwards.
+     *
+     * @return the change counter, or an empty Optional if it could not be read
+     */
+    public Optional<DBMSChangeCounter> getChangeCounter() {
+        StringBuilder selectQuery = new StringBuilder()
+                .append("SELECT ")
+                .append(escape("LAST_CHANGE"))
+                .append(", ")
+                .append(escape("LAST_METADATA_CHANGE"))
+                .append(" FROM ")
+                .append(escape("CHANGE_COUNTER"));
+
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(selectQuery.toString())) {
+            if (resultSet.next()) {
+                return Optional.of(new DBMSChangeCounter(resultSet.getInt(1), resultSet.getInt(2)));
+            }
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error", e);
+        }
+        return Optional.empty();
+    }
+
     /**
      * Fetches and returns all shared meta data.
      */
@@ -512,6 +905,10 @@ public abstract class DBMSProcessor {
                 LOGGER.error("SQL Error: ", e);
             }
         }
+
+        // TRUNCATE commits in some database systems, so the meta data cannot be written in one transaction.
+        // Counting the change afterwards ensures that clients reading the new number read the new meta data.
+        incrementChangeCounter(true);
     }
 
     /**
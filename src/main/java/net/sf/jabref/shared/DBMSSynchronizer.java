@@ -2,10 +2,19 @@ package net.sf.jabref.shared;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import net.sf.jabref.logic.exporter.BibDatabaseWriter;
 import net.sf.jabref.logic.exporter.MetaDataSerializer;
@@ -36,6 +45,12 @@ import org.apache.commons.logging.LogFactory;
 /**
  * Synchronizes the shared or local databases with their opposite side.
  * Local changes are pushed by {@link EntryEvent} using Google's Guava EventBus.
+ * <p>
+ * Local changes are not written to the shared database by the thread which made them, but queued and written in the
+ * background (write-behind). All changes of an entry which are queued while a previous write is running are combined
+ * and written at once. After writing, the shared changes are pulled. The local database is updated and the events of
+ * this class are posted by the executor set with {@link #setLocalExecutor(Executor)}, e.g., the event dispatch
+ * thread.
  */
 public class DBMSSynchronizer {
 
@@ -51,13 +66,56 @@ public class DBMSSynchronizer {
     private Connection currentConnection;
     private final String keywordSeparator;
 
+    private final Executor writeExecutor;
+    private Executor localExecutor = Runnable::run;
+
+    // local changes which are not written yet by the ID of their entry, in the order of their first change
+    private final Map<String, LocalChange> pendingChanges = new LinkedHashMap<>();
+    private Optional<Map<String, String>> pendingMetaData = Optional.empty();
+    private boolean flushScheduled;
+
+    // serializes writing local changes and pulling shared changes
+    private final Object writeLock = new Object();
+    // number of writes of local changes, to detect pulled shared changes which are outdated
+    private volatile long writeCount;
+    // number of fetches of shared changes, so changes fetched before the ones applied last are not applied
+    private long fetchCount;
+    private long lastAppliedFetch;
+
+    // numbers of the last shared changes which are synchronized, see DBMSChangeCounter, -1 if none
+    private volatile int lastChange = -1;
+    private volatile int lastMetaDataChange = -1;
+    // shared IDs of changes which were not applied because of queued local changes, they are fetched again
+    private final Set<Integer> skippedSharedIDs = new HashSet<>();
+
 
     public DBMSSynchronizer(BibDatabaseContext bibDatabaseContext, String keywordSeparator) {
+        this(bibDatabaseContext, keywordSeparator, createWriteExecutor());
+    }
+
+    /**
+     * @param writeExecutor Executes the writing of local changes. Using <code>Runnable::run</code> writes every
+     *                      change immediately in the thread which made it.
+     */
+    public DBMSSynchronizer(BibDatabaseContext bibDatabaseContext, String keywordSeparator, Executor writeExecutor) {
         this.bibDatabaseContext = bibDatabaseContext;
         this.bibDatabase = bibDatabaseContext.getDatabase();
         this.metaData = bibDatabaseContext.getMetaData();
         this.eventBus = new EventBus();
         this.keywordSeparator = keywordSeparator;
+        this.writeExecutor = writeExecutor;
+    }
+
+    private static Executor createWriteExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "DBMSSynchronizer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // the thread is only kept while there are local changes
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     /**
@@ -69,10 +127,8 @@ public class DBMSSynchronizer {
     public void listen(EntryAddedEvent event) {
         // While synchronizing the local database (see synchronizeLocalDatabase() below), some EntryEvents may be posted.
         // In this case DBSynchronizer should not try to insert the bibEntry entry again (but it would not harm).
-        if (isEventSourceAccepted(event) && checkCurrentConnection()) {
-            dbmsProcessor.insertEntry(event.getBibEntry());
-            synchronizeLocalMetaData();
-            synchronizeLocalDatabase(); // Pull changes for the case that there were some
+        if (isEventSourceAccepted(event)) {
+            addPendingChange(event.getBibEntry(), ChangeType.INSERT);
         }
     }
 
@@ -85,11 +141,10 @@ public class DBMSSynchronizer {
     public void listen(FieldChangedEvent event) {
         // While synchronizing the local database (see synchronizeLocalDatabase() below), some EntryEvents may be posted.
         // In this case DBSynchronizer should not try to update the bibEntry entry again (but it would not harm).
-        if (isPresentLocalBibEntry(event.getBibEntry()) && isEventSourceAccepted(event) && checkCurrentConnection()) {
-            synchronizeLocalMetaData();
+        if (isPresentLocalBibEntry(event.getBibEntry()) && isEventSourceAccepted(event)) {
             BibEntry bibEntry = event.getBibEntry();
-            synchronizeSharedEntry(bibEntry);
-            synchronizeLocalDatabase(); // Pull changes for the case that there were some
+            BibDatabaseWriter.applySaveActions(bibEntry, metaData); // perform possibly existing save actions
+            addPendingChange(bibEntry, ChangeType.UPDATE);
         }
     }
 
@@ -102,10 +157,8 @@ public class DBMSSynchronizer {
     public void listen(EntryRemovedEvent event) {
         // While synchronizing the local database (see synchronizeLocalDatabase() below), some EntryEvents may be posted.
         // In this case DBSynchronizer should not try to delete the bibEntry entry again (but it would not harm).
-        if (isEventSourceAccepted(event) && checkCurrentConnection()) {
-            dbmsProcessor.removeEntry(event.getBibEntry());
-            synchronizeLocalMetaData();
-            synchronizeLocalDatabase(); // Pull changes for the case that there where some
+        if (isEventSourceAccepted(event)) {
+            addPendingChange(event.getBibEntry(), ChangeType.REMOVE);
         }
     }
 
@@ -116,11 +169,11 @@ public class DBMSSynchronizer {
      */
     @Subscribe
     public void listen(MetaDataChangedEvent event) {
-        if (checkCurrentConnection()) {
-            synchronizeSharedMetaData(event.getMetaData());
-            synchronizeLocalDatabase();
-            applyMetaData();
+        synchronized (pendingChanges) {
+            pendingMetaData = Optional.of(MetaDataSerializer.getSerializedStringMap(event.getMetaData()));
         }
+        applyMetaData();
+        scheduleFlush();
     }
 
     /**
@@ -147,149 +200,385 @@ public class DBMSSynchronizer {
         synchronizeLocalDatabase();
     }
 
+    /**
+     * Queues the change of the given entry and schedules writing it.
+     */
+    private void addPendingChange(BibEntry bibEntry, ChangeType type) {
+        synchronized (pendingChanges) {
+            LocalChange change = pendingChanges.get(bibEntry.getId());
+            if (change == null) {
+                pendingChanges.put(bibEntry.getId(), new LocalChange(bibEntry, type));
+            } else {
+                change.combine(type);
+            }
+        }
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        synchronized (pendingChanges) {
+            if (flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+        }
+        writeExecutor.execute(this::flushPendingChanges);
+    }
+
+    /**
+     * Writes the queued local changes to the shared database and pulls the shared changes afterwards.
+     * Returns after all changes queued until now are written.
+     */
+    public void flushPendingChanges() {
+        synchronized (writeLock) {
+            List<LocalChange> changes;
+            Optional<Map<String, String>> metaDataToWrite;
+            synchronized (pendingChanges) {
+                flushScheduled = false;
+                changes = new ArrayList<>(pendingChanges.values());
+                pendingChanges.clear();
+                metaDataToWrite = pendingMetaData;
+                pendingMetaData = Optional.empty();
+            }
+
+            if ((changes.isEmpty() && !metaDataToWrite.isPresent()) || !checkCurrentConnection()) {
+                return;
+            }
+
+            metaDataToWrite.ifPresent(this::writeSharedMetaData);
+            writeChanges(changes);
+            writeCount++;
+
+            // Pull changes for the case that there were some
+            SharedChanges sharedChanges = fetchSharedChanges(true, true);
+            localExecutor.execute(() -> applySharedChanges(sharedChanges));
+        }
+    }
+
+    /**
+     * Writes the given changes, all removals and all insertions with one batch each.
+     */
+    private void writeChanges(List<LocalChange> changes) {
+        List<BibEntry> removedEntries = new ArrayList<>();
+        List<BibEntry> insertedEntries = new ArrayList<>();
+        List<BibEntry> updatedEntries = new ArrayList<>();
+        for (LocalChange change : changes) {
+            if (change.type == ChangeType.REMOVE) {
+                // entries added and removed again before writing were never shared
+                if (change.bibEntry.getSharedBibEntryData().getSharedID() != -1) {
+                    removedEntries.add(change.bibEntry);
+                }
+            } else if (change.type == ChangeType.INSERT) {
+                insertedEntries.add(change.bibEntry);
+            } else {
+                updatedEntries.add(change.bibEntry);
+            }
+        }
+
+        if (!removedEntries.isEmpty()) {
+            dbmsProcessor.removeEntries(removedEntries);
+        }
+        if (!insertedEntries.isEmpty()) {
+            dbmsProcessor.insertEntries(insertedEntries);
+        }
+        for (BibEntry bibEntry : updatedEntries) {
+            updateSharedEntry(bibEntry);
+        }
+    }
+
     /**
      * Synchronizes the local database with shared one.
      * Possible update types are removal, update or insert of a {@link BibEntry}.
+     * <p>
+     * Only the entries changed since the last synchronization are considered, which are determined by the change
+     * counter of the shared database, see {@link DBMSProcessor#getChangeCounter()}. The versions of these shared
+     * entries are compared with the versions of the local entries, which are looked up by their shared ID. Only new
+     * entries and entries whose shared version is newer are fetched, all of them with one query. Synchronizing a
+     * database without shared changes only reads the change counter.
      */
     public void synchronizeLocalDatabase() {
+        pullSharedChanges(true, false);
+    }
+
+    private void pullSharedChanges(boolean entries, boolean metaData) {
         if (!checkCurrentConnection()) {
             return;
         }
 
-        List<BibEntry> localEntries = bibDatabase.getEntries();
-        Map<Integer, Integer> idVersionMap = dbmsProcessor.getSharedIDVersionMapping();
+        SharedChanges sharedChanges;
+        synchronized (writeLock) {
+            sharedChanges = fetchSharedChanges(entries, metaData);
+        }
+        applySharedChanges(sharedChanges);
+    }
 
-        // remove old entries locally
-        removeNotSharedEntries(localEntries, idVersionMap.keySet());
+    /**
+     * Fetches the shared changes which are not synchronized yet.
+     *
+     * @param entries  <code>true</code> if the entries which are not present locally or have a newer version than the
+     *                 local ones should be fetched
+     * @param metaData <code>true</code> if the meta data should be fetched if they have been changed
+     */
+    private SharedChanges fetchSharedChanges(boolean entries, boolean metaData) {
+        SharedChanges sharedChanges = new SharedChanges(writeCount, ++fetchCount);
+        Optional<DBMSChangeCounter> changeCounter = dbmsProcessor.getChangeCounter();
+        if (!changeCounter.isPresent()) {
+            return sharedChanges;
+        }
 
-        // compare versions and update local entry if needed
-        for (Map.Entry<Integer, Integer> idVersionEntry : idVersionMap.entrySet()) {
-            boolean match = false;
-            for (BibEntry localEntry : localEntries) {
-                if (idVersionEntry.getKey() == localEntry.getSharedBibEntryData().getSharedID()) {
-                    match = true;
-                    if (idVersionEntry.getValue() > localEntry.getSharedBibEntryData().getVersion()) {
-                        Optional<BibEntry> sharedEntry = dbmsProcessor.getSharedEntry(idVersionEntry.getKey());
-                        if (sharedEntry.isPresent()) {
-                            // update fields
-                            localEntry.setType(sharedEntry.get().getType(), EntryEventSource.SHARED);
-                            localEntry.getSharedBibEntryData()
-                                    .setVersion(sharedEntry.get().getSharedBibEntryData().getVersion());
-                            for (String field : sharedEntry.get().getFieldNames()) {
-                                localEntry.setField(field, sharedEntry.get().getField(field), EntryEventSource.SHARED);
-                            }
-
-                            Set<String> redundantLocalEntryFields = localEntry.getFieldNames();
-                            redundantLocalEntryFields.removeAll(sharedEntry.get().getFieldNames());
-
-                            // remove not existing fields
-                            for (String redundantField : redundantLocalEntryFields) {
-                                localEntry.clearField(redundantField, EntryEventSource.SHARED);
-                            }
-                        }
-                    }
-                }
+        if (entries) {
+            fetchSharedEntries(sharedChanges, changeCounter.get().getLastChange());
+        }
+        if (metaData && (changeCounter.get().getLastMetaDataChange() != lastMetaDataChange)) {
+            sharedChanges.sharedMetaData = Optional.of(dbmsProcessor.getSharedMetaData());
+            sharedChanges.lastMetaDataChange = changeCounter.get().getLastMetaDataChange();
+        }
+        return sharedChanges;
+    }
+
+    private void fetchSharedEntries(SharedChanges sharedChanges, int currentChange) {
+        sharedChanges.entriesFetched = true;
+        sharedChanges.lastChange = currentChange;
+        synchronized (skippedSharedIDs) {
+            sharedChanges.retriedSharedIDs = new HashSet<>(skippedSharedIDs);
+        }
+
+        int synchronizedChange = lastChange;
+        if ((currentChange == synchronizedChange) && sharedChanges.retriedSharedIDs.isEmpty()) {
+            return;
+        }
+
+        if ((synchronizedChange < 0) || (currentChange < synchronizedChange)) {
+            // first synchronization, or the shared database has been set up again
+            sharedChanges.complete = true;
+            sharedChanges.idVersionMap = dbmsProcessor.getSharedIDVersionMapping();
+        } else if (currentChange > synchronizedChange) {
+            sharedChanges.idVersionMap = dbmsProcessor.getSharedIDVersionMapping(synchronizedChange);
+            sharedChanges.removedSharedIDs = new HashSet<>(dbmsProcessor.getRemovedSharedIDs(synchronizedChange));
+        }
+
+        // several local entries may have the same shared ID, the oldest version decides whether to fetch
+        Map<Integer, Integer> localVersionsBySharedID = new HashMap<>();
+        for (BibEntry localEntry : bibDatabase.getEntriesSnapshot()) {
+            localVersionsBySharedID.merge(localEntry.getSharedBibEntryData().getSharedID(),
+                    localEntry.getSharedBibEntryData().getVersion(), Math::min);
+        }
+
+        List<Integer> sharedIDsToFetch = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> idVersionEntry : sharedChanges.idVersionMap.entrySet()) {
+            Integer localVersion = localVersionsBySharedID.get(idVersionEntry.getKey());
+            if ((localVersion == null) || (idVersionEntry.getValue() > localVersion)) {
+                sharedIDsToFetch.add(idVersionEntry.getKey());
             }
-            if (!match) {
-                Optional<BibEntry> bibEntry = dbmsProcessor.getSharedEntry(idVersionEntry.getKey());
-                if (bibEntry.isPresent()) {
-                    bibDatabase.insertEntry(bibEntry.get(), EntryEventSource.SHARED);
-                }
+        }
+
+        if (sharedChanges.complete) {
+            sharedChanges.sharedEntries = dbmsProcessor.getSharedEntries(sharedIDsToFetch);
+            return;
+        }
+
+        // the skipped changes are older than the synchronized change, so their entries are fetched in any case
+        sharedIDsToFetch.addAll(sharedChanges.retriedSharedIDs);
+        sharedChanges.sharedEntries = dbmsProcessor.getSharedEntries(sharedIDsToFetch);
+        Set<Integer> fetchedSharedIDs = new HashSet<>();
+        for (BibEntry sharedEntry : sharedChanges.sharedEntries) {
+            fetchedSharedIDs.add(sharedEntry.getSharedBibEntryData().getSharedID());
+        }
+        for (int retriedSharedID : sharedChanges.retriedSharedIDs) {
+            if (!fetchedSharedIDs.contains(retriedSharedID)
+                    && !sharedChanges.idVersionMap.containsKey(retriedSharedID)) {
+                sharedChanges.removedSharedIDs.add(retriedSharedID);
             }
         }
     }
 
     /**
-     * Removes all local entries which are not present on shared database.
-     *
-     * @param localEntries List of {@link BibEntry} the entries should be removed from
-     * @param sharedIDs Set of all IDs which are present on shared database
+     * Applies the fetched shared changes on the local database, unless changes fetched later have been applied
+     * already. Local entries with changes which are not written yet are left alone, their shared changes are fetched
+     * again by the next pull.
      */
-    private void removeNotSharedEntries(List<BibEntry> localEntries, Set<Integer> sharedIDs) {
-        for (int i = 0; i < localEntries.size(); i++) {
-            BibEntry localEntry = localEntries.get(i);
-            boolean match = false;
-            for (int sharedID : sharedIDs) {
-                if (localEntry.getSharedBibEntryData().getSharedID() == sharedID) {
-                    match = true;
-                    break;
+    private synchronized void applySharedChanges(SharedChanges sharedChanges) {
+        if ((sharedChanges.writeCount != writeCount) || (sharedChanges.fetchNumber < lastAppliedFetch)) {
+            // Local changes were written after fetching, the shared changes are fetched again after such a write.
+            // Changes which are not applied are not marked as synchronized, so they are fetched again.
+            return;
+        }
+        lastAppliedFetch = sharedChanges.fetchNumber;
+
+        if (sharedChanges.entriesFetched) {
+            Set<Integer> skippedChanges = applySharedEntries(sharedChanges);
+            synchronized (skippedSharedIDs) {
+                skippedSharedIDs.removeAll(sharedChanges.retriedSharedIDs);
+                skippedSharedIDs.addAll(skippedChanges);
+            }
+            // the skipped changes are remembered, so they are fetched again although they are not newer
+            lastChange = sharedChanges.lastChange;
+        }
+        if (sharedChanges.sharedMetaData.isPresent() && applySharedMetaData(sharedChanges.sharedMetaData.get())) {
+            lastMetaDataChange = sharedChanges.lastMetaDataChange;
+        }
+    }
+
+    /**
+     * @return the shared IDs of the changes which were skipped because of queued local changes
+     */
+    private Set<Integer> applySharedEntries(SharedChanges sharedChanges) {
+        Set<String> pendingEntryIDs = new HashSet<>();
+        Set<Integer> pendingSharedIDs = new HashSet<>();
+        synchronized (pendingChanges) {
+            for (LocalChange change : pendingChanges.values()) {
+                pendingEntryIDs.add(change.bibEntry.getId());
+                pendingSharedIDs.add(change.bibEntry.getSharedBibEntryData().getSharedID());
+            }
+        }
+
+        // several local entries may have the same shared ID, all of them are kept in sync with the shared entry
+        Map<Integer, List<BibEntry>> localEntriesBySharedID = new HashMap<>();
+        List<BibEntry> notSharedEntries = new ArrayList<>();
+        Set<Integer> skippedChanges = new HashSet<>();
+        for (BibEntry localEntry : bibDatabase.getEntriesSnapshot()) {
+            int sharedID = localEntry.getSharedBibEntryData().getSharedID();
+            boolean removed;
+            if (sharedChanges.complete) {
+                removed = !sharedChanges.idVersionMap.containsKey(sharedID);
+            } else {
+                removed = sharedChanges.removedSharedIDs.contains(sharedID);
+            }
+            if (pendingEntryIDs.contains(localEntry.getId())) {
+                if (removed && (sharedID != -1)) {
+                    skippedChanges.add(sharedID);
                 }
+                continue;
             }
-            if (!match) {
-                bibDatabase.removeEntry(localEntry, EntryEventSource.SHARED); // Should not reach the listeners above.
-                i--; // due to index shift on localEntries
+            if (removed) {
+                notSharedEntries.add(localEntry);
+            } else {
+                localEntriesBySharedID.computeIfAbsent(sharedID, id -> new ArrayList<>()).add(localEntry);
             }
         }
+
+        // remove old entries locally
+        for (BibEntry notSharedEntry : notSharedEntries) {
+            bibDatabase.removeEntry(notSharedEntry, EntryEventSource.SHARED); // Should not reach the listeners above.
+        }
+
+        // insert new entries and update entries with a newer shared version
+        for (BibEntry sharedEntry : sharedChanges.sharedEntries) {
+            int sharedID = sharedEntry.getSharedBibEntryData().getSharedID();
+            if (pendingSharedIDs.contains(sharedID)) {
+                skippedChanges.add(sharedID);
+                continue;
+            }
+            List<BibEntry> localEntries = localEntriesBySharedID.get(sharedID);
+            if (localEntries == null) {
+                bibDatabase.insertEntry(sharedEntry, EntryEventSource.SHARED);
+                continue;
+            }
+            for (BibEntry localEntry : localEntries) {
+                if (sharedEntry.getSharedBibEntryData().getVersion() > localEntry.getSharedBibEntryData()
+                        .getVersion()) {
+                    updateLocalEntry(localEntry, sharedEntry);
+                }
+            }
+        }
+        return skippedChanges;
     }
 
     /**
-     * Synchronizes the shared {@link BibEntry} with the local one.
+     * Overwrites the type, the version and the fields of the local entry with the ones of the shared entry.
      */
-    public void synchronizeSharedEntry(BibEntry bibEntry) {
-        if (!checkCurrentConnection()) {
-            return;
+    private void updateLocalEntry(BibEntry localEntry, BibEntry sharedEntry) {
+        // update fields
+        localEntry.setType(sharedEntry.getType(), EntryEventSource.SHARED);
+        localEntry.getSharedBibEntryData().setVersion(sharedEntry.getSharedBibEntryData().getVersion());
+        for (String field : sharedEntry.getFieldNames()) {
+            localEntry.setField(field, sharedEntry.getField(field), EntryEventSource.SHARED);
+        }
+
+        Set<String> redundantLocalEntryFields = localEntry.getFieldNames();
+        redundantLocalEntryFields.removeAll(sharedEntry.getFieldNames());
+
+        // remove not existing fields
+        for (String redundantField : redundantLocalEntryFields) {
+            localEntry.clearField(redundantField, EntryEventSource.SHARED);
         }
+    }
+
+    /**
+     * Synchronizes the shared {@link BibEntry} with the local one. Like the other local changes, the entry is written
+     * in the background, so it does not interfere with a running write.
+     */
+    public void synchronizeSharedEntry(BibEntry bibEntry) {
+        BibDatabaseWriter.applySaveActions(bibEntry, metaData); // perform possibly existing save actions
+        addPendingChange(bibEntry, ChangeType.UPDATE);
+    }
+
+    private void updateSharedEntry(BibEntry bibEntry) {
         try {
-            BibDatabaseWriter.applySaveActions(bibEntry, metaData); // perform possibly existing save actions
             dbmsProcessor.updateEntry(bibEntry);
         } catch (OfflineLockException exception) {
-            eventBus.post(new UpdateRefusedEvent(bibDatabaseContext, exception.getLocalBibEntry(), exception.getSharedBibEntry()));
+            postEvent(new UpdateRefusedEvent(bibDatabaseContext, exception.getLocalBibEntry(), exception.getSharedBibEntry()));
         } catch (SharedEntryNotPresentException exception) {
-            eventBus.post(new SharedEntryNotPresentEvent(exception.getNonPresentBibEntry()));
+            postEvent(new SharedEntryNotPresentEvent(exception.getNonPresentBibEntry()));
         } catch (SQLException e) {
             LOGGER.error("SQL Error: ", e);
         }
     }
 
     /**
-     * Synchronizes all meta data locally.
+     * Synchronizes all meta data locally, if they have been changed since the last synchronization.
      */
     public void synchronizeLocalMetaData() {
-        if (!checkCurrentConnection()) {
-            return;
+        pullSharedChanges(false, true);
+    }
+
+    /**
+     * @return <code>true</code> if the shared meta data have been applied, <code>false</code> if the local ones are
+     *         newer
+     */
+    private boolean applySharedMetaData(Map<String, String> sharedMetaData) {
+        synchronized (pendingChanges) {
+            if (pendingMetaData.isPresent()) {
+                // the local meta data are newer
+                return false;
+            }
         }
 
         try {
-            metaData.setParsedData(MetaDataParser.getParsedData(dbmsProcessor.getSharedMetaData(), keywordSeparator,
-                    metaData));
+            metaData.setParsedData(MetaDataParser.getParsedData(sharedMetaData, keywordSeparator, metaData));
         } catch (ParseException e) {
             LOGGER.error("Parse error", e);
         }
+        return true;
     }
 
     /**
-     * Synchronizes all shared meta data.
+     * Synchronizes all shared meta data. Like the other local changes, they are written in the background.
      */
     public void synchronizeSharedMetaData(MetaData data) {
-        if (!checkCurrentConnection()) {
-            return;
+        synchronized (pendingChanges) {
+            pendingMetaData = Optional.of(MetaDataSerializer.getSerializedStringMap(data));
         }
+        scheduleFlush();
+    }
+
+    private void writeSharedMetaData(Map<String, String> serializedMetaData) {
         try {
-            dbmsProcessor.setSharedMetaData(MetaDataSerializer.getSerializedStringMap(data));
+            dbmsProcessor.setSharedMetaData(serializedMetaData);
         } catch (SQLException e) {
             LOGGER.error("SQL Error: ", e);
         }
     }
 
     /**
-     * Applies the {@link MetaData} on all local and shared BibEntries.
+     * Applies the {@link MetaData} on all local BibEntries and queues the changed entries for writing them to the
+     * shared database.
      */
     public void applyMetaData() {
-        if (!checkCurrentConnection()) {
-            return;
-        }
         for (BibEntry bibEntry : bibDatabase.getEntries()) {
             // synchronize only if changes were present
             if (!BibDatabaseWriter.applySaveActions(bibEntry, metaData).isEmpty()) {
-                try {
-                    dbmsProcessor.updateEntry(bibEntry);
-                } catch (OfflineLockException exception) {
-                    eventBus.post(new UpdateRefusedEvent(bibDatabaseContext, exception.getLocalBibEntry(), exception.getSharedBibEntry()));
-                } catch (SharedEntryNotPresentException exception) {
-                    eventBus.post(new SharedEntryNotPresentEvent(exception.getNonPresentBibEntry()));
-                } catch (SQLException e) {
-                    LOGGER.error("SQL Error: ", e);
-                }
+                addPendingChange(bibEntry, ChangeType.UPDATE);
             }
         }
     }
@@ -298,12 +587,7 @@ public class DBMSSynchronizer {
      * Synchronizes the local BibEntries and applies the fetched MetaData on them.
      */
     public void pullChanges() {
-        if (!checkCurrentConnection()) {
-            return;
-        }
-
-        synchronizeLocalDatabase();
-        synchronizeLocalMetaData();
+        pullSharedChanges(true, true);
     }
 
     /**
@@ -316,7 +600,7 @@ public class DBMSSynchronizer {
         try {
             boolean isValid = currentConnection.isValid(0);
             if (!isValid) {
-                eventBus.post(new ConnectionLostEvent(bibDatabaseContext));
+                postEvent(new ConnectionLostEvent(bibDatabaseContext));
             }
             return isValid;
 
@@ -342,6 +626,11 @@ public class DBMSSynchronizer {
         this.dbName = name;
         this.currentConnection = connection;
         this.dbmsProcessor = DBMSProcessor.getProcessorInstance(connection, type);
+        this.lastChange = -1;
+        this.lastMetaDataChange = -1;
+        synchronized (skippedSharedIDs) {
+            skippedSharedIDs.clear();
+        }
         initializeDatabases();
     }
 
@@ -350,7 +639,11 @@ public class DBMSSynchronizer {
     }
 
     private boolean isPresentLocalBibEntry(BibEntry bibEntry) {
-        return bibDatabase.getEntries().contains(bibEntry);
+        return bibDatabase.containsEntryWithId(bibEntry.getId());
+    }
+
+    private void postEvent(Object event) {
+        localExecutor.execute(() -> eventBus.post(event));
     }
 
     public String getDBName() {
@@ -369,7 +662,82 @@ public class DBMSSynchronizer {
         this.metaData = metaData;
     }
 
+    /**
+     * Sets the executor which applies shared changes on the local database and posts the events of this class, e.g.,
+     * the one of the event dispatch thread. By default, this is done by the thread which writes the local changes.
+     */
+    public void setLocalExecutor(Executor localExecutor) {
+        this.localExecutor = localExecutor;
+    }
+
     public void registerListener(Object listener) {
         eventBus.register(listener);
     }
+
+
+    private enum ChangeType {
+        INSERT,
+        UPDATE,
+        REMOVE
+    }
+
+    /**
+     * Local change of an entry which is not written to the shared database yet
+     */
+    private static class LocalChange {
+
+        private final BibEntry bibEntry;
+        private ChangeType type;
+
+
+        public LocalChange(BibEntry bibEntry, ChangeType type) {
+            this.bibEntry = bibEntry;
+            this.type = type;
+        }
+
+        /**
+         * Combines this change with a later change of the same entry. Updates of entries which are not inserted yet
+         * are part of their insertion, because an insertion writes all fields.
+         */
+        public void combine(ChangeType laterType) {
+            if (laterType == ChangeType.REMOVE) {
+                type = ChangeType.REMOVE;
+            } else if ((laterType == ChangeType.INSERT) && (type != ChangeType.INSERT)) {
+                // The entry was removed and added again, e.g., by undo. If it was written before, the removal was not.
+                if (bibEntry.getSharedBibEntryData().getSharedID() == -1) {
+                    type = ChangeType.INSERT;
+                } else {
+                    type = ChangeType.UPDATE;
+                }
+            }
+        }
+    }
+
+    /**
+     * Shared changes fetched to be applied on the local database
+     */
+    private static class SharedChanges {
+
+        private final long writeCount;
+        private final long fetchNumber;
+
+        private boolean entriesFetched;
+        private int lastChange;
+        // true if all shared entries are listed in idVersionMap, so local entries which are not listed are removed
+        private boolean complete;
+        private Map<Integer, Integer> idVersionMap = Collections.emptyMap();
+        private Set<Integer> removedSharedIDs = new HashSet<>();
+        // shared IDs of changes which were skipped before and are fetched again
+        private Set<Integer> retriedSharedIDs = Collections.emptySet();
+        private List<BibEntry> sharedEntries = Collections.emptyList();
+
+        private Optional<Map<String, String>> sharedMetaData = Optional.empty();
+        private int lastMetaDataChange;
+
+
+        public SharedChanges(long writeCount, long fetchNumber) {
+            this.writeCount = writeCount;
+            this.fetchNumber = fetchNumber;
+        }
+    }
 }
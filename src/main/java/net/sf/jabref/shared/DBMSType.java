@@ -11,7 +11,7 @@ public enum DBMSType {
     MYSQL(
             "MySQL",
             "com.mysql.jdbc.Driver",
-            "jdbc:mysql://%s:%d/%s", 3306),
+            "jdbc:mysql://%s:%d/%s?rewriteBatchedStatements=true", 3306),
     ORACLE(
             "Oracle",
             "oracle.jdbc.driver.OracleDriver",
@@ -19,7 +19,7 @@ public enum DBMSType {
     POSTGRESQL(
             "PostgreSQL",
             "org.postgresql.Driver",
-            "jdbc:postgresql://%s:%d/%s", 5432);
+            "jdbc:postgresql://%s:%d/%s?reWriteBatchedInserts=true", 5432);
 
     private final String type;
     private final String driverPath;
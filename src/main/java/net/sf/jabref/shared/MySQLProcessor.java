@@ -40,6 +40,17 @@ public class MySQLProcessor extends DBMSProcessor {
                 "CREATE TABLE IF NOT EXISTS `METADATA` (" +
                 "`KEY` varchar(255) NOT NULL," +
                 "`VALUE` text NOT NULL)");
+
+        connection.createStatement().executeUpdate(
+                "CREATE TABLE IF NOT EXISTS `CHANGE_COUNTER` (" +
+                "`LAST_CHANGE` INT(11) NOT NULL, " +
+                "`LAST_METADATA_CHANGE` INT(11) NOT NULL)");
+
+        connection.createStatement().executeUpdate(
+                "CREATE TABLE IF NOT EXISTS `ENTRY_CHANGE` (" +
+                "`ENTRY_SHARED_ID` INT(11) NOT NULL PRIMARY KEY, " +
+                "`CHANGE_NUMBER` INT(11) NOT NULL, " +
+                "INDEX `ENTRY_CHANGE_NUMBER` (`CHANGE_NUMBER`))");
     }
 
     @Override
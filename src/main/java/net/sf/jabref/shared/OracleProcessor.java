@@ -23,30 +23,55 @@ public class OracleProcessor extends DBMSProcessor {
      */
     @Override
     public void setUp() throws SQLException {
-        connection.createStatement().executeUpdate(
-                "CREATE TABLE \"ENTRY\" (" +
-                "\"SHARED_ID\" NUMBER NOT NULL, " +
-                "\"TYPE\" VARCHAR2(255) NULL, " +
-                "\"VERSION\" NUMBER DEFAULT 1, " +
-                "CONSTRAINT \"ENTRY_PK\" PRIMARY KEY (\"SHARED_ID\"))");
-
-        connection.createStatement().executeUpdate("CREATE SEQUENCE \"ENTRY_SEQ\"");
-
-        connection.createStatement().executeUpdate("CREATE TRIGGER \"ENTRY_T\" BEFORE INSERT ON \"ENTRY\" " +
-                "FOR EACH ROW BEGIN SELECT \"ENTRY_SEQ\".NEXTVAL INTO :NEW.shared_id FROM DUAL; END;");
-
-        connection.createStatement().executeUpdate(
-                "CREATE TABLE \"FIELD\" (" +
-                "\"ENTRY_SHARED_ID\" NUMBER NOT NULL, " +
-                "\"NAME\" VARCHAR2(255) NOT NULL, " +
-                "\"VALUE\" CLOB NULL, " +
-                "CONSTRAINT \"ENTRY_SHARED_ID_FK\" FOREIGN KEY (\"ENTRY_SHARED_ID\") " +
-                "REFERENCES \"ENTRY\"(\"SHARED_ID\") ON DELETE CASCADE)");
-
-        connection.createStatement().executeUpdate(
-                "CREATE TABLE \"METADATA\" (" +
-                "\"KEY\"  VARCHAR2(255) NULL," +
-                "\"VALUE\"  CLOB NOT NULL)");
+        // Oracle does not support CREATE TABLE IF NOT EXISTS
+        if (!checkTableAvailibility("ENTRY")) {
+            connection.createStatement().executeUpdate(
+                    "CREATE TABLE \"ENTRY\" (" +
+                    "\"SHARED_ID\" NUMBER NOT NULL, " +
+                    "\"TYPE\" VARCHAR2(255) NULL, " +
+                    "\"VERSION\" NUMBER DEFAULT 1, " +
+                    "CONSTRAINT \"ENTRY_PK\" PRIMARY KEY (\"SHARED_ID\"))");
+
+            connection.createStatement().executeUpdate("CREATE SEQUENCE \"ENTRY_SEQ\"");
+
+            connection.createStatement().executeUpdate("CREATE TRIGGER \"ENTRY_T\" BEFORE INSERT ON \"ENTRY\" " +
+                    "FOR EACH ROW BEGIN SELECT \"ENTRY_SEQ\".NEXTVAL INTO :NEW.shared_id FROM DUAL; END;");
+        }
+
+        if (!checkTableAvailibility("FIELD")) {
+            connection.createStatement().executeUpdate(
+                    "CREATE TABLE \"FIELD\" (" +
+                    "\"ENTRY_SHARED_ID\" NUMBER NOT NULL, " +
+                    "\"NAME\" VARCHAR2(255) NOT NULL, " +
+                    "\"VALUE\" CLOB NULL, " +
+                    "CONSTRAINT \"ENTRY_SHARED_ID_FK\" FOREIGN KEY (\"ENTRY_SHARED_ID\") " +
+                    "REFERENCES \"ENTRY\"(\"SHARED_ID\") ON DELETE CASCADE)");
+        }
+
+        if (!checkTableAvailibility("METADATA")) {
+            connection.createStatement().executeUpdate(
+                    "CREATE TABLE \"METADATA\" (" +
+                    "\"KEY\"  VARCHAR2(255) NULL," +
+                    "\"VALUE\"  CLOB NOT NULL)");
+        }
+
+        if (!checkTableAvailibility("CHANGE_COUNTER")) {
+            connection.createStatement().executeUpdate(
+                    "CREATE TABLE \"CHANGE_COUNTER\" (" +
+                    "\"LAST_CHANGE\" NUMBER NOT NULL, " +
+                    "\"LAST_METADATA_CHANGE\" NUMBER NOT NULL)");
+        }
+
+        if (!checkTableAvailibility("ENTRY_CHANGE")) {
+            connection.createStatement().executeUpdate(
+                    "CREATE TABLE \"ENTRY_CHANGE\" (" +
+                    "\"ENTRY_SHARED_ID\" NUMBER NOT NULL, " +
+                    "\"CHANGE_NUMBER\" NUMBER NOT NULL, " +
+                    "CONSTRAINT \"ENTRY_CHANGE_PK\" PRIMARY KEY (\"ENTRY_SHARED_ID\"))");
+
+            connection.createStatement().executeUpdate(
+                    "CREATE INDEX \"ENTRY_CHANGE_NUMBER\" ON \"ENTRY_CHANGE\" (\"CHANGE_NUMBER\")");
+        }
     }
 
     @Override
@@ -39,6 +39,21 @@ public class PostgreSQLProcessor extends DBMSProcessor {
                 "CREATE TABLE IF NOT EXISTS \"METADATA\" ("
                 + "\"KEY\" VARCHAR,"
                 + "\"VALUE\" TEXT)");
+
+        connection.createStatement().executeUpdate(
+                "CREATE TABLE IF NOT EXISTS \"CHANGE_COUNTER\" (" +
+                "\"LAST_CHANGE\" INTEGER NOT NULL, " +
+                "\"LAST_METADATA_CHANGE\" INTEGER NOT NULL)");
+
+        if (!checkTableAvailibility("ENTRY_CHANGE")) {
+            connection.createStatement().executeUpdate(
+                    "CREATE TABLE \"ENTRY_CHANGE\" (" +
+                    "\"ENTRY_SHARED_ID\" INTEGER PRIMARY KEY, " +
+                    "\"CHANGE_NUMBER\" INTEGER NOT NULL)");
+
+            connection.createStatement().executeUpdate(
+                    "CREATE INDEX \"ENTRY_CHANGE_NUMBER\" ON \"ENTRY_CHANGE\" (\"CHANGE_NUMBER\")");
+        }
     }
 
     @Override
@@ -1724,4 +1724,51 @@ public class BibtexParserTest {
         assertFalse(result.hasWarnings());
         assertEquals(Optional.empty(), result.getDatabase().getPreamble());
     }
+
+    @Test
+    public void parseWithListenerHandsOutItemsInOrder() throws IOException {
+        List<Object> parsed = new ArrayList<>();
+        BibtexParserListener listener = new BibtexParserListener() {
+
+            @Override
+            public void entryParsed(BibEntry entry) {
+                parsed.add(entry);
+            }
+
+            @Override
+            public void stringParsed(BibtexString bibtexString) {
+                parsed.add(bibtexString);
+            }
+
+            @Override
+            public void preambleParsed(String preamble) {
+                parsed.add(preamble);
+            }
+        };
+
+        ParserResult result = new BibtexParser(importFormatPreferences).parse(
+                new StringReader("@preamble{some text}@string{bourdieu = {Bourdieu}}"
+                        + "@article{first,author={Ed von Test}}@article{second,author=bourdieu}"),
+                listener);
+
+        assertEquals(4, parsed.size());
+        assertEquals("some text", parsed.get(0));
+        assertEquals("bourdieu", ((BibtexString) parsed.get(1)).getName());
+        assertEquals(Optional.of("first"), ((BibEntry) parsed.get(2)).getCiteKeyOptional());
+        assertEquals(Optional.of("second"), ((BibEntry) parsed.get(3)).getCiteKeyOptional());
+        assertFalse(result.getDatabase().hasEntries());
+        assertEquals(1, result.getDatabase().getStringCount());
+    }
+
+    @Test
+    public void parseWithListenerDetectsDuplicateKeys() throws IOException {
+        List<BibEntry> parsed = new ArrayList<>();
+
+        ParserResult result = new BibtexParser(importFormatPreferences).parse(
+                new StringReader("@article{test,author={Ed von Test}}@article{test,author={Second Author}}"),
+                parsed::add);
+
+        assertEquals(2, parsed.size());
+        assertEquals(Collections.singletonList("test"), result.getDuplicateKeys());
+    }
 }
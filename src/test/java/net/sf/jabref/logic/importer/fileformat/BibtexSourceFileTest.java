@@ -0,0 +1,101 @@
+package net.sf.jabref.logic.importer.fileformat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import net.sf.jabref.logic.exporter.BibtexDatabaseWriter;
+import net.sf.jabref.logic.exporter.FileSaveSession;
+import net.sf.jabref.logic.exporter.SaveException;
+import net.sf.jabref.logic.exporter.SavePreferences;
+import net.sf.jabref.logic.importer.ImportFormatPreferences;
+import net.sf.jabref.logic.importer.ParserResult;
+import net.sf.jabref.model.Defaults;
+import net.sf.jabref.model.database.BibDatabaseContext;
+import net.sf.jabref.model.database.BibDatabaseMode;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.preferences.JabRefPreferences;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BibtexSourceFileTest {
+
+    private static final String FIRST_ENTRY = "% some comment\n@article{first,\n  author = {Ed von Test}\n}\n";
+    private static final String SECOND_ENTRY = "\n@book{second,\n  title = {A Title}\n}\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ImportFormatPreferences importFormatPreferences;
+    private Path file;
+
+
+    @Before
+    public void setUp() throws IOException {
+        importFormatPreferences = JabRefPreferences.getInstance().getImportFormatPreferences();
+        file = temporaryFolder.newFile("test.bib").toPath();
+        Files.write(file, (FIRST_ENTRY + SECOND_ENTRY).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<BibEntry> parse() throws IOException {
+        return parse(new BibtexSourceFile(file, StandardCharsets.UTF_8)).getDatabase().getEntries();
+    }
+
+    private ParserResult parse(BibtexSourceFile sourceFile) throws IOException {
+        return new BibtexParser(importFormatPreferences, sourceFile)
+                .parse(ImportFormat.getReader(file, StandardCharsets.UTF_8));
+    }
+
+    private String save(BibDatabaseContext context) throws SaveException, IOException {
+        FileSaveSession session = new BibtexDatabaseWriter<>(FileSaveSession::new).saveDatabase(context,
+                new SavePreferences().withEncoding(StandardCharsets.UTF_8));
+        session.commit(file);
+        session.updateParsedSerializations(file);
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void parsedSerializationIsReadFromFile() throws IOException {
+        List<BibEntry> entries = parse();
+
+        assertEquals(FIRST_ENTRY, entries.get(0).getParsedSerialization());
+        assertEquals(SECOND_ENTRY, entries.get(1).getParsedSerialization());
+    }
+
+    @Test
+    public void parsedSerializationIsNotAvailableAfterFileChanged() throws IOException {
+        List<BibEntry> entries = parse();
+
+        Files.write(file, ("@misc{other}\n" + FIRST_ENTRY + SECOND_ENTRY).getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+
+        assertNull(entries.get(0).getParsedSerialization());
+    }
+
+    @Test
+    public void unchangedEntriesAreNotReformattedAfterSaving() throws IOException, SaveException {
+        BibtexSourceFile sourceFile = new BibtexSourceFile(file, StandardCharsets.UTF_8);
+        ParserResult result = parse(sourceFile);
+        BibDatabaseContext context = new BibDatabaseContext(result.getDatabase(), result.getMetaData(),
+                new Defaults(BibDatabaseMode.BIBTEX));
+        result.getDatabase().getEntries().get(0).setField("year", "2000");
+
+        String firstSave = save(context);
+        // the saved file replaced the parsed one, whose content is no longer cached
+        sourceFile.clearCache();
+        String secondSave = save(context);
+
+        assertTrue(firstSave.contains(SECOND_ENTRY));
+        assertEquals(firstSave, secondSave);
+    }
+}
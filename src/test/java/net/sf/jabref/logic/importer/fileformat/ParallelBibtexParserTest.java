@@ -0,0 +1,96 @@
+package net.sf.jabref.logic.importer.fileformat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import net.sf.jabref.logic.importer.ImportFormatPreferences;
+import net.sf.jabref.logic.importer.ParserResult;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.preferences.JabRefPreferences;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class ParallelBibtexParserTest {
+
+    private ImportFormatPreferences importFormatPreferences;
+    private ParallelBibtexParser parser;
+
+
+    @Before
+    public void setUp() {
+        importFormatPreferences = JabRefPreferences.getInstance().getImportFormatPreferences();
+        // parse everything in parallel
+        parser = new ParallelBibtexParser(importFormatPreferences, 0);
+    }
+
+    @Test
+    public void findItemEndsIncludesOneNewline() {
+        String content = "@article{a,title={x}}\n\n@string{s = \"}{\"}  \n@book{b}";
+        assertEquals(Optional.of(Arrays.asList(22, 43, 51)), ParallelBibtexParser.findItemEnds(content));
+    }
+
+    @Test
+    public void findItemEndsSkipsComments() {
+        String content = "@comment{some {text}}\n@article{a,title={x}}";
+        assertEquals(Optional.of(Arrays.asList(43)), ParallelBibtexParser.findItemEnds(content));
+    }
+
+    @Test
+    public void findItemEndsRespectsEscapedBrackets() {
+        String content = "@article{a,title={x \\} y}}";
+        assertEquals(Optional.of(Arrays.asList(26)), ParallelBibtexParser.findItemEnds(content));
+    }
+
+    @Test
+    public void findItemEndsFailsForRoundBrackets() {
+        assertEquals(Optional.empty(), ParallelBibtexParser.findItemEnds("@article(a,title={x})"));
+    }
+
+    @Test
+    public void parseReturnsSameResultAsSequentialParser() throws IOException {
+        StringBuilder content = new StringBuilder("% Encoding: UTF-8\n\n@preamble{some text}\n\n"
+                + "@string{journal = {Journal of Something}}\n");
+        for (int i = 0; i < 500; i++) {
+            content.append("% comment before entry ").append(i).append('\n');
+            content.append("@article{key").append(i).append(",\n  author = {Author ").append(i)
+                    .append("},\n  journal = journal,\n  title = \"Title {with braces} ").append(i).append("\"\n}\n\n");
+        }
+        content.append("@comment{jabref-meta: databaseType:bibtex;}\n\nsome epilog");
+
+        ParserResult expected = new BibtexParser(importFormatPreferences).parse(new StringReader(content.toString()));
+        ParserResult result = parser.parse(new StringReader(content.toString()));
+
+        List<BibEntry> expectedEntries = expected.getDatabase().getEntries();
+        List<BibEntry> entries = result.getDatabase().getEntries();
+        assertEquals(expectedEntries, entries);
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(expectedEntries.get(i).getParsedSerialization(), entries.get(i).getParsedSerialization());
+        }
+        assertEquals(expected.getDatabase().getPreamble(), result.getDatabase().getPreamble());
+        assertEquals(expected.getDatabase().getStringCount(), result.getDatabase().getStringCount());
+        assertEquals(expected.getDatabase().getEpilog(), result.getDatabase().getEpilog());
+        assertEquals(expected.getMetaData().getMode(), result.getMetaData().getMode());
+        assertFalse(result.hasWarnings());
+    }
+
+    @Test
+    public void parseDetectsDuplicateKeysAcrossChunks() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            content.append("@article{key").append(i).append(", title = {Title}}\n");
+        }
+        content.append("@article{key0, title = {Duplicate}}\n");
+
+        ParserResult result = parser.parse(new StringReader(content.toString()));
+
+        assertEquals(501, result.getDatabase().getEntryCount());
+        assertEquals(Arrays.asList("key0"), result.getDuplicateKeys());
+    }
+}
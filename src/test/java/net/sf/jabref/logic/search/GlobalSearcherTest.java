@@ -0,0 +1,87 @@
+package net.sf.jabref.logic.search;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class GlobalSearcherTest {
+
+    private BibDatabase physics;
+    private BibDatabase biology;
+    private BibEntry quantum;
+    private BibEntry molecular;
+
+
+    @Before
+    public void setUp() {
+        physics = new BibDatabase();
+        quantum = new BibEntry();
+        quantum.setField("title", "Quantum Mechanics");
+        physics.insertEntry(quantum);
+        BibEntry relativity = new BibEntry();
+        relativity.setField("title", "Relativity");
+        physics.insertEntry(relativity);
+
+        biology = new BibDatabase();
+        molecular = new BibEntry();
+        molecular.setField("title", "Molecular Mechanics");
+        biology.insertEntry(molecular);
+    }
+
+    @Test
+    public void searchReturnsMatchesOfEveryDatabase() {
+        Map<BibDatabase, List<BibEntry>> matches = GlobalSearcher.getMatches(new SearchQuery("mechanics", false, false),
+                Arrays.asList(physics, biology), SearchMonitor.NONE, (database, hits) -> {
+                    // not of interest
+                });
+
+        assertEquals(Collections.singletonList(quantum), matches.get(physics));
+        assertEquals(Collections.singletonList(molecular), matches.get(biology));
+    }
+
+    @Test
+    public void hitsAreReportedForEveryDatabase() {
+        Map<BibDatabase, List<BibEntry>> reportedHits = new ConcurrentHashMap<>();
+        GlobalSearcher.getMatches(new SearchQuery("quantum", false, false), Arrays.asList(physics, biology),
+                SearchMonitor.NONE, reportedHits::put);
+
+        assertEquals(2, reportedHits.size());
+        assertEquals(Collections.singletonList(quantum), reportedHits.get(physics));
+        assertEquals(Collections.emptyList(), reportedHits.get(biology));
+    }
+
+    @Test
+    public void progressSumsUpAllDatabases() {
+        int[] lastProgress = new int[2];
+        GlobalSearcher.getMatches(new SearchQuery("mechanics", false, false), Arrays.asList(physics, biology),
+                new SearchMonitor() {
+
+                    @Override
+                    public boolean isCancelled() {
+                        return false;
+                    }
+
+                    @Override
+                    public synchronized void searchProgressed(int searchedEntries, int totalEntries, int hits) {
+                        assertEquals(3, totalEntries);
+                        lastProgress[0] = Math.max(lastProgress[0], searchedEntries);
+                        lastProgress[1] = Math.max(lastProgress[1], hits);
+                    }
+                }, (database, hits) -> {
+                    // not of interest
+                });
+
+        assertEquals(3, lastProgress[0]);
+        assertEquals(2, lastProgress[1]);
+    }
+}
@@ -0,0 +1,131 @@
+package net.sf.jabref.logic.search;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class IncrementalSearcherTest {
+
+    private BibDatabase database;
+    private IncrementalSearcher searcher;
+    private BibEntry neural;
+    private BibEntry neuron;
+
+
+    @Before
+    public void setUp() {
+        database = new BibDatabase();
+        neural = new BibEntry();
+        neural.setField("title", "Neural Networks");
+        database.insertEntry(neural);
+        neuron = new BibEntry();
+        neuron.setField("title", "The Neuron");
+        database.insertEntry(neuron);
+
+        searcher = new IncrementalSearcher(database);
+    }
+
+    private static boolean isRefinement(String previous, String refined) {
+        return IncrementalSearcher.isRefinement(new SearchQuery(previous, false, false),
+                new SearchQuery(refined, false, false));
+    }
+
+    @Test
+    public void longerWordIsRefinement() {
+        assertTrue(isRefinement("neur", "neural"));
+        assertTrue(isRefinement("neur", "NEURAL"));
+        assertTrue(isRefinement("neur", "neural net"));
+        assertTrue(isRefinement("neural net", "neural network"));
+    }
+
+    @Test
+    public void shorterOrDifferentWordIsNoRefinement() {
+        assertFalse(isRefinement("neural", "neur"));
+        assertFalse(isRefinement("neural net", "neural"));
+        assertFalse(isRefinement("neural", "network"));
+    }
+
+    @Test
+    public void addedAndTermIsRefinement() {
+        assertTrue(isRefinement("author = miller", "author = miller and year = 2010"));
+        assertTrue(isRefinement("author = miller", "author = miller and year = 2010 and title = test"));
+    }
+
+    @Test
+    public void addedOrTermIsNoRefinement() {
+        assertFalse(isRefinement("author = miller", "author = miller or year = 2010"));
+        assertFalse(isRefinement("author = miller", "author = miller and year = 2010 or title = test"));
+        assertFalse(isRefinement("author = mill", "author = miller and year = 2010"));
+    }
+
+    @Test
+    public void differentSettingsAreNoRefinement() {
+        assertFalse(IncrementalSearcher.isRefinement(new SearchQuery("neur", false, false),
+                new SearchQuery("neural", true, false)));
+        assertFalse(IncrementalSearcher.isRefinement(new SearchQuery("neur", false, true),
+                new SearchQuery("neural", false, true)));
+    }
+
+    @Test
+    public void addedFuzzyWordIsRefinement() {
+        assertTrue(IncrementalSearcher.isRefinement(new SearchQuery("neural", false, false, true),
+                new SearchQuery("neural netwrok", false, false, true)));
+        assertFalse(IncrementalSearcher.isRefinement(new SearchQuery("neur", false, false, true),
+                new SearchQuery("neural", false, false, true)));
+        assertFalse(IncrementalSearcher.isRefinement(new SearchQuery("neur", false, false, false),
+                new SearchQuery("neural", false, false, true)));
+    }
+
+    @Test
+    public void refinedSearchReturnsMatches() {
+        assertEquals(Arrays.asList(neural, neuron), searcher.getMatches(new SearchQuery("neur", false, false),
+                database, SearchMonitor.NONE));
+        assertEquals(Collections.singletonList(neural), searcher.getMatches(new SearchQuery("neura", false, false),
+                database, SearchMonitor.NONE));
+        assertEquals(Collections.singletonList(neural), searcher.getMatches(new SearchQuery("neural", false, false),
+                database, SearchMonitor.NONE));
+    }
+
+    @Test
+    public void changedEntryIsFoundByRefinedSearch() {
+        assertEquals(Collections.singletonList(neural), searcher.getMatches(new SearchQuery("neura", false, false),
+                database, SearchMonitor.NONE));
+
+        neuron.setField("title", "Neural Cells");
+
+        assertEquals(Arrays.asList(neural, neuron), searcher.getMatches(new SearchQuery("neural", false, false),
+                database, SearchMonitor.NONE));
+    }
+
+    @Test
+    public void addedEntryIsFoundByRefinedSearch() {
+        assertEquals(Collections.singletonList(neural), searcher.getMatches(new SearchQuery("neura", false, false),
+                database, SearchMonitor.NONE));
+
+        BibEntry added = new BibEntry();
+        added.setField("title", "Neural Computation");
+        database.insertEntry(added);
+
+        assertEquals(Arrays.asList(neural, added), searcher.getMatches(new SearchQuery("neural", false, false),
+                database, SearchMonitor.NONE));
+    }
+
+    @Test
+    public void removedSearcherIsForgotten() {
+        IncrementalSearcher first = IncrementalSearcher.forDatabase(database);
+        IncrementalSearcher.removeSearcher(database);
+        IncrementalSearcher second = IncrementalSearcher.forDatabase(database);
+        IncrementalSearcher.removeSearcher(database);
+        assertNotSame(first, second);
+    }
+}
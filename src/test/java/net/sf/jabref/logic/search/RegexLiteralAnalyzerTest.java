@@ -0,0 +1,60 @@
+package net.sf.jabref.logic.search;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class RegexLiteralAnalyzerTest {
+
+    private static List<Set<String>> literals(String regex) {
+        return RegexLiteralAnalyzer.getRequiredLiterals(regex);
+    }
+
+    private static Set<String> clause(String... literals) {
+        return new HashSet<>(Arrays.asList(literals));
+    }
+
+    @Test
+    public void plainTextIsOneLowerCaseLiteral() {
+        assertEquals(Collections.singletonList(clause("neural networks")), literals("Neural Networks"));
+    }
+
+    @Test
+    public void optionalPartsSplitLiterals() {
+        assertEquals(Arrays.asList(clause("colo"), clause("r")), literals("colou?r"));
+        assertEquals(Arrays.asList(clause("abc"), clause("ghi")), literals("abc(def)*ghi"));
+    }
+
+    @Test
+    public void repeatedCharacterStartsNextLiteral() {
+        assertEquals(Arrays.asList(clause("ab"), clause("bc")), literals("ab+c"));
+    }
+
+    @Test
+    public void alternativesAreCombinedIntoOneClause() {
+        assertEquals(Collections.singletonList(clause("foo", "bar")), literals("foo|bar"));
+        assertEquals(Arrays.asList(clause("neur"), clause("al", "on")), literals("neur(al|on)s?"));
+    }
+
+    @Test
+    public void characterClassesAndEscapesSplitLiterals() {
+        assertEquals(Arrays.asList(clause("deep"), clause("learning")), literals("deep\\s+learning"));
+        assertEquals(Collections.singletonList(clause("ing")), literals("[a-z]+ing"));
+        assertEquals(Collections.singletonList(clause("a.b(c")), literals("a\\.b\\(c"));
+        assertEquals(Collections.singletonList(clause("a.b")), literals("\\Qa.b\\E"));
+    }
+
+    @Test
+    public void unsupportedConstructsRequireNothing() {
+        assertEquals(Collections.emptyList(), literals("(?i)neural"));
+        assertEquals(Collections.emptyList(), literals("neural(?=net)"));
+        assertEquals(Collections.emptyList(), literals("foo|.*"));
+        assertEquals(Collections.emptyList(), literals("(unbalanced"));
+    }
+}
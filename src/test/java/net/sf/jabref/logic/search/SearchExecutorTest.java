@@ -0,0 +1,192 @@
+package net.sf.jabref.logic.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.search.SearchMatcher;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SearchExecutorTest {
+
+    private static final int NUMBER_OF_ENTRIES = (5 * SearchExecutor.CHUNK_SIZE) + 17;
+
+    private final SearchMatcher evenYear = entry -> entry.getField("year")
+            .map(year -> (Integer.parseInt(year) % 2) == 0).orElse(false);
+
+    private ForkJoinPool pool;
+    private SearchExecutor executor;
+    private List<BibEntry> entries;
+
+
+    @Before
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+        executor = new SearchExecutor(pool);
+        entries = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_ENTRIES; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setField("year", String.valueOf(i));
+            entries.add(entry);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void searchReturnsMatchesInOrder() {
+        List<BibEntry> expected = entries.stream().filter(evenYear::isMatch).collect(Collectors.toList());
+
+        assertEquals(expected, executor.search(evenYear, entries, SearchMonitor.NONE));
+        assertEquals(expected, executor.search(evenYear, new LinkedList<>(entries), SearchMonitor.NONE));
+    }
+
+    @Test
+    public void searchOfFewEntriesReturnsMatches() {
+        List<BibEntry> fewEntries = entries.subList(0, 10);
+        List<BibEntry> expected = fewEntries.stream().filter(evenYear::isMatch).collect(Collectors.toList());
+
+        assertEquals(expected, executor.search(evenYear, fewEntries, SearchMonitor.NONE));
+    }
+
+    @Test
+    public void searchReportsProgressAndHits() {
+        AtomicInteger lastSearchedEntries = new AtomicInteger();
+        AtomicInteger lastHits = new AtomicInteger();
+        executor.search(evenYear, entries, new SearchMonitor() {
+
+            @Override
+            public boolean isCancelled() {
+                return false;
+            }
+
+            @Override
+            public void searchProgressed(int searchedEntries, int totalEntries, int hits) {
+                assertEquals(NUMBER_OF_ENTRIES, totalEntries);
+                lastSearchedEntries.accumulateAndGet(searchedEntries, Math::max);
+                lastHits.accumulateAndGet(hits, Math::max);
+            }
+        });
+
+        assertEquals(NUMBER_OF_ENTRIES, lastSearchedEntries.get());
+        assertEquals((NUMBER_OF_ENTRIES + 1) / 2, lastHits.get());
+    }
+
+    @Test
+    public void searchReportsAllHitsOfTheChunks() {
+        List<BibEntry> reportedHits = Collections.synchronizedList(new ArrayList<>());
+        List<BibEntry> result = executor.search(evenYear, entries, new SearchMonitor() {
+
+            @Override
+            public boolean isCancelled() {
+                return false;
+            }
+
+            @Override
+            public void hitsFound(List<BibEntry> hits) {
+                reportedHits.addAll(hits);
+            }
+        });
+
+        assertEquals(new HashSet<>(result), new HashSet<>(reportedHits));
+        assertEquals(result.size(), reportedHits.size());
+    }
+
+    @Test
+    public void searchReportsAllHitsWhenFinished() {
+        List<List<BibEntry>> finishedHits = new ArrayList<>();
+        List<BibEntry> result = executor.search(evenYear, entries, new SearchMonitor() {
+
+            @Override
+            public boolean isCancelled() {
+                return false;
+            }
+
+            @Override
+            public void searchFinished(List<BibEntry> hits) {
+                finishedHits.add(hits);
+            }
+        });
+
+        assertEquals(Collections.singletonList(result), finishedHits);
+    }
+
+    @Test
+    public void searchAllReturnsMatchesOfEveryList() {
+        List<BibEntry> fewEntries = entries.subList(0, 10);
+        List<List<BibEntry>> entryLists = Arrays.asList(entries, fewEntries, Collections.emptyList());
+        Map<Integer, List<BibEntry>> finishedHits = new ConcurrentHashMap<>();
+        List<SearchMonitor> monitors = new ArrayList<>();
+        for (int i = 0; i < entryLists.size(); i++) {
+            int list = i;
+            monitors.add(new SearchMonitor() {
+
+                @Override
+                public boolean isCancelled() {
+                    return false;
+                }
+
+                @Override
+                public void searchFinished(List<BibEntry> hits) {
+                    finishedHits.put(list, hits);
+                }
+            });
+        }
+
+        List<List<BibEntry>> result = executor.searchAll(evenYear, entryLists, monitors);
+
+        List<List<BibEntry>> expected = entryLists.stream()
+                .map(list -> list.stream().filter(evenYear::isMatch).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+        assertEquals(expected, result);
+        for (int i = 0; i < entryLists.size(); i++) {
+            assertEquals(expected.get(i), finishedHits.get(i));
+        }
+    }
+
+    @Test
+    public void cancelledSearchStopsBeforeSearchingAllEntries() {
+        AtomicInteger testedEntries = new AtomicInteger();
+        SearchMatcher countingMatcher = entry -> {
+            testedEntries.incrementAndGet();
+            return true;
+        };
+
+        try {
+            executor.search(countingMatcher, entries, () -> testedEntries.get() > 0);
+        } catch (CancellationException e) {
+            assertTrue(testedEntries.get() < NUMBER_OF_ENTRIES);
+            return;
+        }
+        throw new AssertionError("search was not cancelled");
+    }
+
+    @Test(expected = CancellationException.class)
+    public void searchOfInterruptedThreadIsCancelled() {
+        Thread.currentThread().interrupt();
+        try {
+            executor.search(evenYear, entries, SearchMonitor.NONE);
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package net.sf.jabref.logic.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.EntriesSnapshot;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SearchIndexTest {
+
+    private BibDatabase database;
+    private SearchIndex index;
+    private BibEntry quantum;
+    private BibEntry biology;
+
+
+    @Before
+    public void setUp() {
+        database = new BibDatabase();
+        quantum = new BibEntry();
+        quantum.setField("title", "Quantum {M}echanics");
+        quantum.setField("author", "M{\\\"u}ller, J.-P.");
+        database.insertEntry(quantum);
+        biology = new BibEntry();
+        biology.setField("title", "Molecular Biology");
+        biology.setField("author", "Smith, John");
+        database.insertEntry(biology);
+
+        index = new SearchIndex(database, Runnable::run, true);
+    }
+
+    private Optional<List<BibEntry>> search(String query) {
+        return index.getMatches(new SearchQuery(query, false, false));
+    }
+
+    @Test
+    public void containsBasedSearchFindsWordsInDifferentFields() {
+        assertEquals(Optional.of(Collections.singletonList(quantum)), search("mechanics müller"));
+    }
+
+    @Test
+    public void containsBasedSearchMatchesSubstrings() {
+        assertEquals(Optional.of(Arrays.asList(quantum, biology)), search("ec"));
+        assertEquals(Optional.of(Collections.singletonList(quantum)), search("ller, j.-"));
+    }
+
+    @Test
+    public void grammarBasedSearchUsesFieldValues() {
+        assertEquals(Optional.of(Collections.singletonList(biology)), search("title = biology and author = smith"));
+        assertEquals(Optional.of(Arrays.asList(quantum, biology)), search("title = quantum or author = smith"));
+    }
+
+    @Test
+    public void negatedGrammarBasedSearchChecksAllEntries() {
+        assertEquals(Optional.of(Collections.singletonList(biology)), search("title = molecular and not author = müller"));
+        assertEquals(Optional.empty(), search("not author = smith"));
+    }
+
+    @Test
+    public void regularExpressionSearchUsesTrigramsOfLiterals() {
+        assertEquals(Optional.of(Collections.singletonList(quantum)),
+                index.getMatches(new SearchQuery("quant.m mech", false, true)));
+        assertEquals(Optional.of(Arrays.asList(quantum, biology)),
+                index.getMatches(new SearchQuery("(mecha|biolo)", false, true)));
+        assertEquals(Optional.of(Collections.emptyList()),
+                index.getMatches(new SearchQuery("quantum biology", false, true)));
+    }
+
+    @Test
+    public void grammarBasedRegularExpressionSearchUsesTrigramsOfField() {
+        assertEquals(Optional.of(Collections.singletonList(biology)),
+                index.getMatches(new SearchQuery("title = \"mol[a-z]+ bio\"", false, true)));
+        assertEquals(Optional.of(Collections.emptyList()),
+                index.getMatches(new SearchQuery("author = \"molecular\"", false, true)));
+    }
+
+    @Test
+    public void regularExpressionSearchWithoutLiteralsIsNotAnsweredByIndex() {
+        assertFalse(index.getMatches(new SearchQuery("[a-z]+.m", false, true)).isPresent());
+        assertFalse(index.getMatches(new SearchQuery("(?i)quantum", false, true)).isPresent());
+    }
+
+    @Test
+    public void regularExpressionSearchWithoutTrigramsIsNotRestricted() {
+        SearchIndex indexWithoutTrigrams = new SearchIndex(database, Runnable::run, false);
+
+        assertEquals(Optional.of(Collections.singletonList(quantum)),
+                indexWithoutTrigrams.getMatches(new SearchQuery("quant.m", false, true)));
+    }
+
+    @Test
+    public void fuzzySearchComparesTokensOfIndex() {
+        assertEquals(Optional.of(Collections.singletonList(quantum)),
+                index.getMatches(new SearchQuery("quantun mechancis", false, false, true)));
+        assertEquals(Optional.of(Collections.singletonList(biology)), search("title similar molecuar"));
+        assertEquals(Optional.of(Collections.emptyList()), search("author similar mechanics"));
+    }
+
+    @Test
+    public void indexReflectsChangedField() {
+        biology.setField("title", "Quantum Biology");
+
+        assertEquals(Optional.of(Arrays.asList(quantum, biology)), search("quantum"));
+        assertEquals(Optional.of(Collections.emptyList()), search("molecular"));
+    }
+
+    @Test
+    public void indexReflectsAddedAndRemovedEntries() {
+        BibEntry entry = new BibEntry();
+        entry.setField("title", "Quantum Computing");
+        database.insertEntry(entry);
+        database.removeEntry(quantum);
+
+        assertEquals(Optional.of(Collections.singletonList(entry)), search("quantum"));
+    }
+
+    @Test
+    public void changesWhileBuildingAreAppliedToBuiltIndex() {
+        BibEntry optics = new BibEntry();
+        optics.setField("title", "Quantum Mechanics");
+        BibEntry physics = new BibEntry();
+        physics.setField("title", "Solid State Physics");
+        BibDatabase changingDatabase = new BibDatabase() {
+
+            private boolean changed;
+
+
+            @Override
+            public EntriesSnapshot getEntriesSnapshot() {
+                EntriesSnapshot snapshot = super.getEntriesSnapshot();
+                if (!changed) {
+                    // the database changes while the index is built from the snapshot
+                    changed = true;
+                    optics.setField("title", "Quantum Optics");
+                    insertEntry(physics);
+                }
+                return snapshot;
+            }
+        };
+        changingDatabase.insertEntry(optics);
+        List<Runnable> tasks = new ArrayList<>();
+        SearchIndex changingIndex = new SearchIndex(changingDatabase, tasks::add, false);
+
+        tasks.remove(0).run();
+
+        assertTrue(tasks.isEmpty());
+        assertTrue(changingIndex.isReady());
+        assertEquals(Optional.of(Collections.singletonList(optics)),
+                changingIndex.getMatches(new SearchQuery("optics", false, false)));
+        assertEquals(Optional.of(Collections.emptyList()),
+                changingIndex.getMatches(new SearchQuery("mechanics", false, false)));
+        assertEquals(Optional.of(Collections.singletonList(physics)),
+                changingIndex.getMatches(new SearchQuery("physics", false, false)));
+    }
+
+    @Test
+    public void getMatchesWithoutIndexChecksAllEntries() {
+        BibDatabase otherDatabase = new BibDatabase();
+        otherDatabase.insertEntry(biology);
+
+        assertFalse(SearchIndex.getIndex(otherDatabase).isPresent());
+        assertEquals(Collections.singletonList(biology),
+                SearchIndex.getMatches(new SearchQuery("smith", false, false), otherDatabase));
+    }
+
+    @Test
+    public void removedIndexIsForgotten() {
+        BibDatabase otherDatabase = new BibDatabase();
+        SearchIndex.forDatabase(otherDatabase);
+
+        SearchIndex.removeIndex(otherDatabase);
+
+        assertFalse(SearchIndex.getIndex(otherDatabase).isPresent());
+    }
+
+    @Test
+    public void builtIndexIsReadyAndRegistered() {
+        SearchIndex builtIndex = SearchIndex.buildIndex(database, false);
+
+        assertTrue(builtIndex.isReady());
+        assertEquals(Optional.of(builtIndex), SearchIndex.getIndex(database));
+        SearchIndex.removeIndex(database);
+    }
+}
@@ -0,0 +1,135 @@
+package net.sf.jabref.logic.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SearchProfilerTest {
+
+    private BibDatabase database;
+
+
+    @Before
+    public void setUp() {
+        database = new BibDatabase();
+        BibEntry quantum = new BibEntry();
+        quantum.setField("title", "Quantum Mechanics");
+        quantum.setField("author", "Müller, J.-P.");
+        database.insertEntry(quantum);
+        BibEntry biology = new BibEntry();
+        biology.setField("title", "Molecular Biology");
+        biology.setField("author", "Smith, John");
+        database.insertEntry(biology);
+    }
+
+    private SearchProfile profile(SearchQuery query, Optional<SearchIndex> index) {
+        return new SearchProfiler(query, database, index).profile();
+    }
+
+    @Test
+    public void withoutIndexAllEntriesAreExamined() {
+        SearchProfile profile = profile(new SearchQuery("mechanics", false, false), Optional.empty());
+
+        assertEquals("full scan, the database has no search index", profile.getPlan());
+        assertEquals(2, profile.getEntriesExamined());
+        assertEquals(1, profile.getHits());
+        assertEquals(1, profile.getClauses().size());
+        assertEquals(2, profile.getClauses().get(0).getEvaluations());
+        assertEquals(0.5, profile.getClauses().get(0).getSelectivity(), 0.0);
+    }
+
+    @Test
+    public void indexNarrowsDownExaminedEntries() {
+        SearchIndex index = new SearchIndex(database, Runnable::run, false);
+        SearchProfile profile = profile(new SearchQuery("mechanics", false, false), Optional.of(index));
+
+        assertTrue(profile.getPlan().startsWith("lookup of tokens in the search index, 1 of 2 entries"));
+        assertEquals(1, profile.getEntriesExamined());
+        assertEquals(1, profile.getHits());
+    }
+
+    @Test
+    public void regularExpressionWithoutTrigramsExaminesAllEntries() {
+        SearchIndex index = new SearchIndex(database, Runnable::run, false);
+        SearchProfile profile = profile(new SearchQuery("mech.nics", false, true), Optional.of(index));
+
+        assertTrue(profile.getPlan().endsWith("the search index has no trigrams for regular expressions"));
+        assertEquals(2, profile.getEntriesExamined());
+        assertEquals(1, profile.getHits());
+    }
+
+    @Test
+    public void regularExpressionUsesTrigrams() {
+        SearchIndex index = new SearchIndex(database, Runnable::run, true);
+        SearchProfile profile = profile(new SearchQuery("mech.nics", false, true), Optional.of(index));
+
+        assertTrue(profile.getPlan().startsWith("lookup of trigrams in the search index, 1 of 2 entries"));
+        assertEquals(1, profile.getEntriesExamined());
+    }
+
+    @Test
+    public void regularExpressionEvaluationsAreCountedPerFieldValue() {
+        SearchProfile profile = profile(new SearchQuery("biology", false, true), Optional.empty());
+
+        // both fields of the first entry, the author of the second entry only if it is checked before the title
+        assertEquals(1, profile.getHits());
+        assertTrue(profile.getRegexEvaluations() >= 3);
+        assertTrue(profile.getRegexEvaluations() <= 4);
+    }
+
+    @Test
+    public void grammarBasedQueryIsProfiledPerClause() {
+        SearchProfile profile = profile(new SearchQuery("title = biology and not author = müller", false, false),
+                Optional.empty());
+
+        List<String> expressions = profile.getClauses().stream().map(SearchProfile.Clause::getExpression)
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList("title = biology and not author = müller", "title = biology",
+                "not author = müller", "author = müller"), expressions);
+        assertEquals(1, profile.getHits());
+
+        SearchProfile.Clause title = profile.getClauses().get(1);
+        assertEquals(2, title.getEvaluations());
+        assertEquals(1, title.getMatches());
+        // only evaluated for the entries matching the title
+        SearchProfile.Clause author = profile.getClauses().get(3);
+        assertEquals(1, author.getEvaluations());
+        assertEquals(0, author.getMatches());
+    }
+
+    @Test
+    public void grammarBasedRegularExpressionEvaluationsAreCounted() {
+        SearchProfile profile = profile(new SearchQuery("title = \"bio.*\"", false, true), Optional.empty());
+
+        assertEquals(1, profile.getHits());
+        assertEquals(2, profile.getRegexEvaluations());
+        assertEquals(2, profile.getClauses().get(0).getRegexEvaluations());
+    }
+
+    @Test
+    public void invalidQueryIsNotExecuted() {
+        SearchProfile profile = profile(new SearchQuery("(unclosed", false, true), Optional.empty());
+
+        assertEquals(0, profile.getEntriesExamined());
+        assertTrue(profile.getClauses().isEmpty());
+    }
+
+    @Test
+    public void reportContainsPlanAndClauses() {
+        String report = profile(new SearchQuery("mechanics", false, false), Optional.empty()).getReport();
+
+        assertTrue(report.contains("Plan: full scan, the database has no search index"));
+        assertTrue(report.contains("Examined 2 of 2 entries"));
+        assertTrue(report.contains("mechanics"));
+    }
+}
@@ -1,5 +1,6 @@
 package net.sf.jabref.model.database;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Optional;
 
@@ -293,6 +294,62 @@ public class BibDatabaseTest {
         assertEquals(database.resolveForStrings("AAA#AAA#AAA#"), "AAAaaaAAA#");
     }
 
+    @Test
+    public void resolveForStringsReflectsChangedStringContent() {
+        BibtexString string = new BibtexString(IdGenerator.next(), "AAA", "aaa");
+        database.addString(string);
+        assertEquals("aaa", database.resolveForStrings("#AAA#"));
+
+        string.setContent("bbb");
+
+        assertEquals("bbb", database.resolveForStrings("#AAA#"));
+    }
+
+    @Test
+    public void resolveForStringsReflectsChangedContentOfReferencedString() {
+        BibtexString referencedString = new BibtexString(IdGenerator.next(), "BBB", "bbb");
+        database.addString(new BibtexString(IdGenerator.next(), "AAA", "a#BBB#"));
+        database.addString(referencedString);
+        assertEquals("abbb", database.resolveForStrings("#AAA#"));
+
+        referencedString.setContent("ccc");
+
+        assertEquals("accc", database.resolveForStrings("#AAA#"));
+    }
+
+    @Test
+    public void resolveForStringsReflectsRenamedString() {
+        BibtexString string = new BibtexString(IdGenerator.next(), "AAA", "aaa");
+        database.addString(string);
+        assertEquals("aaa", database.resolveForStrings("#AAA#"));
+
+        string.setName("BBB");
+
+        assertEquals("#AAA#", database.resolveForStrings("#AAA#"));
+        assertEquals("aaa", database.resolveForStrings("#BBB#"));
+    }
+
+    @Test
+    public void resolveForStringsReflectsAddedAndRemovedString() {
+        assertEquals("#AAA#", database.resolveForStrings("#AAA#"));
+
+        BibtexString string = new BibtexString(IdGenerator.next(), "AAA", "aaa");
+        database.addString(string);
+        assertEquals("aaa", database.resolveForStrings("#AAA#"));
+
+        database.removeString(string.getId());
+        assertEquals("#AAA#", database.resolveForStrings("#AAA#"));
+    }
+
+    @Test
+    public void stringDefinitionOverridesMonth() {
+        assertEquals("January", database.resolveForStrings("#jan#"));
+
+        database.addString(new BibtexString(IdGenerator.next(), "jan", "Januar"));
+
+        assertEquals("Januar", database.resolveForStrings("#jan#"));
+    }
+
     @Test
     public void preambleIsEmptyIfNotSet() {
         assertEquals(Optional.empty(), database.getPreamble());
@@ -304,4 +361,88 @@ public class BibDatabaseTest {
         assertEquals(Optional.of("Oh yeah!"), database.getPreamble());
     }
 
+    @Test
+    public void getEntriesByKeyReturnsEntriesInDatabaseOrder() {
+        BibEntry first = new BibEntry();
+        first.setCiteKey("key");
+        BibEntry second = new BibEntry();
+        second.setCiteKey("other");
+        database.insertEntry(first);
+        database.insertEntry(second);
+
+        second.setCiteKey("key");
+
+        assertEquals(Arrays.asList(first, second), database.getEntriesByKey("key"));
+        assertEquals(Optional.of(first), database.getEntryByKey("key"));
+        assertEquals(Collections.emptyList(), database.getEntriesByKey("other"));
+    }
+
+    @Test
+    public void getEntryByKeyFindsEntryAfterKeyChange() {
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("old");
+        database.insertEntry(entry);
+
+        entry.setCiteKey("new");
+
+        assertEquals(Optional.empty(), database.getEntryByKey("old"));
+        assertEquals(Optional.of(entry), database.getEntryByKey("new"));
+    }
+
+    @Test
+    public void getEntryByKeyDoesNotFindRemovedEntry() {
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("key");
+        database.insertEntry(entry);
+
+        database.removeEntry(entry);
+
+        assertEquals(Optional.empty(), database.getEntryByKey("key"));
+    }
+
+    @Test
+    public void getEntryBySharedIDFindsEntryWithIdAssignedAfterInsertion() {
+        BibEntry entry = new BibEntry();
+        database.insertEntry(entry);
+
+        entry.getSharedBibEntryData().setSharedID(42);
+
+        assertEquals(Optional.of(entry), database.getEntryBySharedID(42));
+        assertEquals(Optional.empty(), database.getEntryBySharedID(43));
+    }
+
+    @Test
+    public void getEntriesByDOIIgnoresCase() {
+        BibEntry entry = new BibEntry();
+        entry.setField("doi", "10.1000/ABC");
+        database.insertEntry(entry);
+
+        assertEquals(Collections.singletonList(entry), database.getEntriesByDOI("10.1000/abc"));
+    }
+
+    @Test
+    public void createIndexIndexesExistingAndNewEntries() {
+        BibEntry first = new BibEntry();
+        first.setField("journal", "Nature");
+        database.insertEntry(first);
+
+        database.createIndex("journal");
+        BibEntry second = new BibEntry();
+        second.setField("journal", "Nature");
+        database.insertEntry(second);
+
+        assertTrue(database.getIndex("journal").isPresent());
+        assertEquals(Arrays.asList(first, second), database.getEntriesByField("journal", "Nature"));
+    }
+
+    @Test
+    public void getEntriesByFieldWithoutIndexScansEntries() {
+        BibEntry entry = new BibEntry();
+        entry.setField("journal", "Nature");
+        database.insertEntry(entry);
+
+        assertFalse(database.getIndex("journal").isPresent());
+        assertEquals(Collections.singletonList(entry), database.getEntriesByField("journal", "Nature"));
+    }
+
 }
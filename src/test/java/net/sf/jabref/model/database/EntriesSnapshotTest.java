@@ -0,0 +1,104 @@
+package net.sf.jabref.model.database;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+public class EntriesSnapshotTest {
+
+    private BibDatabase database;
+    private BibEntry first;
+    private BibEntry second;
+
+
+    @Before
+    public void setUp() {
+        database = new BibDatabase();
+        first = new BibEntry();
+        second = new BibEntry();
+    }
+
+    @Test
+    public void snapshotIsNotAffectedByInsertion() {
+        database.insertEntry(first);
+        EntriesSnapshot snapshot = database.getEntriesSnapshot();
+
+        database.insertEntry(second);
+
+        assertEquals(Collections.singletonList(first), snapshot);
+        assertEquals(Arrays.asList(first, second), database.getEntriesSnapshot());
+    }
+
+    @Test
+    public void snapshotIsNotAffectedByRemoval() {
+        database.insertEntry(first);
+        database.insertEntry(second);
+        EntriesSnapshot snapshot = database.getEntriesSnapshot();
+
+        database.removeEntry(first);
+
+        assertEquals(Arrays.asList(first, second), snapshot);
+        assertEquals(Collections.singletonList(second), database.getEntriesSnapshot());
+    }
+
+    @Test
+    public void insertionAfterRemovalDoesNotChangeOlderSnapshot() {
+        database.insertEntry(first);
+        database.insertEntry(second);
+        database.removeEntry(second);
+        EntriesSnapshot snapshot = database.getEntriesSnapshot();
+
+        BibEntry third = new BibEntry();
+        database.insertEntry(third);
+
+        assertEquals(Collections.singletonList(first), snapshot);
+        assertEquals(Arrays.asList(first, third), database.getEntriesSnapshot());
+    }
+
+    @Test
+    public void versionIncreasesWithEveryChange() {
+        long initialVersion = database.getEntriesSnapshot().getVersion();
+
+        database.insertEntry(first);
+        long versionAfterInsertion = database.getEntriesSnapshot().getVersion();
+        database.removeEntry(first);
+
+        assertNotEquals(initialVersion, versionAfterInsertion);
+        assertNotEquals(versionAfterInsertion, database.getEntriesSnapshot().getVersion());
+    }
+
+    @Test
+    public void removingUnknownEntryKeepsSnapshot() {
+        database.insertEntry(first);
+        EntriesSnapshot snapshot = database.getEntriesSnapshot();
+
+        database.removeEntry(second);
+
+        assertSame(snapshot, database.getEntriesSnapshot());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void snapshotIsUnmodifiable() {
+        database.getEntriesSnapshot().add(first);
+    }
+
+    @Test
+    public void entriesCanBeRemovedWhileIteratingOverEntries() {
+        database.insertEntry(first);
+        database.insertEntry(second);
+
+        for (BibEntry entry : database.getEntries()) {
+            database.removeEntry(entry);
+        }
+
+        assertEquals(0, database.getEntryCount());
+    }
+}
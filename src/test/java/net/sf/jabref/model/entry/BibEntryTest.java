@@ -36,4 +36,34 @@ public class BibEntryTest {
 
         Assert.assertEquals(Optional.of("value"), entry.getField("tEsT"));
     }
+
+    @Test
+    public void getLatexFreeFieldConvertsLatex() {
+        entry.setField("author", "M{\\\"u}ller");
+
+        Assert.assertEquals(Optional.of("Müller"), entry.getLatexFreeField("author"));
+        Assert.assertEquals(Optional.of("müller"), entry.getLowerCaseLatexFreeField("AUTHOR"));
+    }
+
+    @Test
+    public void getLatexFreeFieldReflectsChangedField() {
+        entry.setField("title", "{O}ld");
+        Assert.assertEquals(Optional.of("old"), entry.getLowerCaseLatexFreeField("title"));
+
+        entry.setField("title", "{N}ew");
+
+        Assert.assertEquals(Optional.of("New"), entry.getLatexFreeField("title"));
+        Assert.assertEquals(Optional.of("new"), entry.getLowerCaseLatexFreeField("title"));
+    }
+
+    @Test
+    public void getLatexFreeFieldIsEmptyAfterFieldWasCleared() {
+        entry.setField("title", "Title");
+        entry.getLatexFreeField("title");
+
+        entry.clearField("title");
+
+        Assert.assertEquals(Optional.empty(), entry.getLatexFreeField("title"));
+        Assert.assertEquals(Optional.empty(), entry.getLowerCaseLatexFreeField("title"));
+    }
 }
@@ -0,0 +1,110 @@
+package net.sf.jabref.model.entry;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CompactFieldMapTest {
+
+    private CompactFieldMap fields;
+
+
+    @Before
+    public void setUp() {
+        fields = new CompactFieldMap();
+    }
+
+    @Test
+    public void putAndGet() {
+        fields.put("title", "A title");
+        fields.put("author", "An author");
+
+        assertEquals("A title", fields.get("title"));
+        assertEquals("An author", fields.get("author"));
+        assertNull(fields.get("year"));
+        assertEquals(2, fields.size());
+    }
+
+    @Test
+    public void putReplacesValue() {
+        fields.put("title", "A title");
+
+        assertEquals("A title", fields.put("title", "Another title"));
+        assertEquals("Another title", fields.get("title"));
+        assertEquals(1, fields.size());
+    }
+
+    @Test
+    public void keysAreSorted() {
+        fields.put("year", "2016");
+        fields.put("author", "An author");
+        fields.put("title", "A title");
+
+        assertEquals(Arrays.asList("author", "title", "year"), Arrays.asList(fields.keySet().toArray()));
+    }
+
+    @Test
+    public void removeDeletesField() {
+        fields.put("year", "2016");
+        fields.put("author", "An author");
+
+        assertEquals("2016", fields.remove("year"));
+        assertFalse(fields.containsKey("year"));
+        assertNull(fields.remove("year"));
+        assertEquals(1, fields.size());
+    }
+
+    @Test
+    public void equalsOtherMapWithSameContent() {
+        fields.put("year", "2016");
+        fields.put("author", "An author");
+
+        Map<String, String> expected = new HashMap<>();
+        expected.put("author", "An author");
+        expected.put("year", "2016");
+
+        assertEquals(expected, fields);
+        assertEquals(expected.hashCode(), fields.hashCode());
+    }
+
+    @Test
+    public void iterationWorksOnSnapshot() {
+        fields.put("author", "An author");
+        fields.put("title", "A title");
+
+        Iterator<Map.Entry<String, String>> iterator = fields.entrySet().iterator();
+        fields.put("year", "2016");
+        iterator.next();
+        iterator.remove();
+
+        assertTrue(iterator.hasNext());
+        assertEquals("title", iterator.next().getKey());
+        assertFalse(iterator.hasNext());
+        assertEquals(2, fields.size());
+        assertFalse(fields.containsKey("author"));
+    }
+
+    @Test
+    public void fieldNamesAreShared() {
+        fields.put(new String("journal"), "A journal");
+        CompactFieldMap otherFields = new CompactFieldMap();
+        otherFields.put(new String("journal"), "Another journal");
+
+        assertSame(fields.keySet().iterator().next(), otherFields.keySet().iterator().next());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void putNullValueThrowsException() {
+        fields.put("title", null);
+    }
+}
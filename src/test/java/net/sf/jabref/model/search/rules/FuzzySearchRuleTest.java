@@ -0,0 +1,63 @@
+package net.sf.jabref.model.search.rules;
+
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.BibtexEntryTypes;
+import net.sf.jabref.model.entry.IdGenerator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FuzzySearchRuleTest {
+
+    private final BibEntry entry = makeBibtexEntry();
+
+
+    @Test
+    public void misspelledWordsMatch() {
+        FuzzySearchRule rule = new FuzzySearchRule(false);
+
+        Assert.assertTrue(rule.applyRule("larvicultre", entry));
+        Assert.assertTrue(rule.applyRule("Marien Shiedls", entry));
+        Assert.assertTrue(rule.applyRule("eroupe 2001", entry));
+    }
+
+    @Test
+    public void everyWordHasToMatch() {
+        FuzzySearchRule rule = new FuzzySearchRule(false);
+
+        Assert.assertFalse(rule.applyRule("marine aquaculture", entry));
+    }
+
+    @Test
+    public void wordsAreComparedWithWholeTokens() {
+        FuzzySearchRule rule = new FuzzySearchRule(false);
+
+        Assert.assertFalse(rule.applyRule("larvi", entry));
+        Assert.assertFalse(rule.applyRule("1999", entry));
+    }
+
+    @Test
+    public void caseSensitiveSearchCountsCaseAsDifference() {
+        FuzzySearchRule rule = new FuzzySearchRule(true);
+
+        Assert.assertTrue(rule.applyRule("Marien", entry));
+        Assert.assertFalse(rule.applyRule("mARINE", entry));
+    }
+
+    @Test
+    public void latexIsRemovedBeforeMatching() {
+        BibEntry latexEntry = makeBibtexEntry();
+        latexEntry.setField("author", "M{\\\"u}ller, J\\\"{o}rg");
+
+        Assert.assertTrue(new FuzzySearchRule(false).applyRule("mueller jorg", latexEntry));
+    }
+
+    private static BibEntry makeBibtexEntry() {
+        BibEntry e = new BibEntry(IdGenerator.next(), BibtexEntryTypes.INCOLLECTION.getName());
+        e.setField("title", "Marine finfish larviculture in Europe");
+        e.setField("bibtexkey", "shields01");
+        e.setField("year", "2001");
+        e.setField("author", "Kevin Shields");
+        return e;
+    }
+}
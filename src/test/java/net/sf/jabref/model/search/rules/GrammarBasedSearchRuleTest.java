@@ -0,0 +1,103 @@
+package net.sf.jabref.model.search.rules;
+
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.BibtexEntryTypes;
+import net.sf.jabref.model.entry.IdGenerator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GrammarBasedSearchRuleTest {
+
+    private final BibEntry entry = makeBibtexEntry();
+
+
+    @Test
+    public void plainSearchIgnoresCaseOfFieldAndValue() {
+        GrammarBasedSearchRule rule = createRule("TITLE=larviculture and author==\"kevin shields\"", false, false);
+
+        Assert.assertTrue(rule.applyRule(rule.getQuery(), entry));
+    }
+
+    @Test
+    public void caseSensitivePlainSearchRespectsCase() {
+        GrammarBasedSearchRule rule = createRule("title=larviculture and title=Marine", true, false);
+        GrammarBasedSearchRule wrongCase = createRule("title=marine", true, false);
+
+        Assert.assertTrue(rule.applyRule(rule.getQuery(), entry));
+        Assert.assertFalse(wrongCase.applyRule(wrongCase.getQuery(), entry));
+    }
+
+    @Test
+    public void plainSearchDoesNotInterpretRegularExpressions() {
+        GrammarBasedSearchRule rule = createRule("title=fin.*", false, false);
+
+        Assert.assertFalse(rule.applyRule(rule.getQuery(), entry));
+    }
+
+    @Test
+    public void doesNotContainMatchesEntriesWithoutTheField() {
+        GrammarBasedSearchRule rule = createRule("journal!=nature", false, false);
+
+        Assert.assertTrue(rule.applyRule(rule.getQuery(), entry));
+    }
+
+    @Test
+    public void regexSearchMatchesFieldNamesAndValues() {
+        GrammarBasedSearchRule rule = createRule("ti.*=\"fin[a-z]+ lar\" or year=19\\d\\d", false, true);
+        GrammarBasedSearchRule noMatch = createRule("not title=\"europe$\"", false, true);
+
+        Assert.assertTrue(rule.applyRule(rule.getQuery(), entry));
+        Assert.assertFalse(noMatch.applyRule(noMatch.getQuery(), entry));
+    }
+
+    @Test
+    public void fuzzySearchMatchesSimilarTerms() {
+        GrammarBasedSearchRule rule = createRule("title similar larvicultre and author SIMILAR \"kevn shiedls\"", false, false);
+        GrammarBasedSearchRule otherField = createRule("title similar shields", false, false);
+
+        Assert.assertTrue(rule.applyRule(rule.getQuery(), entry));
+        Assert.assertFalse(otherField.applyRule(otherField.getQuery(), entry));
+    }
+
+    @Test
+    public void fuzzySearchDoesNotInterpretValueAsRegularExpression() {
+        GrammarBasedSearchRule rule = createRule("ti.* similar \"marien (finfsh\"", false, true);
+
+        Assert.assertTrue(rule.applyRule(rule.getQuery(), entry));
+    }
+
+    @Test
+    public void unquotedValueMayContainTilde() {
+        entry.setField("note", "Thanks to J.~Smith");
+        GrammarBasedSearchRule rule = createRule("note=J.~Smith", false, false);
+
+        Assert.assertTrue(rule.applyRule(rule.getQuery(), entry));
+    }
+
+    @Test
+    public void compiledQueryCanBeAppliedToSeveralEntries() {
+        GrammarBasedSearchRule rule = createRule("entrytype=incollection and year=2001", false, false);
+        BibEntry otherEntry = makeBibtexEntry();
+        otherEntry.setField("year", "2002");
+
+        Assert.assertTrue(rule.applyRule(rule.getQuery(), entry));
+        Assert.assertFalse(rule.applyRule(rule.getQuery(), otherEntry));
+        Assert.assertTrue(rule.applyRule(rule.getQuery(), entry));
+    }
+
+    private static GrammarBasedSearchRule createRule(String query, boolean caseSensitive, boolean regex) {
+        GrammarBasedSearchRule rule = new GrammarBasedSearchRule(caseSensitive, regex);
+        Assert.assertTrue(rule.validateSearchStrings(query));
+        return rule;
+    }
+
+    private static BibEntry makeBibtexEntry() {
+        BibEntry e = new BibEntry(IdGenerator.next(), BibtexEntryTypes.INCOLLECTION.getName());
+        e.setField("title", "Marine finfish larviculture in Europe");
+        e.setField("bibtexkey", "shields01");
+        e.setField("year", "2001");
+        e.setField("author", "Kevin Shields");
+        return e;
+    }
+}
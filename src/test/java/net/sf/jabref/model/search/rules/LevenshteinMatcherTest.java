@@ -0,0 +1,74 @@
+package net.sf.jabref.model.search.rules;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LevenshteinMatcherTest {
+
+    private static int distance(String word, String text) {
+        return new LevenshteinMatcher(word, 10).getDistance(text, 0, text.length());
+    }
+
+    @Test
+    public void distanceCountsInsertionsDeletionsAndSubstitutions() {
+        assertEquals(0, distance("network", "network"));
+        assertEquals(1, distance("network", "networks"));
+        assertEquals(1, distance("network", "netork"));
+        assertEquals(1, distance("network", "netwerk"));
+        assertEquals(2, distance("network", "netwrok"));
+        assertEquals(3, distance("kitten", "sitting"));
+        assertEquals(4, distance("", "test"));
+    }
+
+    @Test
+    public void distanceOfLongWordsIsComputed() {
+        String word = String.join("", Collections.nCopies(10, "abcdefgh"));
+        String text = "x" + word.substring(1, 40) + word.substring(41) + "y";
+
+        assertEquals(3, distance(word, text));
+    }
+
+    @Test
+    public void distanceAboveMaximumIsCutOff() {
+        LevenshteinMatcher matcher = new LevenshteinMatcher("network", 1);
+
+        assertTrue(matcher.getDistance("netwrok", 0, 7) > 1);
+        assertTrue(matcher.getDistance("net", 0, 3) > 1);
+        assertFalse(matcher.matches("netwrok"));
+        assertTrue(matcher.matches("networks"));
+    }
+
+    @Test
+    public void partOfTextIsMatched() {
+        LevenshteinMatcher matcher = new LevenshteinMatcher("müller", 1);
+
+        assertTrue(matcher.matches("by muller, j.", 3, 9));
+        assertFalse(matcher.matches("by muller, j.", 0, 9));
+    }
+
+    @Test
+    public void defaultMaximumDistanceGrowsWithWordLength() {
+        assertEquals(0, LevenshteinMatcher.getDefaultMaximumDistance("ab"));
+        assertEquals(1, LevenshteinMatcher.getDefaultMaximumDistance("quant"));
+        assertEquals(2, LevenshteinMatcher.getDefaultMaximumDistance("quantum"));
+    }
+
+    @Test
+    public void matchesAnyTokenOfComparesWholeTokens() {
+        LevenshteinMatcher matcher = LevenshteinMatcher.forWord("netwrok");
+
+        assertTrue(matcher.matchesAnyTokenOf("deep neural network"));
+        assertFalse(matcher.matchesAnyTokenOf("neuralnetwork"));
+    }
+
+    @Test
+    public void tokensAreRunsOfLettersAndDigits() {
+        assertEquals(Arrays.asList("Müller", "J", "P", "2001"), LevenshteinMatcher.getTokens("Müller, J.-P. 2001"));
+    }
+}
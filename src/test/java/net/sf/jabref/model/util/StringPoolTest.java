@@ -0,0 +1,58 @@
+package net.sf.jabref.model.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class StringPoolTest {
+
+    private StringPool stringPool;
+
+
+    @Before
+    public void setUp() {
+        stringPool = new StringPool(10);
+    }
+
+    @Test
+    public void internReturnsPooledInstance() {
+        String first = new String("journal");
+        String second = new String("journal");
+
+        assertSame(first, stringPool.intern(first));
+        assertSame(first, stringPool.intern(second));
+    }
+
+    @Test
+    public void internDoesNotPoolLongValues() {
+        String first = new String("a rather long title");
+        String second = new String("a rather long title");
+
+        stringPool.intern(first);
+
+        assertNotSame(first, stringPool.intern(second));
+        assertEquals(0, stringPool.size());
+    }
+
+    @Test
+    public void internOfNullReturnsNull() {
+        assertNull(stringPool.intern(null));
+    }
+
+    @Test
+    public void statisticsCountHits() {
+        stringPool.intern(new String("journal"));
+        stringPool.intern(new String("journal"));
+        stringPool.intern(new String("journal"));
+        stringPool.intern(new String("other"));
+
+        assertEquals(4, stringPool.getNumberOfLookups());
+        assertEquals(2, stringPool.getNumberOfHits());
+        assertEquals(0.5, stringPool.getHitRate(), 0.001);
+        assertEquals(14, stringPool.getNumberOfSavedCharacters());
+    }
+}